@@ -0,0 +1,67 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import com.backend.authsystem.authentication.service.AuthorityRegistry;
+import com.backend.authsystem.authentication.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Building the authority set handed to Spring Security for one request
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AuthorityBenchmark {
+
+    private List<RoleEntity> roles;
+    private List<String> roleClaims;
+    private List<String> permissionClaims;
+    private AuthorityRegistry authorityRegistry;
+
+    @Setup
+    public void setUp() {
+        roles = BenchmarkFixtures.roles();
+        roleClaims = roles.stream().map(role -> role.getRoleName().name()).toList();
+        permissionClaims = JwtService.extractPermissions(BenchmarkFixtures.lecturer());
+
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAllWithPermissions()).thenReturn(roles);
+        authorityRegistry = new AuthorityRegistry(roleRepository);
+        authorityRegistry.forRoles(roles);
+        authorityRegistry.forClaims(roleClaims, permissionClaims);
+    }
+
+    // What getAuthorities used to do on every call: walk roles and permissions, allocate new authorities
+    @Benchmark
+    public Set<GrantedAuthority> perRequestConstruction() {
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        for (RoleEntity role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role.getRoleName().name()));
+            role.getPermissions().forEach(permission ->
+                    authorities.add(new SimpleGrantedAuthority(permission.getPermissionName().name())));
+        }
+        return authorities;
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> registryForRoles() {
+        return authorityRegistry.forRoles(roles);
+    }
+
+    @Benchmark
+    public Set<GrantedAuthority> registryForClaims() {
+        return authorityRegistry.forClaims(roleClaims, permissionClaims);
+    }
+}
@@ -0,0 +1,88 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.config.SigningKeyEnvironments;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.PermissionEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.entity.SigningKeyEntity;
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.repository.SigningKeyRepository;
+import com.backend.authsystem.authentication.service.SigningKeyRing;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Shared inputs so every suite measures the same token shape
+final class BenchmarkFixtures {
+
+    static final String SECRET =
+            "this-is-a-very-long-64-character-secret-key-for-hs512-algorithm-test-123456789";
+
+    private BenchmarkFixtures() {
+    }
+
+    static SecurityEnvironments environments(int verifiedCacheSize, boolean compactPermissions) {
+        return new SecurityEnvironments(SECRET, 10, 4, true, verifiedCacheSize, compactPermissions);
+    }
+
+    // ES256 key ring over an in-memory key table; null means HS512
+    static SigningKeyRing signingKeyRing(String algorithm) {
+        if (!"ES256".equals(algorithm)) {
+            return null;
+        }
+        List<SigningKeyEntity> keys = new ArrayList<>();
+        SigningKeyRepository repository = mock(SigningKeyRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            keys.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(repository.findVerifiable(any())).thenAnswer(invocation -> List.copyOf(keys));
+        when(repository.waitForRotationLock(anyLong())).thenReturn(true);
+        return new SigningKeyRing(repository, TransactionOperations.withoutTransaction(),
+                new SigningKeyEnvironments("ES256", Duration.ofDays(30), Duration.ofMinutes(30), Duration.ofMinutes(10), true),
+                environments(0, false));
+    }
+
+    static List<RoleEntity> roles() {
+        RoleEntity user = role(RoleEnum.ROLE_USER, PermissionEnum.PROFILE_VIEW, PermissionEnum.PROFILE_UPDATE,
+                PermissionEnum.ACCOUNT_VIEW, PermissionEnum.PASSWORD_CHANGE);
+        RoleEntity lecturer = role(RoleEnum.ROLE_LECTURER, PermissionEnum.values());
+        return List.of(user, lecturer);
+    }
+
+    static AccountEntity lecturer() {
+        AccountEntity user = AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .email("lecturer@test.com")
+                .password("encoded")
+                .build();
+        roles().forEach(user::addRole);
+        return user;
+    }
+
+    private static RoleEntity role(RoleEnum name, PermissionEnum... permissions) {
+        RoleEntity role = RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(name)
+                .createdAt(Instant.now())
+                .build();
+        for (PermissionEnum permission : permissions) {
+            role.addPermission(PermissionEntity.builder()
+                    .permissionId(UUID.randomUUID())
+                    .permissionName(permission)
+                    .build());
+        }
+        return role;
+    }
+}
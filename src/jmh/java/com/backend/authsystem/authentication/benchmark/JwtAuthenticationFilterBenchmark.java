@@ -0,0 +1,80 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.config.JwtAuthenticationFilter;
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import com.backend.authsystem.authentication.service.AccessTokenRevocationList;
+import com.backend.authsystem.authentication.service.AuthMetrics;
+import com.backend.authsystem.authentication.service.AuthorityRegistry;
+import com.backend.authsystem.authentication.service.CustomUserDetailsService;
+import com.backend.authsystem.authentication.service.JwtService;
+import com.backend.authsystem.authentication.service.TokenGenerationRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+// One authenticated request through JwtAuthenticationFilter in claims-only mode, from header to SecurityContext
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"HS512", "ES256"})
+    public String algorithm;
+
+    @Param({"0", "10000"})
+    public int verifiedCacheSize;
+
+    // stage timers recording into a real registry, to keep their cost visible next to the work they measure
+    @Param({"false", "true"})
+    public boolean stageMetrics;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        SecurityEnvironments environments = BenchmarkFixtures.environments(verifiedCacheSize, false);
+        AuthMetrics authMetrics = stageMetrics ? new AuthMetrics(new SimpleMeterRegistry(), true) : AuthMetrics.noop();
+        JwtService jwtService = new JwtService(null, environments, BenchmarkFixtures.signingKeyRing(algorithm), authMetrics);
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                mock(CustomUserDetailsService.class),
+                mock(HandlerExceptionResolver.class),
+                environments,
+                new AuthorityRegistry(mock(RoleRepository.class)),
+                new TokenGenerationRegistry(mock(AccountRepository.class), environments, Duration.ofSeconds(10)),
+                new AccessTokenRevocationList(mock(RevokedAccessTokenRepository.class), 10_000),
+                authMetrics);
+        authorization = "Bearer " + jwtService.generateAccessTokenFromUser(BenchmarkFixtures.lecturer());
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/course");
+        request.setServletPath("/api/v1/course");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
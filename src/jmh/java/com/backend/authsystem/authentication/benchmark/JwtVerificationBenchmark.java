@@ -0,0 +1,62 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.service.JwtService;
+import com.backend.authsystem.authentication.service.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of verifying one access token in JwtAuthenticationFilter
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtVerificationBenchmark {
+
+    private SecretKey key;
+    private JwtService singleParseJwtService;
+    private JwtService cachingJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(BenchmarkFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+        singleParseJwtService = new JwtService(null, BenchmarkFixtures.environments(0, false));
+        cachingJwtService = new JwtService(null, BenchmarkFixtures.environments(10_000, false));
+        token = cachingJwtService.generateAccessTokenFromUser(BenchmarkFixtures.lecturer());
+    }
+
+    private Claims parseWithNewParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    // Previous filter path: extractUsername, then isTokenValid re-parsing for subject and expiry, new parser each time
+    @Benchmark
+    public void parserPerCallThreeParses(Blackhole blackhole) {
+        blackhole.consume(parseWithNewParser(token).getSubject());
+        blackhole.consume(parseWithNewParser(token).getSubject());
+        blackhole.consume(parseWithNewParser(token).getExpiration());
+    }
+
+    @Benchmark
+    public VerifiedToken sharedParserSingleParse() {
+        return singleParseJwtService.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifiedTokenCacheHit() {
+        return cachingJwtService.verify(token);
+    }
+}
@@ -0,0 +1,43 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.config.PasswordEncoderCalibrator;
+import com.backend.authsystem.authentication.config.PasswordEncodingEnvironments;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of one register (encode) and one login (matches) per algorithm at the configured defaults, without calibration
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"bcrypt", "argon2", "pbkdf2"})
+    public String algorithm;
+
+    private PasswordEncoder passwordEncoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = PasswordEncoderCalibrator.build(
+                new PasswordEncodingEnvironments(algorithm, 0L, 10, 310_000, 19_456, 2, 1));
+        encoded = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encoded);
+    }
+}
@@ -0,0 +1,29 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.util.HashToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Hashing a presented refresh token before the lookup, on every refresh and logout
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RefreshTokenHashBenchmark {
+
+    private String plainToken;
+
+    @Setup
+    public void setUp() {
+        plainToken = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public byte[] hashToken() {
+        return HashToken.hashToken(plainToken);
+    }
+}
@@ -0,0 +1,38 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.util.RefreshTokenMinter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Minting a refresh token under login bursts: the old UUID.randomUUID path shares one SecureRandom across threads
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(64)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RefreshTokenMintBenchmark {
+
+    @Benchmark
+    public void uuidAndFreshDigest(Blackhole blackhole) throws NoSuchAlgorithmException {
+        String plainToken = UUID.randomUUID().toString();
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(plainToken.getBytes(StandardCharsets.UTF_8));
+        blackhole.consume(plainToken);
+        blackhole.consume(hash);
+        blackhole.consume(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public void perThreadMinter(Blackhole blackhole) {
+        RefreshTokenMinter.MintedToken minted = RefreshTokenMinter.mint();
+        blackhole.consume(minted);
+        blackhole.consume(RefreshTokenMinter.randomUuid());
+    }
+}
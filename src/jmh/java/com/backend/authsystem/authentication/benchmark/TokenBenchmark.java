@@ -0,0 +1,57 @@
+package com.backend.authsystem.authentication.benchmark;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.service.JwtService;
+import com.backend.authsystem.authentication.service.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Issuing and fully verifying (no verified-token cache) one access token per signing algorithm and claim format;
+// issue also reports the Authorization header size as the secondary metric issue:headerBytes
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TokenBenchmark {
+
+    private static final int BEARER_PREFIX_LENGTH = "Bearer ".length();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeaderSize {
+        public long headerBytes;
+    }
+
+    @Param({"HS512", "ES256"})
+    public String algorithm;
+
+    @Param({"false", "true"})
+    public boolean compactPermissions;
+
+    private JwtService jwtService;
+    private AccountEntity user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(null, BenchmarkFixtures.environments(0, compactPermissions),
+                BenchmarkFixtures.signingKeyRing(algorithm));
+        user = BenchmarkFixtures.lecturer();
+        token = jwtService.generateAccessTokenFromUser(user);
+    }
+
+    @Benchmark
+    public String issue(HeaderSize size) {
+        String issued = jwtService.generateAccessTokenFromUser(user);
+        size.headerBytes = BEARER_PREFIX_LENGTH + issued.length();
+        return issued;
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+}
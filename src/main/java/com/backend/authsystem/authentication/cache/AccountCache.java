@@ -0,0 +1,106 @@
+package com.backend.authsystem.authentication.cache;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Accounts (with roles and permissions) keyed by email.
+// Hits, misses and size/expiry evictions are published as cache.* metrics with cache=accounts.
+// Changes made on other nodes are evicted by AccountChangePoller through the accounts' updated_at.
+@Slf4j
+@Component
+public class AccountCache {
+
+    public static final String CACHE_NAME = "accounts";
+
+    private final Cache<String, AccountEntity> accounts;
+    private final Counter invalidations;
+
+    public AccountCache(MeterRegistry meterRegistry,
+                        @Value("${cache.accounts.maximum-size:10000}") long maximumSize,
+                        @Value("${cache.accounts.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, accounts, CACHE_NAME);
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Accounts removed from the cache because their roles, permissions or password changed")
+                .register(meterRegistry);
+    }
+
+    // Every caller gets its own copy, so a change made to it never reaches the shared cached account
+    public AccountEntity get(String email, Function<String, AccountEntity> loader) {
+        return copyOf(accounts.get(email, loader));
+    }
+
+    // Eviction runs after commit so a concurrent reader cannot re-cache the pre-change state
+    public void evict(String email) {
+        evictAll(List.of(email));
+    }
+
+    public void evictAll(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            accounts.invalidateAll(emails);
+            invalidations.increment(emails.size());
+            log.debug("Evicted {} account(s) from cache", emails.size());
+        });
+    }
+
+    // Accounts changed on another node, as seen by AccountChangePoller; there is no local transaction to wait for
+    public void evictChanged(Collection<String> emails) {
+        accounts.invalidateAll(emails);
+        invalidations.increment(emails.size());
+    }
+
+    public CacheStats stats() {
+        return accounts.stats();
+    }
+
+    // Roles and their permissions are copied into read-only sets; the refresh tokens were never loaded and stay so
+    private static AccountEntity copyOf(AccountEntity account) {
+        Set<RoleEntity> roles = account.getRoles().stream()
+                .map(role -> RoleEntity.builder()
+                        .roleId(role.getRoleId())
+                        .roleName(role.getRoleName())
+                        .permissions(Set.copyOf(role.getPermissions()))
+                        .createdAt(role.getCreatedAt())
+                        .updatedAt(role.getUpdatedAt())
+                        .build())
+                .collect(Collectors.toUnmodifiableSet());
+        return AccountEntity.builder()
+                .userId(account.getUserId())
+                .firstname(account.getFirstname())
+                .lastname(account.getLastname())
+                .email(account.getEmail())
+                .password(account.getPassword())
+                .createdAt(account.getCreatedAt())
+                .updatedAt(account.getUpdatedAt())
+                .tokenGeneration(account.getTokenGeneration())
+                .tokenGenerationUpdatedAt(account.getTokenGenerationUpdatedAt())
+                .refreshTokens(account.getRefreshTokens())
+                .roles(roles)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.backend.authsystem.authentication.cache;
+
+import com.backend.authsystem.authentication.dto.course.CoursePageResponseDto;
+import com.backend.authsystem.authentication.dto.course.CourseResponseDto;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.util.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-through cache for course details and catalog pages, each stored with a strong ETag over its JSON.
+// Course writes evict after commit: the course itself, and every catalog page by moving to a new catalog version,
+// so a page load that started before the write can never be served afterwards. Writes made on other nodes are
+// evicted by CourseChangePoller within one poll interval.
+// Hits, misses and evictions are published as cache.* metrics with cache=courses and cache=course-pages.
+@Component
+public class CourseCache {
+
+    public static final String COURSES = "courses";
+    public static final String PAGES = "course-pages";
+
+    public record Versioned<T>(T value, String etag) {
+    }
+
+    private record PageKey(long catalogVersion, CourseState state, Semester semester, String academicYear,
+                           String cursor, int size) {
+    }
+
+    private final Cache<UUID, Versioned<CourseResponseDto>> courses;
+    private final Cache<PageKey, Versioned<CoursePageResponseDto>> pages;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final ObjectMapper objectMapper;
+
+    public CourseCache(MeterRegistry meterRegistry,
+                       ObjectMapper objectMapper,
+                       @Value("${cache.courses.maximum-size:10000}") long maximumSize,
+                       @Value("${cache.courses.page-maximum-size:1000}") long pageMaximumSize,
+                       @Value("${cache.courses.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.courses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, courses, COURSES);
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, PAGES);
+    }
+
+    public Versioned<CourseResponseDto> course(UUID courseId, Function<UUID, CourseResponseDto> loader) {
+        return courses.get(courseId, id -> versioned(loader.apply(id)));
+    }
+
+    public Versioned<CoursePageResponseDto> page(CourseState state, Semester semester, String academicYear,
+                                                 String cursor, int size, Supplier<CoursePageResponseDto> loader) {
+        PageKey key = new PageKey(catalogVersion.get(), state, semester, academicYear, cursor, size);
+        return pages.get(key, k -> versioned(loader.get()));
+    }
+
+    public void evict(UUID courseId) {
+        TransactionCallbacks.afterCommit(() -> {
+            courses.invalidate(courseId);
+            invalidatePages();
+        });
+    }
+
+    // Courses changed on another node, as seen by CourseChangePoller; there is no local transaction to wait for
+    public void evictChanged(Collection<UUID> courseIds) {
+        courses.invalidateAll(courseIds);
+        invalidatePages();
+    }
+
+    // A new course changes catalog pages but no cached course
+    public void evictCatalog() {
+        TransactionCallbacks.afterCommit(this::invalidatePages);
+    }
+
+    private void invalidatePages() {
+        catalogVersion.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    private <T> Versioned<T> versioned(T value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(value));
+            return new Versioned<>(value, "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute ETag", e);
+        }
+    }
+}
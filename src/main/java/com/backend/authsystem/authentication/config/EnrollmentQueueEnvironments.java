@@ -0,0 +1,32 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Component
+public class EnrollmentQueueEnvironments {
+    public  boolean enabled;
+    public  Integer batchSize;
+    public  Duration ticketTtl;
+    public  Integer retryAfterSeconds;
+
+    @Autowired
+    public EnrollmentQueueEnvironments(
+            @Value("${enrollment.queue.enabled:false}") boolean enabled,
+            @Value("${enrollment.queue.batch-size:500}") Integer batchSize,
+            @Value("${enrollment.queue.ticket-ttl:15m}") Duration ticketTtl,
+            @Value("${enrollment.queue.retry-after-seconds:1}") Integer retryAfterSeconds
+    ){
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.ticketTtl = ticketTtl;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+
+}
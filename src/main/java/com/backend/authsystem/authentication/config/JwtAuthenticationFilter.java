@@ -1,8 +1,14 @@
 package com.backend.authsystem.authentication.config;
 
 
+import com.backend.authsystem.authentication.service.AccessTokenRevocationList;
+import com.backend.authsystem.authentication.service.AuthMetrics;
+import com.backend.authsystem.authentication.service.AuthorityRegistry;
 import com.backend.authsystem.authentication.service.CustomUserDetailsService;
+import com.backend.authsystem.authentication.service.JwtPrincipal;
 import com.backend.authsystem.authentication.service.JwtService;
+import com.backend.authsystem.authentication.service.TokenGenerationRegistry;
+import com.backend.authsystem.authentication.service.VerifiedToken;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,6 +16,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,6 +25,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Set;
 
 
 @Component
@@ -25,11 +33,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final CustomUserDetailsService customUserDetailsService;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final SecurityEnvironments securityEnvironments;
+    private final AuthorityRegistry authorityRegistry;
+    private final TokenGenerationRegistry tokenGenerationRegistry;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+    private final AuthMetrics authMetrics;
 
-    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService customUserDetailsService, HandlerExceptionResolver handlerExceptionResolver) {
+    public JwtAuthenticationFilter(JwtService jwtService, CustomUserDetailsService customUserDetailsService, HandlerExceptionResolver handlerExceptionResolver, SecurityEnvironments securityEnvironments, AuthorityRegistry authorityRegistry, TokenGenerationRegistry tokenGenerationRegistry, AccessTokenRevocationList accessTokenRevocationList, AuthMetrics authMetrics) {
         this.jwtService = jwtService;
         this.customUserDetailsService = customUserDetailsService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.securityEnvironments = securityEnvironments;
+        this.authorityRegistry = authorityRegistry;
+        this.tokenGenerationRegistry = tokenGenerationRegistry;
+        this.accessTokenRevocationList = accessTokenRevocationList;
+        this.authMetrics = authMetrics;
     }
 
 @Override
@@ -53,24 +71,95 @@ protected void doFilterInternal(@NotNull HttpServletRequest request,
         }
 
         String token = authHeader.substring(7);
-        String username = jwtService.extractUsername(token);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-
-            if (!jwtService.isTokenValid(token, username)) {
-                throw new JwtException("Invalid or expired JWT token");
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = System.nanoTime();
+            try {
+                VerifiedToken verified = verifyCurrent(token);
+                // tokens minted before the userId claim existed have no id for a JwtPrincipal, so they keep going
+                // through the account lookup until they expire
+                UsernamePasswordAuthenticationToken authToken =
+                        Boolean.TRUE.equals(securityEnvironments.getClaimsOnlyAuthentication()) && verified.userId() != null
+                                ? claimsAuthentication(verified)
+                                : userDetailsAuthentication(verified);
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                authMetrics.record(AuthMetrics.Stage.FILTER_AUTHENTICATE, AuthMetrics.Outcome.OK, start);
+            } catch (RevokedTokenException e) {
+                authMetrics.record(AuthMetrics.Stage.FILTER_AUTHENTICATE, AuthMetrics.Outcome.REVOKED, start);
+                throw e;
+            } catch (RuntimeException e) {
+                authMetrics.record(AuthMetrics.Stage.FILTER_AUTHENTICATE, e, start);
+                throw e;
             }
-            UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
-        filterChain.doFilter(request, response);
+        // everything downstream, controller included, for requests that carried a token
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+            authMetrics.record(AuthMetrics.Stage.FILTER_CHAIN, AuthMetrics.Outcome.OK, start);
+        } catch (IOException | ServletException | RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.FILTER_CHAIN, AuthMetrics.Outcome.ERROR, start);
+            throw e;
+        }
     } catch (JwtException e) {
         handlerExceptionResolver.resolveException(request, response, null, e);
     }
 }
+
+
+    // Claims-only mode: signature and expiry are verified by the parser, the account table is never touched
+    private UsernamePasswordAuthenticationToken claimsAuthentication(VerifiedToken verified) {
+        long start = System.nanoTime();
+        Set<GrantedAuthority> authorities = authorityRegistry.forClaims(verified.roles(), verified.permissions());
+        authMetrics.record(AuthMetrics.Stage.FILTER_AUTHORITIES, AuthMetrics.Outcome.OK, start);
+
+        JwtPrincipal principal = new JwtPrincipal(verified.userId(), verified.subject(), authorities);
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+
+    private UsernamePasswordAuthenticationToken userDetailsAuthentication(VerifiedToken verified) {
+        long start = System.nanoTime();
+        UserDetails userDetails;
+        try {
+            userDetails = customUserDetailsService.loadUserByUsername(verified.subject());
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.FILTER_USER_LOOKUP, e, start);
+            throw e;
+        }
+        authMetrics.record(AuthMetrics.Stage.FILTER_USER_LOOKUP, AuthMetrics.Outcome.OK, start);
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+    }
+
+    // Signature and expiry, then two in-memory checks: the generation cut-off after logout-all or a password change,
+    // and the per-token revocation list
+    private VerifiedToken verifyCurrent(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(token);
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.FILTER_VERIFY, e, start);
+            throw e;
+        }
+        authMetrics.record(AuthMetrics.Stage.FILTER_VERIFY, AuthMetrics.Outcome.OK, start);
+
+        start = System.nanoTime();
+        if ((verified.userId() != null && !tokenGenerationRegistry.isCurrent(verified.userId(), verified.generation()))
+                || accessTokenRevocationList.isRevoked(verified.tokenId())) {
+            authMetrics.record(AuthMetrics.Stage.FILTER_REVOCATION, AuthMetrics.Outcome.REVOKED, start);
+            throw new RevokedTokenException();
+        }
+        authMetrics.record(AuthMetrics.Stage.FILTER_REVOCATION, AuthMetrics.Outcome.OK, start);
+        return verified;
+    }
+
+    // Same handling as any other JwtException, only told apart for the outcome tag
+    private static final class RevokedTokenException extends JwtException {
+        private RevokedTokenException() {
+            super("Token has been revoked");
+        }
+    }
 }
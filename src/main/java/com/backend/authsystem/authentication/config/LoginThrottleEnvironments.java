@@ -0,0 +1,47 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Component
+public class LoginThrottleEnvironments {
+    public  Integer emailCapacity;
+    public  Duration emailRefill;
+    public  Integer ipCapacity;
+    public  Duration ipRefill;
+    public  Integer freeFailures;
+    public  Duration backoffBase;
+    public  Duration backoffMax;
+    public  Integer maxEntries;
+    public  Duration idleExpiry;
+
+    @Autowired
+    public LoginThrottleEnvironments(
+            @Value("${login.throttle.email.capacity:5}") Integer emailCapacity,
+            @Value("${login.throttle.email.refill:1m}") Duration emailRefill,
+            @Value("${login.throttle.ip.capacity:50}") Integer ipCapacity,
+            @Value("${login.throttle.ip.refill:2s}") Duration ipRefill,
+            @Value("${login.throttle.backoff.free-failures:3}") Integer freeFailures,
+            @Value("${login.throttle.backoff.base:1s}") Duration backoffBase,
+            @Value("${login.throttle.backoff.max:15m}") Duration backoffMax,
+            @Value("${login.throttle.max-entries:100000}") Integer maxEntries,
+            @Value("${login.throttle.idle-expiry:30m}") Duration idleExpiry
+    ){
+        this.emailCapacity = emailCapacity;
+        this.emailRefill = emailRefill;
+        this.ipCapacity = ipCapacity;
+        this.ipRefill = ipRefill;
+        this.freeFailures = freeFailures;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.maxEntries = maxEntries;
+        this.idleExpiry = idleExpiry;
+    }
+
+
+}
@@ -0,0 +1,140 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+// Builds the delegating encoder used for every stored password.
+// Configured costs are minimums; with a target time set, the active algorithm's cost is raised
+// until one hash takes about that long on this machine. Calibration only decides the cost of new hashes:
+// a stored hash is upgraded when it uses another algorithm or a cost below the configured minimum, so nodes that
+// calibrate to different costs never rehash each other's passwords. Spring's PBKDF2 hashes do not record their
+// iteration count, so PBKDF2 always uses the configured iterations (a calibrated count would make hashes from one
+// node unverifiable on another) and its hashes are only upgraded when the algorithm changes, never for cost.
+@Slf4j
+public final class PasswordEncoderCalibrator {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    public static PasswordEncoder build(PasswordEncodingEnvironments environments) {
+        String algorithm = environments.getAlgorithm().toLowerCase();
+        long target = environments.getTargetMillis();
+
+        int bcryptStrength = environments.getBcryptStrength();
+        int pbkdf2Iterations = environments.getPbkdf2Iterations();
+        int argon2Iterations = environments.getArgon2Iterations();
+
+        if (target > 0) {
+            switch (algorithm) {
+                case BCRYPT -> bcryptStrength = calibrateBcrypt(bcryptStrength, target);
+                case PBKDF2 -> log.warn("PBKDF2 iterations are not calibrated, using the configured {}", pbkdf2Iterations);
+                case ARGON2 -> argon2Iterations = scale(argon2Iterations, target,
+                        iterations -> argon2(environments, iterations));
+                default -> throw new IllegalStateException("Unsupported password algorithm: " + algorithm);
+            }
+        }
+
+        if (!List.of(BCRYPT, PBKDF2, ARGON2).contains(algorithm)) {
+            throw new IllegalStateException("Unsupported password algorithm: " + algorithm);
+        }
+
+        log.info("Password encoding: algorithm={}, bcrypt strength={}, pbkdf2 iterations={}, argon2 iterations={} memory={}KiB (target {} ms)",
+                algorithm, bcryptStrength, pbkdf2Iterations, argon2Iterations, environments.getArgon2MemoryKib(), target);
+
+        PasswordEncoder calibrated = delegating(algorithm, environments, bcryptStrength, pbkdf2Iterations, argon2Iterations);
+        PasswordEncoder floor = delegating(algorithm, environments, environments.getBcryptStrength(),
+                environments.getPbkdf2Iterations(), environments.getArgon2Iterations());
+        return new FloorUpgradePasswordEncoder(calibrated, floor);
+    }
+
+    private static DelegatingPasswordEncoder delegating(String algorithm, PasswordEncodingEnvironments environments,
+                                                        int bcryptStrength, int pbkdf2Iterations, int argon2Iterations) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, pbkdf2(pbkdf2Iterations));
+        encoders.put(ARGON2, argon2(environments, argon2Iterations));
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // hashes stored before prefixes were introduced are plain bcrypt
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    // Encodes and matches at the calibrated cost, judges upgrades against the configured minimums
+    private record FloorUpgradePasswordEncoder(PasswordEncoder calibrated, PasswordEncoder floor) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return calibrated.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return calibrated.matches(rawPassword, encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return floor.upgradeEncoding(encodedPassword);
+        }
+    }
+
+    // Each strength step doubles the work, so stop at the last step that stays within the target
+    static int calibrateBcrypt(int minimumStrength, long targetMillis) {
+        int strength = minimumStrength;
+        double millis = measure(new BCryptPasswordEncoder(strength));
+        while (strength < MAX_BCRYPT_STRENGTH && millis * 2 <= targetMillis) {
+            strength++;
+            millis *= 2;
+        }
+        return strength;
+    }
+
+    // PBKDF2 and Argon2 time grows linearly with iterations
+    static int scale(int minimumIterations, long targetMillis, IntFunction<PasswordEncoder> encoderForIterations) {
+        double millis = measure(encoderForIterations.apply(minimumIterations));
+        if (millis <= 0) {
+            return minimumIterations;
+        }
+        long scaled = Math.round(minimumIterations * (targetMillis / millis));
+        return (int) Math.max(minimumIterations, Math.min(Integer.MAX_VALUE, scaled));
+    }
+
+    private static double measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+
+    private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", 16, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    private static Argon2PasswordEncoder argon2(PasswordEncodingEnvironments environments, int iterations) {
+        return new Argon2PasswordEncoder(16, 32, environments.getArgon2Parallelism(),
+                environments.getArgon2MemoryKib(), iterations);
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class PasswordEncodingEnvironments {
+    public  String algorithm;
+    public  Long targetMillis;
+    public  Integer bcryptStrength;
+    public  Integer pbkdf2Iterations;
+    public  Integer argon2MemoryKib;
+    public  Integer argon2Iterations;
+    public  Integer argon2Parallelism;
+
+    @Autowired
+    public PasswordEncodingEnvironments(
+            @Value("${password.encoding.algorithm:bcrypt}") String algorithm,
+            @Value("${password.encoding.target-millis:250}") Long targetMillis,
+            @Value("${password.encoding.bcrypt.strength:10}") Integer bcryptStrength,
+            @Value("${password.encoding.pbkdf2.iterations:310000}") Integer pbkdf2Iterations,
+            @Value("${password.encoding.argon2.memory-kib:19456}") Integer argon2MemoryKib,
+            @Value("${password.encoding.argon2.iterations:2}") Integer argon2Iterations,
+            @Value("${password.encoding.argon2.parallelism:1}") Integer argon2Parallelism
+    ){
+        this.algorithm = algorithm;
+        this.targetMillis = targetMillis;
+        this.bcryptStrength = bcryptStrength;
+        this.pbkdf2Iterations = pbkdf2Iterations;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+
+}
@@ -0,0 +1,33 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Component
+public class PasswordHashingEnvironments {
+    public  Integer threads;
+    public  Integer queueCapacity;
+    public  Duration waitTimeout;
+    public  Integer retryAfterSeconds;
+
+    @Autowired
+    public PasswordHashingEnvironments(
+            @Value("${password.hashing.threads:0}") Integer threads,
+            @Value("${password.hashing.queue-capacity:64}") Integer queueCapacity,
+            @Value("${password.hashing.wait-timeout:5s}") Duration waitTimeout,
+            @Value("${password.hashing.retry-after-seconds:2}") Integer retryAfterSeconds
+    ){
+        // 0 means one hashing thread per core
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.waitTimeout = waitTimeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+
+}
@@ -0,0 +1,32 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Component
+public class RefreshTokenRetentionEnvironments {
+    public  Duration retention;
+    public  Integer batchSize;
+    public  Integer maxBatchesPerRun;
+    public  Integer partitionMonthsAhead;
+
+    @Autowired
+    public RefreshTokenRetentionEnvironments(
+            @Value("${refresh.reaper.retention:7d}") Duration retention,
+            @Value("${refresh.reaper.batch-size:1000}") Integer batchSize,
+            @Value("${refresh.reaper.max-batches-per-run:100}") Integer maxBatchesPerRun,
+            @Value("${refresh.partitions.months-ahead:3}") Integer partitionMonthsAhead
+    ){
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.partitionMonthsAhead = partitionMonthsAhead;
+    }
+
+
+}
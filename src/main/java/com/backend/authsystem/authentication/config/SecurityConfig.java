@@ -10,6 +10,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -24,15 +25,18 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final AuthenticationProvider authenticationProvider;
+    private final ManagementPortRequestMatcher managementPort;
 
 
     public SecurityConfig(
             JwtAuthenticationFilter jwtAuthenticationFilter,
-            AuthenticationProvider authenticationProvider
+            AuthenticationProvider authenticationProvider,
+            ManagementPortRequestMatcher managementPort
 
     ) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.authenticationProvider = authenticationProvider;
+        this.managementPort = managementPort;
 
     }
 
@@ -49,9 +53,17 @@ public class SecurityConfig {
                                 "/api/v1/auth/logout",
                                 "/api/v1/auth/health",
                                 "/swagger-ui/**",
-                                "/v3/api-docs/**"
+                                "/v3/api-docs/**",
+                                "/actuator/health",
+                                "/.well-known/jwks.json"
                         ).permitAll()
 
+                        // Prometheus scrapes without a JWT, but only on the management port, which stays off the
+                        // public network; every other actuator endpoint still needs USER_MANAGE
+                        .requestMatchers(new AndRequestMatcher(managementPort,
+                                request -> "/actuator/prometheus".equals(request.getRequestURI()))).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("USER_MANAGE")
+
                         .requestMatchers("/api/v1/profile/**").authenticated()
                         .requestMatchers("/api/v1/account/**").authenticated()
                         .requestMatchers("/api/v1/course/**").authenticated()
@@ -11,16 +11,30 @@ public class SecurityEnvironments {
     public  String tokenSecret;
     public  Integer tokenExpirationInMinutes;
     public  Integer refreshTokenExpirationInDays;
+    public  Boolean claimsOnlyAuthentication;
+    public  Integer verifiedTokenCacheSize;
+    public  Boolean compactPermissions;
 
     @Autowired
     public SecurityEnvironments(
             @Value("${token.secret}") String tokenSecret,
             @Value("${token.expiration-in-minutes}") Integer tokenExpirationInMinutes,
-            @Value("${refresh.token-expiration-in-days}") Integer refreshTokenExpirationInDays
+            @Value("${refresh.token-expiration-in-days}") Integer refreshTokenExpirationInDays,
+            @Value("${token.claims-only-authentication:true}") Boolean claimsOnlyAuthentication,
+            @Value("${token.verified-cache-size:10000}") Integer verifiedTokenCacheSize,
+            @Value("${token.compact-permissions:false}") Boolean compactPermissions
     ){
         this.tokenSecret = tokenSecret;
         this.tokenExpirationInMinutes= tokenExpirationInMinutes;
         this.refreshTokenExpirationInDays= refreshTokenExpirationInDays;
+        this.claimsOnlyAuthentication = claimsOnlyAuthentication;
+        this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        this.compactPermissions = compactPermissions;
+    }
+
+    public SecurityEnvironments(String tokenSecret, Integer tokenExpirationInMinutes, Integer refreshTokenExpirationInDays,
+                                Boolean claimsOnlyAuthentication, Integer verifiedTokenCacheSize) {
+        this(tokenSecret, tokenExpirationInMinutes, refreshTokenExpirationInDays, claimsOnlyAuthentication, verifiedTokenCacheSize, false);
     }
 
 
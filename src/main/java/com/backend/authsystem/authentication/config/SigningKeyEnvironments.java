@@ -0,0 +1,40 @@
+package com.backend.authsystem.authentication.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Component
+public class SigningKeyEnvironments {
+    public  String algorithm;
+    public  Duration rotationPeriod;
+    public  Duration publishAhead;
+    public  Duration jwksMaxAge;
+    public  Boolean acceptHs512;
+
+    @Autowired
+    public SigningKeyEnvironments(
+            @Value("${token.signing.algorithm:ES256}") String algorithm,
+            @Value("${token.signing.rotation-period:30d}") Duration rotationPeriod,
+            @Value("${token.signing.publish-ahead:30m}") Duration publishAhead,
+            @Value("${token.signing.jwks-max-age:10m}") Duration jwksMaxAge,
+            @Value("${token.signing.accept-hs512:true}") Boolean acceptHs512
+    ){
+        this.algorithm = algorithm;
+        this.rotationPeriod = rotationPeriod;
+        // a new key has to sit in the JWKS for at least one cache lifetime before anything is signed with it
+        this.publishAhead = publishAhead.compareTo(jwksMaxAge) > 0 ? publishAhead : jwksMaxAge;
+        this.jwksMaxAge = jwksMaxAge;
+        this.acceptHs512 = acceptHs512;
+    }
+
+    public boolean isAsymmetric() {
+        return "ES256".equalsIgnoreCase(algorithm);
+    }
+
+
+}
@@ -6,6 +6,7 @@ import com.backend.authsystem.authentication.service.AccountService;
 import com.backend.authsystem.authentication.util.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -60,8 +61,9 @@ public class AuthController {
  @PostMapping("/login")
     public ResponseEntity<ApiResponse<LoginResponseDto>> loginUser(
             @RequestBody @Valid UserloginDto loginUser,
+            HttpServletRequest request,
             HttpServletResponse response) {
-       LoginResponseDto result =  accountService.LoginService(loginUser, response);
+       LoginResponseDto result =  accountService.LoginService(loginUser, request.getRemoteAddr(), response);
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(new ApiResponse<>(true, "Login successfully.", result));
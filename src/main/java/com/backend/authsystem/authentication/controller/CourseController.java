@@ -1,9 +1,13 @@
 package com.backend.authsystem.authentication.controller;
 
 
+import com.backend.authsystem.authentication.cache.CourseCache;
 import com.backend.authsystem.authentication.dto.course.CourseCreateRequestDto;
+import com.backend.authsystem.authentication.dto.course.CoursePageResponseDto;
 import com.backend.authsystem.authentication.dto.course.CourseResponseDto;
 import com.backend.authsystem.authentication.dto.course.CourseUpdateRequestDto;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
 import com.backend.authsystem.authentication.service.AuthenticatedUserService;
 import com.backend.authsystem.authentication.service.CourseService;
 import com.backend.authsystem.authentication.util.ApiResponse;
@@ -16,8 +20,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.UUID;
 
 
@@ -182,14 +186,19 @@ public class CourseController {
     )
     @GetMapping("/{courseId}")
     @PreAuthorize("hasAuthority('COURSE_VIEW')")
-    public ResponseEntity <ApiResponse<CourseResponseDto>> getCourseById(@PathVariable UUID courseId) {
+    public ResponseEntity <ApiResponse<CourseResponseDto>> getCourseById(@PathVariable UUID courseId, WebRequest webRequest) {
         String userEmail = authenticatedUserService.getCurrentUserEmail();
         log.info("User {} requested to view course {}", userEmail, courseId);
 
-        CourseResponseDto theCourse =  courseService.getCourseById(courseId);
+        CourseCache.Versioned<CourseResponseDto> theCourse =  courseService.getCourseById(courseId);
+        // a matching If-None-Match has already been answered with 304, no body is written
+        if (webRequest.checkNotModified(theCourse.etag())) {
+            return null;
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ApiResponse<>(true, "Course details retrieved successfully", theCourse));
+                .eTag(theCourse.etag())
+                .body(new ApiResponse<>(true, "Course details retrieved successfully", theCourse.value()));
 
     }
 
@@ -198,19 +207,30 @@ public class CourseController {
 
     @Operation(
             summary = "View All Courses",
-            description = "View all courses for the  currently authenticated user. Requires 'COURSE_VIEW_ALL' authority."
+            description = "Pages through the course catalog newest first, optionally filtered by state, semester and academic year. " +
+                    "Pass the returned nextCursor to get the following page; size is capped at 100. Requires 'COURSE_VIEW_ALL' authority."
     )
     @GetMapping
     @PreAuthorize("hasAuthority('COURSE_VIEW_ALL')")
-    public ResponseEntity <ApiResponse<List<CourseResponseDto>>> getAllCourses() {
+    public ResponseEntity <ApiResponse<CoursePageResponseDto>> getAllCourses(
+            @RequestParam(required = false) CourseState state,
+            @RequestParam(required = false) Semester semester,
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
         String userEmail = authenticatedUserService.getCurrentUserEmail();
         log.info("User {} requested to view all courses", userEmail);
 
-     List<CourseResponseDto>  allCourses =  courseService.getAllCourses();
+        CourseCache.Versioned<CoursePageResponseDto> page = courseService.getCourses(state, semester, academicYear, cursor, size);
+        if (webRequest.checkNotModified(page.etag())) {
+            return null;
+        }
 
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ApiResponse<>(true, "All courses retrieved successfully", allCourses));
+                .eTag(page.etag())
+                .body(new ApiResponse<>(true, "All courses retrieved successfully", page.value()));
     }
 
 
@@ -1,16 +1,26 @@
 package com.backend.authsystem.authentication.controller;
 
+import com.backend.authsystem.authentication.dto.BulkEnrollmentReportDto;
+import com.backend.authsystem.authentication.dto.BulkEnrollmentRequestDto;
 import com.backend.authsystem.authentication.dto.EnrollmentResponseDto;
+import com.backend.authsystem.authentication.dto.EnrollmentTicketDto;
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+import com.backend.authsystem.authentication.service.EnrollmentAdmissionQueue;
 import com.backend.authsystem.authentication.service.EnrollmentService;
 import com.backend.authsystem.authentication.util.ApiResponse;
+import com.backend.authsystem.authentication.util.EnrollmentCsv;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +31,7 @@ import java.util.UUID;
 public class CourseEnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final EnrollmentAdmissionQueue admissionQueue;
 
     @Operation(
             summary = "Enroll in a course",
@@ -36,6 +47,68 @@ public class CourseEnrollmentController {
     }
 
 
+    @Operation(
+            summary = "Import enrollments",
+            description = "Enrolls a cohort into a course from a JSON list of student user ids or emails. Returns a per-row report of enrolled students, duplicates, unknown users and capacity overflow. Requires 'COURSE_ENROLLMENT_IMPORT' authority."
+    )
+    @PostMapping(value = "/{courseId}/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('COURSE_ENROLLMENT_IMPORT')")
+    public ResponseEntity<ApiResponse<BulkEnrollmentReportDto>> importEnrollments(@PathVariable UUID courseId,
+                                                                                  @Valid @RequestBody BulkEnrollmentRequestDto request) {
+        BulkEnrollmentReportDto report = enrollmentService.importEnrollments(courseId, request.students());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Enrollment import completed", report));
+    }
+
+
+    @Operation(
+            summary = "Import enrollments from CSV",
+            description = "Same as the JSON import, reading the first column of a text/csv body (one student user id or email per line, optional header row). Requires 'COURSE_ENROLLMENT_IMPORT' authority."
+    )
+    @PostMapping(value = "/{courseId}/bulk", consumes = "text/csv")
+    @PreAuthorize("hasAuthority('COURSE_ENROLLMENT_IMPORT')")
+    public ResponseEntity<ApiResponse<BulkEnrollmentReportDto>> importEnrollmentsCsv(@PathVariable UUID courseId,
+                                                                                     @RequestBody String csv) {
+        BulkEnrollmentReportDto report = enrollmentService.importEnrollments(courseId, EnrollmentCsv.entries(csv));
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ApiResponse<>(true, "Enrollment import completed", report));
+    }
+
+
+    @Operation(
+            summary = "Queue an enrollment",
+            description = "Queued admission for high-demand courses. Returns a ticket immediately; poll it until it is no longer PENDING. Requires 'COURSE_ENROLLMENT' authority and enrollment.queue.enabled."
+    )
+    @PostMapping("/{courseId}/enroll-queue")
+    @PreAuthorize("hasAuthority('COURSE_ENROLLMENT')")
+    public ResponseEntity<ApiResponse<EnrollmentTicketDto>> queueEnrollment(@PathVariable UUID courseId) {
+        EnrollmentTicketDto ticket = admissionQueue.submit(courseId);
+        return ResponseEntity
+                .accepted()
+                .location(URI.create("/api/v1/course-enrollment/tickets/" + ticket.ticketId()))
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionQueue.retryAfterSeconds()))
+                .body(new ApiResponse<>(true, "Enrollment request queued", ticket));
+    }
+
+
+    @Operation(
+            summary = "Get an enrollment ticket",
+            description = "Returns the status of one of the caller's queued enrollments. Requires 'COURSE_ENROLLMENT' authority."
+    )
+    @GetMapping("/tickets/{ticketId}")
+    @PreAuthorize("hasAuthority('COURSE_ENROLLMENT')")
+    public ResponseEntity<ApiResponse<EnrollmentTicketDto>> getTicket(@PathVariable UUID ticketId) {
+        EnrollmentTicketDto ticket = admissionQueue.ticket(ticketId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (ticket.status() == EnrollmentTicketStatus.PENDING) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(admissionQueue.retryAfterSeconds()));
+        }
+        return response.body(new ApiResponse<>(true, "Enrollment ticket retrieved successfully", ticket));
+    }
+
+
     @Operation(
             summary = "Get enrolled students count",
             description = "Returns the total number of students currently enrolled in the specified course. Requires 'COURSE_ENROL_COUNT' authority."
@@ -0,0 +1,49 @@
+package com.backend.authsystem.authentication.controller;
+
+
+import com.backend.authsystem.authentication.config.SigningKeyEnvironments;
+import com.backend.authsystem.authentication.service.SigningKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+
+@Tag(name = "JWKS", description = "Public keys other services use to verify access tokens locally")
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyRing signingKeyRing;
+    private final SigningKeyEnvironments signingKeyEnvironments;
+
+
+    // Standard RFC 7517 document rather than ApiResponse, so off-the-shelf JWT libraries can consume it
+    @Operation(
+            summary = "JSON Web Key Set",
+            description = "Returns the ES256 public keys currently used to sign access tokens, including the next key ahead of rotation. Public and cacheable."
+    )
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SigningKeyRing.Jwks jwks = signingKeyRing.jwks();
+        CacheControl cacheControl = CacheControl.maxAge(signingKeyEnvironments.getJwksMaxAge()).cachePublic();
+
+        if (jwks.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(jwks.etag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(jwks.etag())
+                .body(jwks.json());
+    }
+}
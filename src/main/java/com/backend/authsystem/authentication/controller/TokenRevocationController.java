@@ -0,0 +1,42 @@
+package com.backend.authsystem.authentication.controller;
+
+
+import com.backend.authsystem.authentication.dto.RevokeAccessTokenRequestDto;
+import com.backend.authsystem.authentication.service.AccessTokenRevocationService;
+import com.backend.authsystem.authentication.service.AuthenticatedUserService;
+import com.backend.authsystem.authentication.util.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+
+@Tag(name = "TOKEN REVOCATION", description = "Endpoints for revoking individual access tokens")
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationController {
+
+    private final AccessTokenRevocationService accessTokenRevocationService;
+    private final AuthenticatedUserService authenticatedUserService;
+
+
+    @Operation(
+            summary = "Revoke Access Token",
+            description = "Immediately invalidates a single access token, e.g. one reported stolen, on every node. Requires 'USER_MANAGE' authority."
+    )
+    @PostMapping("/revoke-token")
+    @PreAuthorize("hasAuthority('USER_MANAGE')")
+    public ResponseEntity<ApiResponse<Void>> revokeAccessToken(@RequestBody @Valid RevokeAccessTokenRequestDto request) {
+        String userEmail = authenticatedUserService.getCurrentUserEmail();
+        log.info("User {} requested to revoke an access token", userEmail);
+
+        accessTokenRevocationService.revokeAccessToken(request);
+        return ResponseEntity.ok(new ApiResponse<>(true, "Access token revoked", null));
+    }
+}
@@ -0,0 +1,9 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.time.Instant;
+
+public interface AccountChangeRow {
+    String getEmail();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,7 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.util.UUID;
+
+// Projection for lookups that only need who the account is, no roles or profile
+public record AccountIdentity(UUID userId, String email) {
+}
@@ -0,0 +1,12 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkEnrollmentReportDto(
+        UUID courseId,
+        int total,
+        int enrolled,
+        List<BulkEnrollmentRowDto> rows
+) {
+}
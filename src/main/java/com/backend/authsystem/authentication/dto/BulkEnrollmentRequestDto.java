@@ -0,0 +1,15 @@
+package com.backend.authsystem.authentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkEnrollmentRequestDto(
+        @Schema(description = "Student user ids or email addresses, one per entry", example = "[\"student@unicore.edu\"]")
+        @NotEmpty(message = "Students must not be empty")
+        @Size(max = 10000, message = "At most 10000 students per import")
+        List<String> students
+) {
+}
@@ -0,0 +1,14 @@
+package com.backend.authsystem.authentication.dto;
+
+import com.backend.authsystem.authentication.enums.BulkEnrollmentStatus;
+
+import java.util.UUID;
+
+public record BulkEnrollmentRowDto(
+        int row,
+        String entry,
+        BulkEnrollmentStatus status,
+        UUID studentId,
+        UUID enrollmentId
+) {
+}
@@ -0,0 +1,10 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface CourseChangeRow {
+    UUID getCourseId();
+
+    Instant getUpdatedAt();
+}
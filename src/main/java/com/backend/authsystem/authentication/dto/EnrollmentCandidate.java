@@ -0,0 +1,7 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.util.UUID;
+
+// An account named in an enrollment import, and whether it holds the student role
+public record EnrollmentCandidate(UUID userId, String email, boolean student) {
+}
@@ -0,0 +1,16 @@
+package com.backend.authsystem.authentication.dto;
+
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record EnrollmentTicketDto(
+        UUID ticketId,
+        UUID courseId,
+        EnrollmentTicketStatus status,
+        Instant submittedAt,
+        Instant resolvedAt,
+        UUID enrollmentId
+) {
+}
@@ -0,0 +1,14 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.util.UUID;
+
+// One row per role of the owner of a just-rotated refresh token (roleName is null for an account without roles)
+public interface RefreshTokenOwnerRow {
+    UUID getUserId();
+
+    String getEmail();
+
+    Integer getTokenGeneration();
+
+    String getRoleName();
+}
@@ -0,0 +1,16 @@
+package com.backend.authsystem.authentication.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RevokeAccessTokenRequestDto(
+        @Schema(description = "The access token to revoke, without the Bearer prefix")
+        @NotBlank(message = "Token must not be empty")
+        String token,
+
+        @Schema(description = "Why the token is being revoked", example = "Reported stolen")
+        @Size(max = 255, message = "Reason must be at most 255 characters")
+        String reason
+) {
+}
@@ -0,0 +1,7 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.time.Instant;
+
+// Changes whenever a role is added or its permissions are changed (updated_at is bumped on every grant)
+public record RoleWatermark(long roles, Instant lastChange) {
+}
@@ -0,0 +1,9 @@
+package com.backend.authsystem.authentication.dto;
+
+import java.util.UUID;
+
+public interface TokenGenerationRow {
+    UUID getUserId();
+
+    Integer getTokenGeneration();
+}
@@ -0,0 +1,11 @@
+package com.backend.authsystem.authentication.dto.course;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record CoursePageResponseDto(
+        List<CourseResponseDto> items,
+        String nextCursor
+) {
+
+}
@@ -33,6 +33,14 @@ public class AccountEntity {
 
        private Instant updatedAt;
 
+    // Only ever changed by bulk updates (logout-all, password change), never by saving the entity
+    @Column(name = "token_generation", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer tokenGeneration = 0;
+
+    @Column(name = "token_generation_updated_at", updatable = false)
+    private Instant tokenGenerationUpdatedAt;
+
     @OneToMany(mappedBy = "myUser",
             cascade = CascadeType.ALL,
             orphanRemoval = true,
@@ -42,7 +50,7 @@ public class AccountEntity {
     private List<RefreshTokenEntity> refreshTokens = new ArrayList<>();
 
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -4,6 +4,7 @@ package com.backend.authsystem.authentication.entity;
 import com.backend.authsystem.authentication.enums.CourseState;
 import com.backend.authsystem.authentication.enums.Semester;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,7 +18,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "course")
+@Table(name = "course", indexes = {
+        @Index(name = "ix_course_created_at_course_id", columnList = "created_at, course_id"),
+        @Index(name = "ix_course_state_created_at", columnList = "state, created_at, course_id"),
+        @Index(name = "ix_course_year_semester_created_at", columnList = "academic_year, semester, created_at, course_id"),
+        @Index(name = "ix_course_updated_at", columnList = "updated_at")
+})
 public class CourseEntity {
     @Id
     private UUID courseId;
@@ -45,6 +51,11 @@ public class CourseEntity {
     @Column(nullable = false)
     private int maxCapacity;
 
+    // Maintained by conditional updates in CourseRepository, never written from the entity
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int enrolledCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lecturer_id", nullable = false)
     private AccountEntity lecturer;
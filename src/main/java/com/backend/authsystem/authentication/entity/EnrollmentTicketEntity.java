@@ -0,0 +1,44 @@
+package com.backend.authsystem.authentication.entity;
+
+
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "enrollment_tickets",
+        uniqueConstraints = @UniqueConstraint(name = "uq_enrollment_ticket_course_student",
+                columnNames = {"course_id", "student_id"}),
+        indexes = {
+                @Index(name = "ix_enrollment_tickets_pending", columnList = "course_id, submitted_at"),
+                @Index(name = "ix_enrollment_tickets_resolved_at", columnList = "resolved_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EnrollmentTicketEntity {
+    @Id
+    private UUID ticketId;
+
+    @Column(nullable = false)
+    private UUID courseId;
+
+    @Column(nullable = false)
+    private UUID studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EnrollmentTicketStatus status;
+
+    @Column(nullable = false)
+    private Instant submittedAt;
+
+    private Instant resolvedAt;
+
+    private UUID enrollmentId;
+}
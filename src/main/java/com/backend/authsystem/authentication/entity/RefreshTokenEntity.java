@@ -2,10 +2,8 @@ package com.backend.authsystem.authentication.entity;
 
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -15,8 +13,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @Entity
 @Builder
-@Table(name = "my_refresh_tokens")
-public class RefreshTokenEntity {
+@Table(name = "my_refresh_tokens", indexes = {
+        @Index(name = "ux_my_refresh_tokens_token_hash", columnList = "token_hash, expires_at", unique = true),
+        @Index(name = "ix_my_refresh_tokens_user_id", columnList = "user_id")
+})
+public class RefreshTokenEntity implements Persistable<UUID> {
     @Id
     private UUID tokenId;
 
@@ -24,7 +25,8 @@ public class RefreshTokenEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private AccountEntity myUser;
 
-    private String tokenHash;
+    @Column(name = "token_hash", nullable = false, length = 32)
+    private byte[] tokenHash;
 
     private Instant expiresAt;
 
@@ -34,4 +36,27 @@ public class RefreshTokenEntity {
 
     private Instant revokedAt;
 
+    // Ids are assigned up front, so tell Spring Data when a row is new to get a plain INSERT instead of merge's SELECT
+    @Transient
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean isNew = true;
+
+    @Override
+    public UUID getId() {
+        return tokenId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
 }
@@ -0,0 +1,32 @@
+package com.backend.authsystem.authentication.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "revoked_access_tokens", indexes = {
+        @Index(name = "ix_revoked_access_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedAccessTokenEntity {
+    @Id
+    private UUID jti;
+
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+
+    private String reason;
+}
@@ -26,7 +26,7 @@ public class RoleEntity {
         @Enumerated(EnumType.STRING)
         private RoleEnum roleName;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name = "role_permissions",
             joinColumns = @JoinColumn(name = "role_id"),
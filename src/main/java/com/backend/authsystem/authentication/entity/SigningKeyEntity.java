@@ -0,0 +1,39 @@
+package com.backend.authsystem.authentication.entity;
+
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "signing_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SigningKeyEntity {
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    // X.509 SubjectPublicKeyInfo
+    @Column(nullable = false)
+    private byte[] publicKey;
+
+    // PKCS#8, encrypted at rest
+    @Column(nullable = false)
+    private byte[] privateKey;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant activatesAt;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,14 @@
+package com.backend.authsystem.authentication.enums;
+
+public enum BulkEnrollmentStatus {
+
+    ENROLLED,           // Enrollment created
+    ALREADY_ENROLLED,   // Student already holds an enrollment for the course
+    DUPLICATE_ENTRY,    // Same student listed earlier in the import
+    UNKNOWN_USER,       // No account with that id or email
+    NOT_A_STUDENT,      // Account exists but does not hold the student role
+    INVALID_ENTRY,      // Neither a user id nor an email address
+    COURSE_FULL,        // Capacity reached before this row
+    ENROLLMENT_CLOSED   // Course closed for enrollment while importing
+
+}
@@ -0,0 +1,12 @@
+package com.backend.authsystem.authentication.enums;
+
+public enum EnrollmentTicketStatus {
+
+    PENDING,            // Waiting in the admission queue
+    ADMITTED,           // Enrollment created
+    ALREADY_ENROLLED,   // Student already holds an enrollment for the course
+    COURSE_FULL,        // No seat left when the ticket was drained
+    ENROLLMENT_CLOSED,  // Course no longer open for enrollment
+    FAILED              // Batch write failed; the student may enqueue again
+
+}
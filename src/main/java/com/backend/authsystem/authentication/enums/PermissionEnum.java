@@ -15,6 +15,7 @@ public enum PermissionEnum {
     COURSE_ENROLLMENT_COUNT,
     COURSE_ENROLLMENT_LIST,
     COURSE_ENROLLMENT,
+    COURSE_ENROLLMENT_IMPORT, //(LECTURER, ADMIN)
     COURSE_CREATE, //(LECTURER)
     COURSE_UPDATE, //(LECTURER)
     COURSE_PUBLISH, //(LECTURER)
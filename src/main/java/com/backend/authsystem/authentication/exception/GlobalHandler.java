@@ -7,6 +7,7 @@ import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -36,6 +37,22 @@ public class GlobalHandler {
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(PasswordHashingUnavailableException ex) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyLoginAttempts(TooManyLoginAttemptsException ex) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(ex, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
   @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCredentials(InvalidCredentialsException ex) {
         return buildErrorResponse(ex, HttpStatus.UNAUTHORIZED);
@@ -67,6 +84,11 @@ public class GlobalHandler {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
     }
 
+@ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
 @ExceptionHandler(InvalidCourseStateException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCourseStateException(InvalidCourseStateException ex) {
         return buildErrorResponse(ex, HttpStatus.CONFLICT);
@@ -140,6 +162,12 @@ public class GlobalHandler {
     }
 
 
+    @ExceptionHandler(InvalidEnrollmentImportException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidEnrollmentImportException(InvalidEnrollmentImportException ex) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST);
+    }
+
+
  @ExceptionHandler(EnrollmentNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleEnrollmentNotFoundException(EnrollmentNotFoundException ex) {
         return buildErrorResponse(ex, HttpStatus.NOT_FOUND);
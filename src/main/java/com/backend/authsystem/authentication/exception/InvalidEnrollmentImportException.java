@@ -0,0 +1,7 @@
+package com.backend.authsystem.authentication.exception;
+
+public class InvalidEnrollmentImportException extends RuntimeException {
+    public InvalidEnrollmentImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.backend.authsystem.authentication.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
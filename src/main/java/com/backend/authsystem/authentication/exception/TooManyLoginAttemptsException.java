@@ -0,0 +1,13 @@
+package com.backend.authsystem.authentication.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,13 +1,81 @@
 package com.backend.authsystem.authentication.repository;
 
+import com.backend.authsystem.authentication.dto.AccountChangeRow;
+import com.backend.authsystem.authentication.dto.AccountIdentity;
+import com.backend.authsystem.authentication.dto.EnrollmentCandidate;
+import com.backend.authsystem.authentication.dto.TokenGenerationRow;
 import com.backend.authsystem.authentication.entity.AccountEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AccountRepository extends JpaRepository<AccountEntity, UUID> {
     Optional<AccountEntity> findByEmail(String email);
     boolean existsByEmail(String email);
+    boolean existsByUserId(UUID userId);
     Optional<AccountEntity> findByUserId(UUID userId);
+
+    // Roles and permissions in one statement, for token issuing, authentication and account views
+    @EntityGraph(attributePaths = {"roles", "roles.permissions"})
+    Optional<AccountEntity> findWithAuthoritiesByEmail(String email);
+
+    @EntityGraph(attributePaths = "roles")
+    Optional<AccountEntity> findWithRolesByUserId(UUID userId);
+
+    Optional<AccountIdentity> findIdentityByUserId(UUID userId);
+
+    // Set-based resolution for bulk enrollment imports; the student role comes back with each account in the same query
+    @Query("select new com.backend.authsystem.authentication.dto.EnrollmentCandidate(a.userId, a.email, " +
+            "case when r.roleId is null then false else true end) " +
+            "from AccountEntity a left join a.roles r " +
+            "on r.roleName = com.backend.authsystem.authentication.enums.RoleEnum.ROLE_STUDENT " +
+            "where a.userId in :userIds")
+    List<EnrollmentCandidate> findEnrollmentCandidatesByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("select new com.backend.authsystem.authentication.dto.EnrollmentCandidate(a.userId, a.email, " +
+            "case when r.roleId is null then false else true end) " +
+            "from AccountEntity a left join a.roles r " +
+            "on r.roleName = com.backend.authsystem.authentication.enums.RoleEnum.ROLE_STUDENT " +
+            "where a.email in :emails")
+    List<EnrollmentCandidate> findEnrollmentCandidatesByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Compare-and-set on the old hash so a password change made meanwhile is never overwritten
+    @Modifying
+    @Transactional
+    @Query("update AccountEntity a set a.password = :newHash, a.updatedAt = :updatedAt where a.userId = :userId and a.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("userId") UUID userId,
+                                  @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash,
+                                  @Param("updatedAt") Instant updatedAt);
+
+    // Invalidates every access token issued so far; RETURNING gives the new value without a second read
+    @Transactional
+    @Query(value = """
+            UPDATE my_users
+               SET token_generation = token_generation + 1,
+                   token_generation_updated_at = :updatedAt
+             WHERE email = :email
+            RETURNING user_id AS "userId", token_generation AS "tokenGeneration"
+            """, nativeQuery = true)
+    Optional<TokenGenerationRow> incrementTokenGeneration(@Param("email") String email,
+                                                          @Param("updatedAt") Instant updatedAt);
+
+    @Query("select a.userId as userId, a.tokenGeneration as tokenGeneration from AccountEntity a " +
+            "where a.tokenGenerationUpdatedAt > :since")
+    List<TokenGenerationRow> findTokenGenerationChangesSince(@Param("since") Instant since);
+
+    @Query("select a.email as email, a.updatedAt as updatedAt from AccountEntity a where a.updatedAt > :since")
+    List<AccountChangeRow> findChangesSince(@Param("since") Instant since);
+
+    @Query("select a.email from AccountEntity a join a.roles r where r.roleId = :roleId")
+    List<String> findEmailsByRoleId(@Param("roleId") UUID roleId);
 }
@@ -2,8 +2,12 @@ package com.backend.authsystem.authentication.repository;
 
 import com.backend.authsystem.authentication.entity.CourseEnrollmentEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollmentEntity, UUID> {
@@ -13,4 +17,10 @@ public interface CourseEnrollmentRepository extends JpaRepository<CourseEnrollme
 
     List<CourseEnrollmentEntity> findAllByCourse_CourseIdAndIsDeletedFalse(UUID courseId);
 
+    // Soft-deleted rows are included: the (course_id, student_id) unique constraint still covers them
+    @Query("SELECT e.student.userId FROM CourseEnrollmentEntity e " +
+            "WHERE e.course.courseId = :courseId AND e.student.userId IN :studentIds")
+    Set<UUID> findStudentIdsByCourseIdAndStudentIdIn(@Param("courseId") UUID courseId,
+                                                     @Param("studentIds") Collection<UUID> studentIds);
+
 }
@@ -1,13 +1,76 @@
 package com.backend.authsystem.authentication.repository;
 
+import com.backend.authsystem.authentication.dto.CourseChangeRow;
 import com.backend.authsystem.authentication.entity.CourseEntity;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface CourseRepository extends JpaRepository<CourseEntity, UUID> {
+public interface CourseRepository extends JpaRepository<CourseEntity, UUID>, JpaSpecificationExecutor<CourseEntity> {
 
     Optional<CourseEntity> findByCourseId(UUID courseId);
+
+    @Query("select c.courseId as courseId, c.updatedAt as updatedAt from CourseEntity c where c.updatedAt > :since")
+    List<CourseChangeRow> findChangesSince(@Param("since") Instant since);
+
+    // Takes a seat only while enrollment is open and one is free. Concurrent callers queue on the course row lock
+    // and each re-checks the condition against the committed count, so the course can never be overbooked.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE course
+               SET enrolled_count = enrolled_count + 1
+             WHERE course_id = :courseId
+               AND state = 'ENROLLMENT_OPEN'
+               AND enrolled_count < max_capacity
+            """, nativeQuery = true)
+    int reserveSeat(@Param("courseId") UUID courseId);
+
+    // Free seats of an open course, locking its row until commit so a batched admission cannot race single enrollments
+    @Query(value = """
+            SELECT max_capacity - enrolled_count
+              FROM course
+             WHERE course_id = :courseId
+               AND state = 'ENROLLMENT_OPEN'
+               FOR UPDATE
+            """, nativeQuery = true)
+    Optional<Integer> lockFreeSeats(@Param("courseId") UUID courseId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE course SET enrolled_count = enrolled_count + :seats WHERE course_id = :courseId", nativeQuery = true)
+    int addSeats(@Param("courseId") UUID courseId, @Param("seats") int seats);
+
+    @Query(value = "SELECT enrolled_count FROM course WHERE course_id = :courseId", nativeQuery = true)
+    Optional<Integer> findEnrolledCount(@Param("courseId") UUID courseId);
+
+    // Courses whose counter disagrees with their active enrollments. A course with a seat reserved by a transaction
+    // that has not committed yet shows up here too; the reconciler re-checks each one under the row lock.
+    @Query(value = """
+            SELECT c.course_id
+              FROM course c
+              LEFT JOIN (SELECT course_id, count(*) AS actual
+                           FROM course_enrollments
+                          WHERE is_deleted = false
+                          GROUP BY course_id) e ON e.course_id = c.course_id
+             WHERE c.enrolled_count <> coalesce(e.actual, 0)
+             LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findCoursesWithEnrolledCountDrift(@Param("limit") int limit);
+
+    @Query(value = "SELECT enrolled_count FROM course WHERE course_id = :courseId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockEnrolledCount(@Param("courseId") UUID courseId);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE course SET enrolled_count = :enrolledCount WHERE course_id = :courseId", nativeQuery = true)
+    int setEnrolledCount(@Param("courseId") UUID courseId, @Param("enrolledCount") int enrolledCount);
 }
@@ -0,0 +1,46 @@
+package com.backend.authsystem.authentication.repository;
+
+import com.backend.authsystem.authentication.entity.CourseEntity;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.util.CourseCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CourseSpecifications {
+
+    // Newest first; course_id breaks ties between courses created in the same microsecond
+    public static final Sort CATALOG_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("courseId"));
+
+    private CourseSpecifications() {
+    }
+
+    // Only the filters that are set become predicates, so each combination gets a plan that can use its index
+    public static Specification<CourseEntity> catalog(CourseState state, Semester semester, String academicYear, CourseCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (state != null) {
+                predicates.add(cb.equal(root.get("state"), state));
+            }
+            if (semester != null) {
+                predicates.add(cb.equal(root.get("semester"), semester));
+            }
+            if (academicYear != null) {
+                predicates.add(cb.equal(root.get("academicYear"), academicYear));
+            }
+            if (after != null) {
+                // (created_at, course_id) < (cursor.created_at, cursor.course_id)
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("createdAt"), after.createdAt()),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), after.createdAt()),
+                                cb.lessThan(root.get("courseId"), after.courseId()))));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
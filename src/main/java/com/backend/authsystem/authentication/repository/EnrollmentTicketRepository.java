@@ -0,0 +1,71 @@
+package com.backend.authsystem.authentication.repository;
+
+import com.backend.authsystem.authentication.entity.EnrollmentTicketEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EnrollmentTicketRepository extends JpaRepository<EnrollmentTicketEntity, UUID> {
+
+    // One ticket per student and course: a resubmission keeps the existing ticket, and only a ticket that can still
+    // succeed on a retry (failed, or submitted while the course was closed) is put back in the queue
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO enrollment_tickets (ticket_id, course_id, student_id, status, submitted_at)
+            VALUES (:ticketId, :courseId, :studentId, 'PENDING', :submittedAt)
+            ON CONFLICT (course_id, student_id) DO UPDATE
+               SET status = 'PENDING',
+                   submitted_at = EXCLUDED.submitted_at,
+                   resolved_at = NULL,
+                   enrollment_id = NULL
+             WHERE enrollment_tickets.status IN ('FAILED', 'ENROLLMENT_CLOSED')
+            """, nativeQuery = true)
+    int enqueue(@Param("ticketId") UUID ticketId,
+                @Param("courseId") UUID courseId,
+                @Param("studentId") UUID studentId,
+                @Param("submittedAt") Instant submittedAt);
+
+    Optional<EnrollmentTicketEntity> findByCourseIdAndStudentId(UUID courseId, UUID studentId);
+
+    @Query(value = "SELECT DISTINCT course_id FROM enrollment_tickets WHERE status = 'PENDING'", nativeQuery = true)
+    List<UUID> findCourseIdsWithPendingTickets();
+
+    // Oldest pending tickets of a course; rows another node is already admitting are skipped rather than waited on
+    @Query(value = """
+            SELECT *
+              FROM enrollment_tickets
+             WHERE course_id = :courseId
+               AND status = 'PENDING'
+             ORDER BY submitted_at
+             LIMIT :limit
+               FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EnrollmentTicketEntity> claimPending(@Param("courseId") UUID courseId, @Param("limit") int limit);
+
+    // Tickets whose batch kept failing are given up on, so the student is told to enqueue again
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE enrollment_tickets
+               SET status = 'FAILED',
+                   resolved_at = :now
+             WHERE status = 'PENDING'
+               AND submitted_at < :cutoff
+            """, nativeQuery = true)
+    int failStalePending(@Param("cutoff") Instant cutoff, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from EnrollmentTicketEntity t where t.resolvedAt < :cutoff")
+    int deleteResolvedBefore(@Param("cutoff") Instant cutoff);
+}
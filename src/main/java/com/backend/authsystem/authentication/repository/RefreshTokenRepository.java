@@ -1,14 +1,63 @@
 package com.backend.authsystem.authentication.repository;
 
+import com.backend.authsystem.authentication.dto.RefreshTokenOwnerRow;
 import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
 import com.backend.authsystem.authentication.entity.AccountEntity;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, UUID> {
     List<RefreshTokenEntity> findAllByMyUser(AccountEntity user);
-    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+    Optional<RefreshTokenEntity> findByTokenHash(byte[] tokenHash);
+
+    // Compare-and-set revoke: only one caller can flip an active token, and the same statement returns
+    // the owner's email and role names so no further reads are needed to mint the next access token.
+    // Not @Modifying: UPDATE ... RETURNING produces a result set.
+    @Transactional
+    @Query(value = """
+            WITH rotated AS (
+                UPDATE my_refresh_tokens
+                   SET revoked = true, revoked_at = :now
+                 WHERE token_hash = :tokenHash
+                   AND revoked = false
+                   AND expires_at > :now
+                RETURNING user_id
+            )
+            SELECT u.user_id AS "userId", u.email AS "email", u.token_generation AS "tokenGeneration",
+                   r.role_name AS "roleName"
+              FROM rotated t
+              JOIN my_users u ON u.user_id = t.user_id
+              LEFT JOIN user_roles ur ON ur.user_id = u.user_id
+              LEFT JOIN roles r ON r.role_id = ur.role_id
+            """, nativeQuery = true)
+    List<RefreshTokenOwnerRow> revokeIfActive(@Param("tokenHash") byte[] tokenHash, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update RefreshTokenEntity t set t.revoked = true, t.revokedAt = :now " +
+            "where t.myUser.userId = :userId and t.revoked = false")
+    int revokeAllActiveForUser(@Param("userId") UUID userId, @Param("now") Instant now);
+
+    // One reaper batch; SKIP LOCKED leaves rows a concurrent refresh or another node's reaper is holding
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM my_refresh_tokens
+             WHERE (token_id, expires_at) IN (
+                   SELECT token_id, expires_at
+                     FROM my_refresh_tokens
+                    WHERE expires_at < :cutoff
+                       OR (revoked AND revoked_at < :cutoff)
+                    LIMIT :batchSize
+                      FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpiredOrRevoked(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,45 @@
+package com.backend.authsystem.authentication.repository;
+
+import com.backend.authsystem.authentication.entity.RevokedAccessTokenEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessTokenEntity, UUID> {
+
+    // Revoking the same token twice is a no-op rather than a merge that reads the row first
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO revoked_access_tokens (jti, user_id, expires_at, revoked_at, reason)
+            VALUES (:jti, :userId, :expiresAt, :revokedAt, :reason)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("jti") UUID jti,
+                       @Param("userId") UUID userId,
+                       @Param("expiresAt") Instant expiresAt,
+                       @Param("revokedAt") Instant revokedAt,
+                       @Param("reason") String reason);
+
+    @Query("select r.jti as jti, r.expiresAt as expiresAt from RevokedAccessTokenEntity r where r.expiresAt > :now")
+    List<RevokedJti> findActive(@Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedAccessTokenEntity r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    interface RevokedJti {
+        UUID getJti();
+
+        Instant getExpiresAt();
+    }
+}
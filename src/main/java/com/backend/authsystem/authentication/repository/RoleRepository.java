@@ -1,13 +1,27 @@
 package com.backend.authsystem.authentication.repository;
 
+import com.backend.authsystem.authentication.dto.RoleWatermark;
 import com.backend.authsystem.authentication.entity.RoleEntity;
 import com.backend.authsystem.authentication.enums.RoleEnum;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RoleRepository extends JpaRepository<RoleEntity, UUID> {
     Optional<RoleEntity> findByRoleName(RoleEnum roleName);
 
+    @EntityGraph(attributePaths = "permissions")
+    Optional<RoleEntity> findWithPermissionsByRoleName(RoleEnum roleName);
+
+    @Query("select distinct r from RoleEntity r left join fetch r.permissions")
+    List<RoleEntity> findAllWithPermissions();
+
+    @Query("select new com.backend.authsystem.authentication.dto.RoleWatermark(count(r), max(coalesce(r.updatedAt, r.createdAt))) " +
+            "from RoleEntity r")
+    RoleWatermark findWatermark();
+
 }
@@ -0,0 +1,37 @@
+package com.backend.authsystem.authentication.repository;
+
+import com.backend.authsystem.authentication.entity.SigningKeyEntity;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKeyEntity, String> {
+
+    @Query("select k from SigningKeyEntity k where k.expiresAt is null or k.expiresAt > :now order by k.activatesAt")
+    List<SigningKeyEntity> findVerifiable(@Param("now") Instant now);
+
+    // Rotation holds this until its transaction ends, so only one node creates a key at a time
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRotationLock(@Param("key") long key);
+
+    @Query(value = "SELECT true FROM pg_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean waitForRotationLock(@Param("key") long key);
+
+    // Every key that is still open-ended stops being verifiable a fixed time after its successor takes over
+    @Modifying
+    @Transactional
+    @Query("update SigningKeyEntity k set k.expiresAt = :expiresAt where k.expiresAt is null and k.kid <> :successor")
+    int expireAllExcept(@Param("successor") String successor, @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from SigningKeyEntity k where k.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -32,7 +32,7 @@ public class RoleSeeder implements ApplicationRunner {
     public void run(ApplicationArguments args) {
 
         // USER
-        RoleEntity normalUser = roleRepository.findByRoleName(RoleEnum.ROLE_USER)
+        RoleEntity normalUser = roleRepository.findWithPermissionsByRoleName(RoleEnum.ROLE_USER)
                 .orElseGet(() -> roleRepository.save(
                 RoleEntity.builder()
                         .roleId(UUID.randomUUID())
@@ -49,7 +49,7 @@ public class RoleSeeder implements ApplicationRunner {
 
         );
                 // STUDENT
-        RoleEntity student = roleRepository.findByRoleName(RoleEnum.ROLE_STUDENT)
+        RoleEntity student = roleRepository.findWithPermissionsByRoleName(RoleEnum.ROLE_STUDENT)
                 .orElseGet(() -> roleRepository.save(
                 RoleEntity.builder()
                         .roleId(UUID.randomUUID())
@@ -74,7 +74,7 @@ public class RoleSeeder implements ApplicationRunner {
 
 
                 // LECTURER
-        RoleEntity lecturer = roleRepository.findByRoleName(RoleEnum.ROLE_LECTURER)
+        RoleEntity lecturer = roleRepository.findWithPermissionsByRoleName(RoleEnum.ROLE_LECTURER)
                 .orElseGet(() -> roleRepository.save(
                         RoleEntity.builder()
                                 .roleId(UUID.randomUUID())
@@ -109,6 +109,7 @@ public class RoleSeeder implements ApplicationRunner {
                 PermissionEnum.COURSE_ENROLLMENT_COUNT,
                 PermissionEnum.COURSE_MATERIAL_DOWNLOAD,
                 PermissionEnum.COURSE_ENROLLMENT_LIST,
+                PermissionEnum.COURSE_ENROLLMENT_IMPORT,
                 PermissionEnum.COURSE_MATERIAL_CREATE,
                 PermissionEnum.COURSE_MATERIAL_UPDATE,
                 PermissionEnum.COURSE_MATERIAL_DELETE,
@@ -119,7 +120,7 @@ public class RoleSeeder implements ApplicationRunner {
 
 
                 // ADMIN (separate)
-        RoleEntity admin = roleRepository.findByRoleName(RoleEnum.ROLE_ADMIN)
+        RoleEntity admin = roleRepository.findWithPermissionsByRoleName(RoleEnum.ROLE_ADMIN)
                 .orElseGet(() -> roleRepository.save(
                         RoleEntity.builder()
                                 .roleId(UUID.randomUUID())
@@ -131,16 +132,22 @@ public class RoleSeeder implements ApplicationRunner {
         add(admin,
                 PermissionEnum.ROLE_ASSIGN,
                 PermissionEnum.PERMISSION_ASSIGN,
-                PermissionEnum.USER_MANAGE
+                PermissionEnum.USER_MANAGE,
+                PermissionEnum.COURSE_ENROLLMENT_IMPORT
         );
     }
 
     private void add(RoleEntity role, PermissionEnum... perms) {
+        int before = role.getPermissions().size();
         for (PermissionEnum p : perms) {
             PermissionEntity perm = permissionRepository.findByPermissionName(p).orElseThrow(() ->
                     new IllegalStateException("Permission not found"));
             role.addPermission(perm);
         }
+        if (role.getPermissions().size() != before) {
+            // a deploy that grants new permissions reaches nodes still running through their AuthorityRegistry poll
+            role.setUpdatedAt(Instant.now());
+        }
         roleRepository.save(role);
     }
 
@@ -0,0 +1,103 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository;
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository.RevokedJti;
+import com.backend.authsystem.authentication.util.BloomFilter;
+import com.backend.authsystem.authentication.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// In-memory copy of revoked_access_tokens. Almost no token is revoked, so the request path is a volatile read
+// plus a Bloom filter probe; only filter hits fall through to the exact map.
+@Slf4j
+@Component
+public class AccessTokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private record Snapshot(BloomFilter filter, int capacity, Map<UUID, Instant> revoked) {
+    }
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final int expectedEntries;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public AccessTokenRevocationList(RevokedAccessTokenRepository revokedAccessTokenRepository,
+                                     @Value("${token.revocation.expected-entries:10000}") int expectedEntries) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.snapshot = build(Map.of());
+    }
+
+    public boolean isRevoked(UUID jti) {
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return !current.revoked().isEmpty()
+                && current.filter().mightContain(jti)
+                && current.revoked().containsKey(jti);
+    }
+
+    // Local revocations apply as soon as they commit; other nodes see them on their next reload
+    public void record(UUID jti, Instant expiresAt) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (writeLock) {
+                Snapshot current = snapshot;
+                Map<UUID, Instant> revoked = new HashMap<>(current.revoked());
+                revoked.put(jti, expiresAt);
+                // the filter is only ever added to, so it can be shared while it has room
+                if (revoked.size() <= current.capacity()) {
+                    current.filter().put(jti);
+                    snapshot = new Snapshot(current.filter(), current.capacity(), Map.copyOf(revoked));
+                } else {
+                    snapshot = build(revoked);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${token.revocation.reload-interval:10s}")
+    public void reload() {
+        Instant now = Instant.now();
+        try {
+            revokedAccessTokenRepository.deleteExpired(now);
+            Map<UUID, Instant> revoked = new HashMap<>();
+            for (RevokedJti row : revokedAccessTokenRepository.findActive(now)) {
+                revoked.put(row.getJti(), row.getExpiresAt());
+            }
+            synchronized (writeLock) {
+                // revocations are never undone, so keep anything recorded locally that the read may have missed
+                snapshot.revoked().forEach((jti, expiresAt) -> {
+                    if (expiresAt.isAfter(now)) {
+                        revoked.putIfAbsent(jti, expiresAt);
+                    }
+                });
+                snapshot = build(revoked);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Access token revocation reload failed: {}", ex.getMessage());
+        }
+    }
+
+    int size() {
+        return snapshot.revoked().size();
+    }
+
+    // sized with headroom so local revocations between reloads keep the false-positive rate near target
+    private Snapshot build(Map<UUID, Instant> revoked) {
+        int capacity = Math.max(expectedEntries, revoked.size() * 2);
+        BloomFilter filter = BloomFilter.create(capacity, FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(filter::put);
+        return new Snapshot(filter, capacity, Map.copyOf(revoked));
+    }
+}
@@ -0,0 +1,35 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.RevokeAccessTokenRequestDto;
+import com.backend.authsystem.authentication.exception.InvalidTokenException;
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccessTokenRevocationService {
+
+    private final JwtService jwtService;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final AccessTokenRevocationList accessTokenRevocationList;
+
+    // The token is verified first so only genuine, unexpired tokens end up in the list
+    @Transactional
+    public void revokeAccessToken(RevokeAccessTokenRequestDto request) {
+        VerifiedToken verified = jwtService.verify(request.token().trim());
+        if (verified.tokenId() == null) {
+            throw new InvalidTokenException("Token has no id and cannot be revoked individually");
+        }
+
+        revokedAccessTokenRepository.insertIfAbsent(
+                verified.tokenId(), verified.userId(), verified.expiresAt(), Instant.now(), request.reason());
+        accessTokenRevocationList.record(verified.tokenId(), verified.expiresAt());
+        log.info("Revoked access token {} of user {}", verified.tokenId(), verified.userId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.AccountCache;
+import com.backend.authsystem.authentication.dto.AccountChangeRow;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Evicts accounts written on other nodes from this node's AccountCache: role assignments, password changes and
+// password upgrades bump my_users.updated_at, and every poll evicts the accounts whose updated_at moved since the
+// previous poll, so another node stops using the old roles or password hash within one poll interval instead of
+// after the cache TTL.
+@Slf4j
+@Component
+public class AccountChangePoller {
+
+    private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
+    private final Duration overlap;
+    // updated_at last seen per account within the overlap window; only the scheduler thread touches it
+    private final Map<String, Instant> seen = new HashMap<>();
+    private Instant watermark = Instant.now();
+
+    public AccountChangePoller(AccountRepository accountRepository,
+                               AccountCache accountCache,
+                               @Value("${cache.accounts.poll-overlap:1m}") Duration overlap) {
+        this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+        this.overlap = overlap;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.accounts.poll-interval:5s}")
+    public void poll() {
+        Instant startedAt = Instant.now();
+        Instant since = watermark.minus(overlap);
+        try {
+            // the overlap covers writes that committed after a previous poll had already read past their timestamp,
+            // and clock skew between the nodes stamping updated_at
+            Set<String> changed = new HashSet<>();
+            for (AccountChangeRow change : accountRepository.findChangesSince(since)) {
+                if (!Objects.equals(seen.put(change.getEmail(), change.getUpdatedAt()), change.getUpdatedAt())) {
+                    changed.add(change.getEmail());
+                }
+            }
+            if (!changed.isEmpty()) {
+                log.debug("Evicting {} accounts changed since {}", changed.size(), since);
+                accountCache.evictChanged(changed);
+            }
+            watermark = startedAt;
+        } catch (DataAccessException ex) {
+            log.warn("Account change poll failed, retrying from {}: {}", watermark, ex.getMessage());
+        }
+        seen.values().removeIf(updatedAt -> !updatedAt.isAfter(since));
+    }
+}
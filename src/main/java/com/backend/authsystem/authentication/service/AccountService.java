@@ -1,6 +1,7 @@
 package com.backend.authsystem.authentication.service;
 
 
+import com.backend.authsystem.authentication.cache.AccountCache;
 import com.backend.authsystem.authentication.config.SecurityEnvironments;
 import com.backend.authsystem.authentication.dto.*;
 import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
@@ -40,11 +41,16 @@ public class AccountService {
     private final AuthenticatedUserService authenticatedUserService;
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
+    private final AccountCache accountCache;
+    private final PasswordUpgradeService passwordUpgradeService;
+    private final AuthorityRegistry authorityRegistry;
+    private final TokenGenerationRegistry tokenGenerationRegistry;
+    private final AuthMetrics authMetrics;
+    private final LoginThrottle loginThrottle;
 
 
     public void createUserService(UserRegisterDto newUser) {
-     Optional<AccountEntity> registeredUsers = accountRepository.findByEmail(newUser.email().trim());
-        if (registeredUsers.isPresent()) {
+        if (accountRepository.existsByEmail(newUser.email().trim())) {
             throw new UserAlreadyExistException("User with this email already exists");
         }
 
@@ -64,13 +70,36 @@ public class AccountService {
         accountRepository.save(user);
     }
 
-    public LoginResponseDto LoginService(UserloginDto loginDto, HttpServletResponse response) {
-        AccountEntity user = accountRepository.findByEmail(loginDto.email().trim())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    public LoginResponseDto LoginService(UserloginDto loginDto, String clientIp, HttpServletResponse response) {
+        long start = System.nanoTime();
+        try {
+            LoginResponseDto login = login(loginDto, clientIp, response);
+            authMetrics.record(AuthMetrics.Stage.LOGIN, AuthMetrics.Outcome.OK, start);
+            return login;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.LOGIN, e, start);
+            throw e;
+        }
+    }
+
+    private LoginResponseDto login(UserloginDto loginDto, String clientIp, HttpServletResponse response) {
+        String email = loginDto.email().trim();
+        // throttled attempts are turned away before any query or hash
+        loginThrottle.acquire(email, clientIp);
+
+        Optional<AccountEntity> account = accountRepository.findWithAuthoritiesByEmail(email);
+        if (account.isEmpty()) {
+            loginThrottle.recordFailure(email, clientIp);
+            throw new UserNotFoundException("User not found");
+        }
+        AccountEntity user = account.get();
 
         if (!passwordEncoder.matches(loginDto.password().trim(), user.getPassword())) {
+            loginThrottle.recordFailure(email, clientIp);
             throw new InvalidCredentialsException("Invalid credentials");
         }
+        loginThrottle.recordSuccess(email, clientIp);
+        passwordUpgradeService.upgradeIfOutdated(user, loginDto.password().trim());
         String refreshToken = jwtService.generateRefreshToken(user);
         ResponseCookie cookie = ResponseCookie.from("refreshToken", refreshToken)
                 .httpOnly(true)
@@ -87,40 +116,76 @@ public class AccountService {
 
     @Transactional
     public RefreshAndAccessToken refreshService(String rawRefreshToken){
-        // 1. Hash the incoming token
-        String hashedToken = HashToken.hashToken(rawRefreshToken);
+        long start = System.nanoTime();
+        try {
+            RefreshAndAccessToken tokens = refresh(rawRefreshToken);
+            authMetrics.record(AuthMetrics.Stage.REFRESH, AuthMetrics.Outcome.OK, start);
+            return tokens;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.REFRESH, e, start);
+            throw e;
+        }
+    }
 
-        // 2. Retrieve stored token
-        RefreshTokenEntity storedToken = refreshTokenRepository.findByTokenHash(hashedToken)
-                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+    private RefreshAndAccessToken refresh(String rawRefreshToken) {
+        // 1. Hash the incoming token
+        byte[] hashedToken = HashToken.hashToken(rawRefreshToken);
 
-        // 3. Validate token
-        if (storedToken.getRevoked()) {
-            throw new InvalidTokenException("Refresh token revoked");
-        }
-        // Check expiration
-        if (storedToken.getExpiresAt().isBefore(Instant.now())) {
-            throw new InvalidTokenException("Refresh token expired");
+        // 2. Revoke it if still active and read the owner, in one statement; concurrent refreshes of
+        //    the same token race on this row and only one gets the owner back
+        List<RefreshTokenOwnerRow> owner = refreshTokenRepository.revokeIfActive(hashedToken, Instant.now());
+        if (owner.isEmpty()) {
+            throw rejectedRefresh(hashedToken);
         }
 
-        // 4. Generate new tokens
-        storedToken.setRevoked(true);
-        storedToken.setRevokedAt(Instant.now());
-        refreshTokenRepository.save(storedToken);
-
-        String newRefreshTokenPlain = jwtService.generateRefreshToken(storedToken.getMyUser());
-        String newAccessToken = jwtService.generateAccessTokenFromUser(storedToken.getMyUser());
+        UUID userId = owner.get(0).getUserId();
+        String email = owner.get(0).getEmail();
+        int generation = owner.get(0).getTokenGeneration();
+        EnumSet<RoleEnum> roles = EnumSet.noneOf(RoleEnum.class);
+        owner.stream()
+                .map(RefreshTokenOwnerRow::getRoleName)
+                .filter(Objects::nonNull)
+                .forEach(roleName -> roles.add(RoleEnum.valueOf(roleName)));
+
+        // 3. Generate new tokens: one INSERT, permissions come from the shared role registry
+        String newRefreshTokenPlain = jwtService.generateRefreshToken(accountRepository.getReferenceById(userId));
+        String newAccessToken = jwtService.generateAccessToken(
+                userId,
+                email,
+                generation,
+                roles.stream().map(Enum::name).toList(),
+                authorityRegistry.permissionNames(roles));
         return new RefreshAndAccessToken(newRefreshTokenPlain, newAccessToken);
 
     }
 
+    // Failure path only: one extra read to tell the caller why the token was refused
+    private InvalidTokenException rejectedRefresh(byte[] hashedToken) {
+        return refreshTokenRepository.findByTokenHash(hashedToken)
+                .map(token -> Boolean.TRUE.equals(token.getRevoked())
+                        ? new InvalidTokenException("Refresh token revoked")
+                        : new InvalidTokenException("Refresh token expired"))
+                .orElseGet(() -> new InvalidTokenException("Invalid refresh token"));
+    }
+
 
     @Transactional
     public void logout(String rawRefreshToken) {
+        long start = System.nanoTime();
+        try {
+            revokeRefreshToken(rawRefreshToken);
+            authMetrics.record(AuthMetrics.Stage.LOGOUT, AuthMetrics.Outcome.OK, start);
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.LOGOUT, e, start);
+            throw e;
+        }
+    }
+
+    private void revokeRefreshToken(String rawRefreshToken) {
         if (rawRefreshToken == null || rawRefreshToken.isBlank()) {
             throw new MissingTokenException("Refresh token cannot be null or blank");
         }
-        String tokenHash = HashToken.hashToken(rawRefreshToken);
+        byte[] tokenHash = HashToken.hashToken(rawRefreshToken);
 
         RefreshTokenEntity token = refreshTokenRepository.findByTokenHash(tokenHash)
                 .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
@@ -133,30 +198,39 @@ public class AccountService {
 
     @Transactional
     public void logoutAll(String userEmail) {
-        AccountEntity user = accountRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
-
-        List<RefreshTokenEntity> tokens = refreshTokenRepository.findAllByMyUser(user);
+        long start = System.nanoTime();
+        try {
+            revokeAllSessions(userEmail);
+            authMetrics.record(AuthMetrics.Stage.LOGOUT_ALL, AuthMetrics.Outcome.OK, start);
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.LOGOUT_ALL, e, start);
+            throw e;
+        }
+    }
 
-        tokens.forEach(token -> {
-            token.setRevoked(true);
-            token.setRevokedAt(Instant.now());
-        });
+    // Two bulk statements regardless of how many tokens the user has: bump the generation so live access
+    // tokens stop being accepted, and revoke every active refresh token
+    private void revokeAllSessions(String email) {
+        Instant now = Instant.now();
+        TokenGenerationRow bumped = accountRepository.incrementTokenGeneration(email, now)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        refreshTokenRepository.saveAll(tokens);
+        refreshTokenRepository.revokeAllActiveForUser(bumped.getUserId(), now);
+        tokenGenerationRegistry.record(bumped.getUserId(), bumped.getTokenGeneration());
     }
 
 
     // ACCOUNT_VIEW
     public AccountResponseDto getMyAccount() {
         String email = authenticatedUserService.getCurrentUserEmail();
-        AccountEntity account = accountRepository.findByEmail(email)
+        AccountEntity account = accountRepository.findWithAuthoritiesByEmail(email)
                 .orElseThrow(() -> new IllegalStateException("Account not found"));
 
         return accountMapper.toResponse(account);
     }
 
 
+    @Transactional
     public void changePassword(ChangePasswordRequestDto dto) {
         String email = authenticatedUserService.getCurrentUserEmail();
         AccountEntity account = accountRepository.findByEmail(email)
@@ -167,7 +241,11 @@ public class AccountService {
         }
 
         account.setPassword(passwordEncoder.encode(dto.newPassword()));
+        // other nodes notice the new updated_at on their next AccountChangePoller poll
+        account.setUpdatedAt(Instant.now());
         accountRepository.save(account);
+        revokeAllSessions(email);
+        accountCache.evict(email);
     }
 
 
@@ -0,0 +1,12 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.EnrollmentResponseDto;
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+
+// Outcome for one student of a batched admission; enrollment is set only when admitted
+public record Admission(EnrollmentTicketStatus status, EnrollmentResponseDto enrollment) {
+
+    static Admission of(EnrollmentTicketStatus status) {
+        return new Admission(status, null);
+    }
+}
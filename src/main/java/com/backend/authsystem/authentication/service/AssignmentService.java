@@ -4,7 +4,6 @@ package com.backend.authsystem.authentication.service;
 import com.backend.authsystem.authentication.dto.assignment.AssignmentCreateRequestDto;
 import com.backend.authsystem.authentication.dto.assignment.AssignmentResponseDto;
 import com.backend.authsystem.authentication.dto.assignment.AssignmentUpdateRequestDto;
-import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.entity.AssignmentEntity;
 import com.backend.authsystem.authentication.entity.CourseEntity;
 import com.backend.authsystem.authentication.enums.AssignmentState;
@@ -50,7 +49,7 @@ public class AssignmentService {
 
     public AssignmentResponseDto createAssignment(AssignmentCreateRequestDto request) {
         log.info("User requested to create assignment {}", request.courseId());
-     AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+     CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         CourseEntity course = getCourseEntity(request.courseId());
         log.debug("Fetched course entity to create assignment: {}", course.getTitle());
@@ -60,15 +59,15 @@ public class AssignmentService {
             throw new CourseStateException("Course not open for assignment");
         }
 
-        if (!course.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized assignment creation attempt by user {} for course {}", currentUser.getUserId(), course.getCourseId());
+        if (!course.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized assignment creation attempt by user {} for course {}", currentUser.userId(), course.getCourseId());
             throw new AssignmentPermissionException("Only the course lecturer can create assignments for this course");
         }
 
         AssignmentEntity assignment = AssignmentMapper.createDraftAssignment(request, course);
 
      AssignmentEntity  savedAssignment =   assignmentRepository.save(assignment);
-        log.info("User {} created assignment '{}' for course {}", currentUser.getUserId(), request.title(), course.getCourseId());
+        log.info("User {} created assignment '{}' for course {}", currentUser.userId(), request.title(), course.getCourseId());
 
         return AssignmentMapper.toResponseDto(savedAssignment);
     }
@@ -77,7 +76,7 @@ public class AssignmentService {
     public AssignmentResponseDto updateAssignment(UUID assignmentId, AssignmentUpdateRequestDto request) {
 
         log.info("User requested update for assignment {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched assignment entity to update assignment: {}", assignment.getAssignmentId());
@@ -87,13 +86,13 @@ public class AssignmentService {
             throw new AssignmentStateException("Assignment cannot be updated in current state");
         }
 
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized assignment update attempt by user {} on assignment {}", currentUser.getUserId(), assignment.getAssignmentId());
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized assignment update attempt by user {} on assignment {}", currentUser.userId(), assignment.getAssignmentId());
             throw new AssignmentPermissionException("Only the assignment owner can update this assignment");
         }
 
         AssignmentMapper.updateEntity(request, assignment);
-        log.info("User {} updated assignment {} for course {}", currentUser.getUserId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
+        log.info("User {} updated assignment {} for course {}", currentUser.userId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
 
         return AssignmentMapper.toResponseDto(assignment);
     }
@@ -103,7 +102,7 @@ public class AssignmentService {
 
     public AssignmentResponseDto publishAssignment(UUID assignmentId) {
         log.info("User requested publish assignment {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched course entity to publish assignment: {}", assignment.getAssignmentId());
@@ -129,13 +128,13 @@ public class AssignmentService {
         }
 
         // --- Owner check ---
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
             throw new AssignmentPermissionException("You do not have permission to publish this assignment");
         }
 
         // --- Publish ---
         assignment.setState(AssignmentState.PUBLISHED);
-        log.info("User {} published assignment {} for course {}", currentUser.getUserId(), assignment.getAssignmentId(), course.getCourseId());
+        log.info("User {} published assignment {} for course {}", currentUser.userId(), assignment.getAssignmentId(), course.getCourseId());
 
         return AssignmentMapper.toResponseDto(assignment);
     }
@@ -143,7 +142,7 @@ public class AssignmentService {
 
     public AssignmentResponseDto closeSubmissions(UUID assignmentId) {
         log.info("User requested close assignment submission {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched assignment entity to close assignment submission: {}", assignment.getAssignmentId());
@@ -154,20 +153,20 @@ public class AssignmentService {
         }
 
         // Ownership check
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized attempt by user {} to close submissions for assignment {}", currentUser.getUserId(), assignment.getAssignmentId());
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized attempt by user {} to close submissions for assignment {}", currentUser.userId(), assignment.getAssignmentId());
             throw new AssignmentPermissionException("You do not have the permission to  close submissions");
         }
 
         assignment.setState(AssignmentState.SUBMISSION_CLOSED);
-        log.info("User {} closed submissions for assignment {} (course {})", currentUser.getUserId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
+        log.info("User {} closed submissions for assignment {} (course {})", currentUser.userId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
         return AssignmentMapper.toResponseDto(assignment);
     }
 
 
     public AssignmentResponseDto startGrading(UUID assignmentId) {
         log.info("User requested to start grading assignment submission {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched assignment entity to start grading assignment: {}", assignment.getAssignmentId());
@@ -177,19 +176,19 @@ public class AssignmentService {
             throw new AssignmentStateException("Cannot start grading assignment submissions");
         }
 
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized attempt by user {} to start grading assignment submissions for assignment {}", currentUser.getUserId(), assignment.getAssignmentId());
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized attempt by user {} to start grading assignment submissions for assignment {}", currentUser.userId(), assignment.getAssignmentId());
             throw new AssignmentPermissionException("You do not have the permission to start grading this assignment");
         }
 
         assignment.setState(AssignmentState.GRADING_IN_PROGRESS);
-        log.info("User {} start grading assignment submissions for assignment {} (course {})", currentUser.getUserId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
+        log.info("User {} start grading assignment submissions for assignment {} (course {})", currentUser.userId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
         return AssignmentMapper.toResponseDto(assignment);
     }
 
     public AssignmentResponseDto markAsGraded(UUID assignmentId) {
         log.info("User requested to mark  assignment as graded {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched assignment entity to mark assignment as graded: {}", assignment);
@@ -199,19 +198,19 @@ public class AssignmentService {
             throw new AssignmentStateException("Cannot mark assignment as graded");
         }
 
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized attempt by user {} to mark assignment submissions as graded {}", currentUser.getUserId(), assignment.getAssignmentId());
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized attempt by user {} to mark assignment submissions as graded {}", currentUser.userId(), assignment.getAssignmentId());
             throw new AssignmentPermissionException("You do not have the permission to grade assignment");
         }
 
         assignment.setState(AssignmentState.GRADED);
-        log.info("User {} mark assignment submissions as graded {} (course {})", currentUser.getUserId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
+        log.info("User {} mark assignment submissions as graded {} (course {})", currentUser.userId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
         return AssignmentMapper.toResponseDto(assignment);
     }
 
     public AssignmentResponseDto archiveAssignment(UUID assignmentId) {
         log.info("User requested to archive  assignment {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched assignment entity to mark as archive: {}", assignment);
@@ -221,25 +220,25 @@ public class AssignmentService {
             throw new AssignmentStateException("Cannot archive assignment");
         }
 
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized attempt by user {} to archive assignment{}", currentUser.getUserId(), assignment.getAssignmentId());
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized attempt by user {} to archive assignment{}", currentUser.userId(), assignment.getAssignmentId());
             throw new AssignmentPermissionException("You do not have the permission to archive assignment");
         }
 
         assignment.setState(AssignmentState.ARCHIVED);
-        log.info("User {} mark assignment as archive {} (course {})", currentUser.getUserId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
+        log.info("User {} mark assignment as archive {} (course {})", currentUser.userId(), assignment.getAssignmentId(), assignment.getCourse().getCourseId());
         return AssignmentMapper.toResponseDto(assignment);
     }
 
     public AssignmentResponseDto viewAssignment(UUID assignmentId) {
         log.info("User requested to view assignment {}", assignmentId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         AssignmentEntity assignment = getAssignmentEntity(assignmentId);
         log.debug("Fetched assignment entity to view courses: {}", assignment.getAssignmentId());
         ///  Check whether student is enrolled in the course or lecturer is the owner of the assignment
-        if (currentUser.getUserId() == null || !assignment.getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.warn("Unauthorized user with id{} to view assignment{}", currentUser.getUserId(), assignment.getAssignmentId());
+        if (currentUser.userId() == null || !assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized user with id{} to view assignment{}", currentUser.userId(), assignment.getAssignmentId());
             throw new AssignmentPermissionException("You do not have the permission to view assignment");
         }
         return AssignmentMapper.toResponseDto(assignment);
@@ -81,11 +81,11 @@ public class AssignmentSubmissionService {
         }
 
         // 2️⃣ Validate student exists
-       AccountEntity student = accountRepository.findByUserId(studentId)
-                .orElseThrow(() -> {
-                    log.warn("Student not found: {}", studentId);
-                    return new UserNotFoundException("Student not found");
-                });
+        if (!accountRepository.existsByUserId(studentId)) {
+            log.warn("Student not found: {}", studentId);
+            throw new UserNotFoundException("Student not found");
+        }
+        AccountEntity student = accountRepository.getReferenceById(studentId);
 
         // TODO: enforce student is enrolled in course
 
@@ -165,29 +165,22 @@ public class AssignmentSubmissionService {
                 submission.getStudent().getUserId());
 
         // Get current user
-        AccountEntity currentAuthUser = authenticatedUserService.getCurrentUserAccount();
-        if (currentAuthUser.getUserId() == null) {
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+        if (currentUser.userId() == null) {
             log.warn("Unauthenticated access attempt for submissionId={}", submissionId);
             throw new InvalidTokenException("Unauthenticated access");
         }
 
-        AccountEntity currentUser = accountRepository.findByUserId(currentAuthUser.getUserId())
-                .orElseThrow(() -> {
-                    log.warn("Authenticated user not found in DB: userId={}", currentAuthUser.getUserId());
-                    return new UserNotFoundException("User not found");
-                });
-
-        log.info("Current user: userId={}, role(s)={}", currentUser.getUserId(), currentUser.getRoles());
 
         // Check permissions
-        boolean isStudentViewingOwn = submission.getStudent().getUserId().equals(currentUser.getUserId());
-        boolean isLecturerViewingCourse = submission.getAssignment().getLecturer().getUserId().equals(currentUser.getUserId());
+        boolean isStudentViewingOwn = submission.getStudent().getUserId().equals(currentUser.userId());
+        boolean isLecturerViewingCourse = submission.getAssignment().getLecturer().getUserId().equals(currentUser.userId());
 
         if (!(isStudentViewingOwn || isLecturerViewingCourse)) {
-            log.warn("User {} attempted unauthorized access to submission {}", currentUser.getUserId(), submissionId);
+            log.warn("User {} attempted unauthorized access to submission {}", currentUser.userId(), submissionId);
             throw new PermissionNotFoundException("You are not allowed to view this submission");
         }
-        log.info("User {} authorized to view submission {}", currentUser.getUserId(), submissionId);
+        log.info("User {} authorized to view submission {}", currentUser.userId(), submissionId);
         return new AssignmentSubmissionResponseDto(
                 submission.getSubmissionId(),
                 submission.getAssignment().getAssignmentId(),
@@ -218,19 +211,12 @@ public class AssignmentSubmissionService {
         log.info("Assignment found: assignmentId={}, title={}", assignment.getAssignmentId(), assignment.getTitle());
 
         // 2️⃣ Get current authenticated user
-        AccountEntity currentAuthUser = authenticatedUserService.getCurrentUserAccount();
-        if (currentAuthUser.getUserId() == null) {
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+        if (currentUser.userId() == null) {
             log.warn("Unauthenticated access attempt for assignmentId={}", assignmentId);
             throw new InvalidTokenException("Unauthenticated access");
         }
 
-        AccountEntity currentUser = accountRepository.findByUserId(currentAuthUser.getUserId())
-                .orElseThrow(() -> {
-                    log.warn("Authenticated user not found in DB for this method: userId={}", currentAuthUser.getUserId());
-                    return new UserNotFoundException("User not found");
-                });
-
-        log.info("Current user detail: userId={}, role(s)={}", currentUser.getUserId(), currentUser.getRoles());
 
         // 3️⃣ Fetch all submissions
         List<AssignmentSubmissionEntity> submissions = assignmentSubmissionRepository.findAllByAssignment_AssignmentId(assignmentId);
@@ -239,14 +225,14 @@ public class AssignmentSubmissionService {
         // 4️⃣ Filter submissions based on permissions
         List<AssignmentSubmissionEntity> authorizedSubmissions = submissions.stream()
                 .filter(sub -> {
-                    boolean isStudentViewingOwn = sub.getStudent().getUserId().equals(currentUser.getUserId());
-                    boolean isLecturerOfCourse = sub.getAssignment().getLecturer().getUserId().equals(currentUser.getUserId());
+                    boolean isStudentViewingOwn = sub.getStudent().getUserId().equals(currentUser.userId());
+                    boolean isLecturerOfCourse = sub.getAssignment().getLecturer().getUserId().equals(currentUser.userId());
                     return isStudentViewingOwn || isLecturerOfCourse;
                 })
                 .peek(sub -> log.debug("Authorized submissionId={} for studentId={}", sub.getSubmissionId(), sub.getStudent().getUserId()))
                 .toList();
 
-        log.info("Returning {} authorized submission(s) for userId={}", authorizedSubmissions.size(), currentUser.getUserId());
+        log.info("Returning {} authorized submission(s) for userId={}", authorizedSubmissions.size(), currentUser.userId());
 
         // 5️⃣ Map to response DTOs
         return authorizedSubmissions.stream()
@@ -297,14 +283,14 @@ public class AssignmentSubmissionService {
         }
 
         // 4️⃣ Ownership check
-        AccountEntity currentAuthUser = authenticatedUserService.getCurrentUserAccount();
-        if (currentAuthUser.getUserId() == null) {
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+        if (currentUser.userId() == null) {
             log.warn("Unauthenticated grading attempt for submissionId={}", submissionId);
             throw new InvalidTokenException("Unauthenticated access");
         }
 
-        if (!assignment.getLecturer().getUserId().equals(currentAuthUser.getUserId())) {
-            log.warn("Unauthorized grading attempt by user {} on submission {}", currentAuthUser.getUserId(), submissionId);
+        if (!assignment.getLecturer().getUserId().equals(currentUser.userId())) {
+            log.warn("Unauthorized grading attempt by user {} on submission {}", currentUser.userId(), submissionId);
             throw new SecurityException("Only the lecturer  can grade submissions");
         }
 
@@ -312,7 +298,7 @@ public class AssignmentSubmissionService {
         submission.setMarks(marks);
         submission.setFeedback(feedback);
 
-        log.info("Submission graded successfully: submissionId={}, gradedBy={}, marks={}", submissionId, currentAuthUser.getUserId(), marks);
+        log.info("Submission graded successfully: submissionId={}, gradedBy={}, marks={}", submissionId, currentUser.userId(), marks);
 
         return new AssignmentSubmissionResponseDto(
                 submission.getSubmissionId(),
@@ -0,0 +1,131 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.exception.InvalidCredentialsException;
+import com.backend.authsystem.authentication.exception.InvalidTokenException;
+import com.backend.authsystem.authentication.exception.TooManyLoginAttemptsException;
+import com.backend.authsystem.authentication.exception.UserNotFoundException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Per-stage latency of the authentication path as auth.stage{stage, outcome}, scraped from /actuator/prometheus.
+// Timers are resolved once per stage/outcome pair and then read from an array, so a recording costs two
+// nanoTime calls and a timer update; nothing is allocated on the request path.
+@Component
+public class AuthMetrics {
+
+    public enum Stage {
+        FILTER_AUTHENTICATE("filter.authenticate"),
+        FILTER_VERIFY("filter.verify"),
+        FILTER_REVOCATION("filter.revocation"),
+        FILTER_USER_LOOKUP("filter.user-lookup"),
+        FILTER_AUTHORITIES("filter.authorities"),
+        FILTER_CHAIN("filter.chain"),
+        JWT_SIGN("jwt.sign"),
+        JWT_PARSE("jwt.parse"),
+        USER_DETAILS_LOAD("user-details.load"),
+        LOGIN("login"),
+        REFRESH("refresh"),
+        LOGOUT("logout"),
+        LOGOUT_ALL("logout-all");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum Outcome {
+        OK("ok"),
+        EXPIRED("expired"),
+        INVALID("invalid"),
+        REVOKED("revoked"),
+        USER_MISSING("user-missing"),
+        BAD_CREDENTIALS("bad-credentials"),
+        THROTTLED("throttled"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final int OUTCOMES = Outcome.values().length;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean histogram;
+    private final AtomicReferenceArray<Timer> timers = new AtomicReferenceArray<>(Stage.values().length * OUTCOMES);
+
+    @Autowired
+    public AuthMetrics(MeterRegistry meterRegistry,
+                       @Value("${metrics.auth.histogram:true}") boolean histogram) {
+        this.meterRegistry = meterRegistry;
+        this.histogram = histogram;
+    }
+
+    // An empty composite hands out no-op timers, for code built outside the application context
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new CompositeMeterRegistry(), false);
+    }
+
+    public void record(Stage stage, Outcome outcome, long startNanos) {
+        timer(stage, outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void record(Stage stage, Throwable failure, long startNanos) {
+        record(stage, outcomeOf(failure), startNanos);
+    }
+
+    public static Outcome outcomeOf(Throwable failure) {
+        if (failure instanceof ExpiredJwtException) {
+            return Outcome.EXPIRED;
+        }
+        if (failure instanceof JwtException || failure instanceof InvalidTokenException) {
+            return Outcome.INVALID;
+        }
+        if (failure instanceof UsernameNotFoundException || failure instanceof UserNotFoundException) {
+            return Outcome.USER_MISSING;
+        }
+        if (failure instanceof InvalidCredentialsException) {
+            return Outcome.BAD_CREDENTIALS;
+        }
+        if (failure instanceof TooManyLoginAttemptsException) {
+            return Outcome.THROTTLED;
+        }
+        return Outcome.ERROR;
+    }
+
+    // Registered lazily so pairs that never happen do not show up as empty series
+    private Timer timer(Stage stage, Outcome outcome) {
+        int index = stage.ordinal() * OUTCOMES + outcome.ordinal();
+        Timer timer = timers.get(index);
+        if (timer == null) {
+            Timer.Builder builder = Timer.builder("auth.stage")
+                    .description("Latency of one stage of the authentication path")
+                    .tag("stage", stage.tag)
+                    .tag("outcome", outcome.tag);
+            if (histogram) {
+                builder.publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000))
+                        .maximumExpectedValue(Duration.ofSeconds(5));
+            }
+            // the registry returns the same meter for the same id, so a lost race is harmless
+            timer = builder.register(meterRegistry);
+            timers.set(index, timer);
+        }
+        return timer;
+    }
+}
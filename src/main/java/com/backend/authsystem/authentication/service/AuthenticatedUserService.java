@@ -1,6 +1,7 @@
 package com.backend.authsystem.authentication.service;
 
 
+import com.backend.authsystem.authentication.cache.AccountCache;
 import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.exception.UserNotFoundException;
 import com.backend.authsystem.authentication.repository.AccountRepository;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Service;
 public class AuthenticatedUserService {
 
     private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
 
 
     public String getCurrentUserEmail() {
@@ -27,15 +29,46 @@ public class AuthenticatedUserService {
         return auth.getName();
     }
 
+    // Read from the principal the filter put in the SecurityContext; only principals of another kind
+    // (e.g. a test's mock user) fall back to the account lookup
+    public CurrentUser getCurrentUser() {
+        Authentication auth = SecurityContextHolder
+                .getContext()
+                .getAuthentication();
+        if (auth == null) {
+            throw new UserNotFoundException("User not found");
+        }
+        if (auth.getPrincipal() instanceof JwtPrincipal principal) {
+            return new CurrentUser(principal.userId(), principal.email(), auth.getAuthorities());
+        }
+        if (auth.getPrincipal() instanceof CustomUserDetails details) {
+            return new CurrentUser(details.user().getUserId(), details.user().getEmail(), auth.getAuthorities());
+        }
+        AccountEntity account = getCurrentUserAccount();
+        return new CurrentUser(account.getUserId(), account.getEmail(), auth.getAuthorities());
+    }
+
+    // Uninitialised proxy for assigning the caller to a relation; no SELECT unless a non-id field is read
+    public AccountEntity getCurrentUserReference() {
+        return accountRepository.getReferenceById(getCurrentUser().userId());
+    }
+
     public AccountEntity getCurrentUserAccount() {
+        Authentication auth = SecurityContextHolder
+                .getContext()
+                .getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails details) {
+            return details.user();
+        }
+
         String email = getCurrentUserEmail();
         log.info("Fetching authenticated user from security context: {}", email);
 
-        return accountRepository.findByEmail(email)
+        return accountCache.get(email, key -> accountRepository.findWithAuthoritiesByEmail(key)
                 .orElseThrow(() -> {
-                    log.error("Authenticated user not found in DB: {}", email);
+                    log.error("Authenticated user not found in DB: {}", key);
                     return new UserNotFoundException("User not found");
-                });
+                }));
     }
 
 }
@@ -0,0 +1,168 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.RoleWatermark;
+import com.backend.authsystem.authentication.entity.PermissionEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import com.backend.authsystem.authentication.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// One immutable, shared authority set per role, plus cached unions for the role combinations users actually hold.
+// Role sets are rebuilt from the database only after role permissions change: at once on the node that made the
+// change, and on every other node when its poll sees the roles watermark (role count, latest updated_at) move.
+@Slf4j
+@Component
+public class AuthorityRegistry {
+
+    private static final int MAX_CLAIM_COMBINATIONS = 1024;
+    private static final Set<String> ROLE_NAMES = Arrays.stream(RoleEnum.values())
+            .map(Enum::name)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private record Snapshot(long version,
+                            RoleWatermark watermark,
+                            Map<RoleEnum, Set<GrantedAuthority>> roleAuthorities,
+                            ConcurrentMap<Set<RoleEnum>, Set<GrantedAuthority>> unions) {
+    }
+
+    private record ClaimKey(List<String> roles, List<String> permissions) {
+    }
+
+    private final RoleRepository roleRepository;
+    private final ConcurrentMap<String, GrantedAuthority> interned = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ClaimKey, Set<GrantedAuthority>> claimAuthorities = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public AuthorityRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    public GrantedAuthority authority(String name) {
+        return interned.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    public Set<GrantedAuthority> forRoles(Collection<RoleEntity> roles) {
+        EnumSet<RoleEnum> roleNames = EnumSet.noneOf(RoleEnum.class);
+        for (RoleEntity role : roles) {
+            roleNames.add(role.getRoleName());
+        }
+        return forRoleNames(roleNames);
+    }
+
+    public Set<GrantedAuthority> forRoleNames(Set<RoleEnum> roleNames) {
+        // the snapshot holds every role in the table, so a role missing from it is answered from the snapshot too
+        // (role name only) instead of rebuilding per call; a role created later arrives with the next poll
+        Snapshot current = current();
+        Map<RoleEnum, Set<GrantedAuthority>> roleAuthorities = current.roleAuthorities();
+        Set<RoleEnum> key = roleNames.isEmpty() ? EnumSet.noneOf(RoleEnum.class) : EnumSet.copyOf(roleNames);
+        return current.unions().computeIfAbsent(key, names -> {
+            Set<GrantedAuthority> union = new HashSet<>();
+            for (RoleEnum name : names) {
+                union.addAll(roleAuthorities.getOrDefault(name, Set.of(authority(name.name()))));
+            }
+            return Set.copyOf(union);
+        });
+    }
+
+    // Permission names granted by the given roles, without the role names themselves
+    public List<String> permissionNames(Set<RoleEnum> roleNames) {
+        List<String> permissions = new ArrayList<>();
+        for (GrantedAuthority authority : forRoleNames(roleNames)) {
+            String name = authority.getAuthority();
+            if (!ROLE_NAMES.contains(name)) {
+                permissions.add(name);
+            }
+        }
+        return permissions;
+    }
+
+    // Claims-only mode: the token is the authority snapshot, only the objects are shared
+    public Set<GrantedAuthority> forClaims(List<String> roles, List<String> permissions) {
+        ClaimKey key = new ClaimKey(roles, permissions);
+        Set<GrantedAuthority> cached = claimAuthorities.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (claimAuthorities.size() >= MAX_CLAIM_COMBINATIONS) {
+            claimAuthorities.clear();
+        }
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        roles.forEach(role -> authorities.add(authority(role)));
+        permissions.forEach(permission -> authorities.add(authority(permission)));
+        Set<GrantedAuthority> shared = Set.copyOf(authorities);
+        claimAuthorities.putIfAbsent(key, shared);
+        return shared;
+    }
+
+    // Called when role permissions change; the next lookup rebuilds from committed data
+    public void invalidate() {
+        TransactionCallbacks.afterCommit(this::invalidateNow);
+    }
+
+    @Scheduled(fixedDelayString = "${authority.registry.poll-interval:10s}")
+    public void poll() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        try {
+            RoleWatermark latest = roleRepository.findWatermark();
+            if (!Objects.equals(latest, current.watermark())) {
+                log.info("Role permissions changed ({} -> {}), rebuilding authority sets", current.watermark(), latest);
+                invalidateNow();
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Role watermark poll failed: {}", ex.getMessage());
+        }
+    }
+
+    private void invalidateNow() {
+        version.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        long buildVersion = version.get();
+        // read before the roles: a change landing in between is then seen again by the next poll, never missed
+        RoleWatermark watermark = roleRepository.findWatermark();
+        Snapshot built = new Snapshot(buildVersion, watermark, build(), new ConcurrentHashMap<>());
+        synchronized (this) {
+            // publish only if no invalidation happened while we were reading
+            if (version.get() == buildVersion) {
+                snapshot = built;
+            }
+        }
+        return built;
+    }
+
+    private Map<RoleEnum, Set<GrantedAuthority>> build() {
+        Map<RoleEnum, Set<GrantedAuthority>> roleAuthorities = new EnumMap<>(RoleEnum.class);
+        for (RoleEntity role : roleRepository.findAllWithPermissions()) {
+            Set<GrantedAuthority> authorities = new HashSet<>();
+            authorities.add(authority(role.getRoleName().name()));
+            for (PermissionEntity permission : role.getPermissions()) {
+                authorities.add(authority(permission.getPermissionName().name()));
+            }
+            roleAuthorities.put(role.getRoleName(), Set.copyOf(authorities));
+        }
+        log.debug("Built authority sets for {} role(s)", roleAuthorities.size());
+        return Collections.unmodifiableMap(roleAuthorities);
+    }
+}
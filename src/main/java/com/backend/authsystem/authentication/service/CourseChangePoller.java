@@ -0,0 +1,66 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.CourseCache;
+import com.backend.authsystem.authentication.dto.CourseChangeRow;
+import com.backend.authsystem.authentication.repository.CourseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+// Evicts courses written on other nodes from this node's CourseCache: every poll reads the courses whose updated_at
+// moved since the previous poll and evicts the ones not seen at that timestamp yet, so a state change (and its new
+// ETag) reaches every node within one poll interval instead of after the cache TTL.
+@Slf4j
+@Component
+public class CourseChangePoller {
+
+    private final CourseRepository courseRepository;
+    private final CourseCache courseCache;
+    private final Duration overlap;
+    // updated_at last seen per course within the overlap window; only the scheduler thread touches it
+    private final Map<UUID, Instant> seen = new HashMap<>();
+    private Instant watermark = Instant.now();
+
+    public CourseChangePoller(CourseRepository courseRepository,
+                              CourseCache courseCache,
+                              @Value("${cache.courses.poll-overlap:1m}") Duration overlap) {
+        this.courseRepository = courseRepository;
+        this.courseCache = courseCache;
+        this.overlap = overlap;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.courses.poll-interval:5s}")
+    public void poll() {
+        Instant startedAt = Instant.now();
+        Instant since = watermark.minus(overlap);
+        try {
+            // the overlap covers writes that committed after a previous poll had already read past their timestamp,
+            // and clock skew between the nodes stamping updated_at
+            Set<UUID> changed = new HashSet<>();
+            for (CourseChangeRow change : courseRepository.findChangesSince(since)) {
+                if (!Objects.equals(seen.put(change.getCourseId(), change.getUpdatedAt()), change.getUpdatedAt())) {
+                    changed.add(change.getCourseId());
+                }
+            }
+            if (!changed.isEmpty()) {
+                log.debug("Evicting {} courses changed since {}", changed.size(), since);
+                courseCache.evictChanged(changed);
+            }
+            watermark = startedAt;
+        } catch (DataAccessException ex) {
+            log.warn("Course change poll failed, retrying from {}: {}", watermark, ex.getMessage());
+        }
+        seen.values().removeIf(updatedAt -> !updatedAt.isAfter(since));
+    }
+}
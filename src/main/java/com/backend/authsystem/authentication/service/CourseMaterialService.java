@@ -3,7 +3,6 @@ package com.backend.authsystem.authentication.service;
 
 import com.backend.authsystem.authentication.dto.course_material.CreateAndUpdateRequestDto;
 import com.backend.authsystem.authentication.dto.course_material.MaterialResponseDto;
-import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.entity.CourseEntity;
 import com.backend.authsystem.authentication.entity.CourseMaterialEntity;
 import com.backend.authsystem.authentication.enums.CourseMaterialType;
@@ -58,25 +57,25 @@ public class CourseMaterialService {
                 .orElseThrow(() -> new CourseNotFoundException("Course not found"));
         log.info("Course found: id={}, title={}", course.getCourseId(), course.getTitle());
 
-        AccountEntity currentAuthUser = authenticatedUserService.getCurrentUserAccount();
-        log.info("Authenticated user: userId={}", currentAuthUser.getUserId());
+        CurrentUser currentAuthUser = authenticatedUserService.getCurrentUser();
+        log.info("Authenticated user: userId={}", currentAuthUser.userId());
 
-        if (!course.getLecturer().getUserId().equals(currentAuthUser.getUserId())) {
+        if (!course.getLecturer().getUserId().equals(currentAuthUser.userId())) {
             log.warn("User {} attempted to create material for course {} but is not the lecturer",
-                    currentAuthUser.getUserId(), courseId);
+                    currentAuthUser.userId(), courseId);
             throw new CourseStateException("You are not the lecturer for this course");
         }
 
         if (!course.getState().equals(CourseState.PUBLISHED)) {
             log.warn("User {} attempted to create material for unpublished course {}",
-                    currentAuthUser.getUserId(), courseId);
+                    currentAuthUser.userId(), courseId);
             throw new CourseStateException("Course is not published");
         }
 
         String savedFilePath = null;
         validateMaterialType(request.materialType(), request.videoUrl());
         if(request.materialType() == CourseMaterialType.FILE && file != null && !file.isEmpty()) {
-            log.info("Processing file upload for course material creation:  userId={}", currentAuthUser.getUserId());
+            log.info("Processing file upload for course material creation:  userId={}", currentAuthUser.userId());
 
             if (file.getSize() > maxFileSize.toBytes()) {
                 log.warn("File size {} exceeds max allowed {} for course material creation {}", file.getSize(), maxFileSize, courseId);
@@ -90,7 +89,7 @@ public class CourseMaterialService {
 
             // 5️⃣ Upload to local storage
 
-            String objectKey = "course-materials/" + courseId + "/" + currentAuthUser.getUserId() + "/" + UUID.randomUUID();
+            String objectKey = "course-materials/" + courseId + "/" + currentAuthUser.userId() + "/" + UUID.randomUUID();
             String sanitizedFileName = sanitizeFileName(file.getOriginalFilename());
             Path directoryPath = Paths.get(uploadDirectory, objectKey);
             try {
@@ -101,7 +100,7 @@ public class CourseMaterialService {
                 log.info("File saved locally at: {}", filePath);
             } catch (IOException e) {
                 log.error("Failed to save file locally: studentId={}, assignmentId={}, error={}",
-                        currentAuthUser.getUserId(), courseId, e.getMessage());
+                        currentAuthUser.userId(), courseId, e.getMessage());
                 throw new RuntimeException("Failed to save file", e);
             }
         }
@@ -112,7 +111,7 @@ public class CourseMaterialService {
                 .filePath(savedFilePath)
                 .videoUrl(request.materialType() == CourseMaterialType.VIDEO_LINK ? request.videoUrl() : null)
                 .course(course)
-                .uploadedBy(currentAuthUser)
+                .uploadedBy(authenticatedUserService.getCurrentUserReference())
                 .build();
 
         material = materialRepository.save(material);
@@ -140,19 +139,19 @@ public class CourseMaterialService {
                 .orElseThrow(() -> new CourseNotFoundException("Course material not found"));
         log.info("Course material found: materialId={}, title={}", material.getId(), material.getTitle());
 
-        AccountEntity currentAuthUser = authenticatedUserService.getCurrentUserAccount();
-        log.info("Authenticated user doing the update: userId={}", currentAuthUser.getUserId());
+        CurrentUser currentAuthUser = authenticatedUserService.getCurrentUser();
+        log.info("Authenticated user doing the update: userId={}", currentAuthUser.userId());
 
         // 3️⃣ Validate ownership and course state
-        if (!course.getLecturer().getUserId().equals(currentAuthUser.getUserId())) {
+        if (!course.getLecturer().getUserId().equals(currentAuthUser.userId())) {
             log.warn("User {} attempted to update material {} for course {} but is not the lecturer",
-                    currentAuthUser.getUserId(), materialId, courseId);
+                    currentAuthUser.userId(), materialId, courseId);
             throw new CourseStateException("You are not the lecturer for this course");
         }
 
         if (!course.getState().equals(CourseState.PUBLISHED)) {
             log.warn("User {} attempted to update material {} for unpublished {}",
-                    currentAuthUser.getUserId(), materialId, courseId);
+                    currentAuthUser.userId(), materialId, courseId);
             throw new CourseStateException("Course is not published ");
         }
         String savedFilePath = material.getFilePath();
@@ -166,7 +165,7 @@ public class CourseMaterialService {
         }
 
         if(EditRequest.materialType() == CourseMaterialType.FILE && file != null && !file.isEmpty()) {
-            log.info("Processing file upload for course material update: materialId={}, userId={}", materialId, currentAuthUser.getUserId());
+            log.info("Processing file upload for course material update: materialId={}, userId={}", materialId, currentAuthUser.userId());
 
             if (file.getSize() > maxFileSize.toBytes()) {
                 log.warn("File size {} exceeds max allowed {} for course material update {}", file.getSize(), maxFileSize, courseId);
@@ -180,7 +179,7 @@ public class CourseMaterialService {
 
             // 5️⃣ Upload to local storage
 
-            String objectKey = "course-materials/" + courseId + "/" + currentAuthUser.getUserId() + "/" + UUID.randomUUID();
+            String objectKey = "course-materials/" + courseId + "/" + currentAuthUser.userId() + "/" + UUID.randomUUID();
             String sanitizedFileName = sanitizeFileName(file.getOriginalFilename());
             Path directoryPath = Paths.get(uploadDirectory, objectKey);
             try {
@@ -194,7 +193,7 @@ public class CourseMaterialService {
 
             } catch (IOException e) {
                 log.error("Failed to save file locally during update: studentId={}, assignmentId={}, error={}",
-                        currentAuthUser.getUserId(), courseId, e.getMessage());
+                        currentAuthUser.userId(), courseId, e.getMessage());
                 throw new RuntimeException("Failed to save file", e);
             }
         }
@@ -219,8 +218,8 @@ public class CourseMaterialService {
 
     @Transactional
     public void deleteMaterial(UUID materialId) {
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
-        UUID lecturerId = currentUser.getUserId();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+        UUID lecturerId = currentUser.userId();
 
         log.info("Lecturer {} requested deletion of material {}", lecturerId, materialId);
 
@@ -233,7 +232,7 @@ public class CourseMaterialService {
                 });
 
         // 3️⃣ Check ownership
-        if (!material.getCourse().getLecturer().getUserId().equals(currentUser.getUserId())) {
+        if (!material.getCourse().getLecturer().getUserId().equals(currentUser.userId())) {
             log.warn("Lecturer {} attempted to delete material {} without permission", lecturerId, materialId);
             throw new CourseStateException("You are not allowed to delete this material");
         }
@@ -247,23 +246,23 @@ public class CourseMaterialService {
 
         public List<MaterialResponseDto> getMaterialsByCourse(UUID courseId) {
         log.info("Fetching materials for courseId={}", courseId);
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
-        log.info("Authenticated user fetching materials: userId={}", currentUser.getUserId());
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+        log.info("Authenticated user fetching materials: userId={}", currentUser.userId());
 
         // 1️⃣ Check if user is allowed to access materials (student enrolled OR lecturer)
         boolean isLecturer = courseRepository.findByCourseId(courseId)
-                .map(course -> course.getLecturer().getUserId().equals(currentUser.getUserId()))
+                .map(course -> course.getLecturer().getUserId().equals(currentUser.userId()))
                 .orElse(false);
 
         boolean isStudentEnrolled = courseEnrollmentRepository
-                .existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(courseId, currentUser.getUserId());
+                .existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(courseId, currentUser.userId());
 
         if (!isLecturer && !isStudentEnrolled) {
             log.warn("User {} attempted to access materials for course {} but is not enrolled or lecturer",
-                    currentUser.getUserId(), courseId);
+                    currentUser.userId(), courseId);
             throw new EnrollmentConflictException("You are not enrolled in this course");
         }
-        log.info("User {} is authorized to access materials for course {}", currentUser.getUserId(), courseId);
+        log.info("User {} is authorized to access materials for course {}", currentUser.userId(), courseId);
 
         // 2️⃣ Fetch materials
         List<CourseMaterialEntity> materials = materialRepository.findAllByCourse_CourseIdAndIsDeletedFalse(courseId);
@@ -292,26 +291,26 @@ public class CourseMaterialService {
                     return new CourseNotFoundException("Material not found");
                 });
 
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
         UUID courseId = material.getCourse().getCourseId();
 
-        if (material.getCourse().getLecturer().getUserId().equals(currentUser.getUserId())) {
-            log.info("Lecturer {} accessing material {}", currentUser.getUserId(), materialId);
+        if (material.getCourse().getLecturer().getUserId().equals(currentUser.userId())) {
+            log.info("Lecturer {} accessing material {}", currentUser.userId(), materialId);
             return CourseMaterialMapper.toResponse(material);
         }
 
 
         boolean enrolled = courseEnrollmentRepository
-                .existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(courseId, currentUser.getUserId());
+                .existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(courseId, currentUser.userId());
 
         if (!enrolled) {
             log.warn("User {} attempted to access material {} but is not enrolled in course {}",
-                    currentUser.getUserId(), materialId, courseId);
+                    currentUser.userId(), materialId, courseId);
             throw new EnrollmentConflictException("You are not enrolled in this course");
         }
 
         log.info("Student {} accessing material {} for course {}",
-                currentUser.getUserId(), materialId, courseId);
+                currentUser.userId(), materialId, courseId);
 
         return CourseMaterialMapper.toResponse(material);
     }
@@ -322,7 +321,7 @@ public class CourseMaterialService {
 
         log.info("Download request for materialId={}", materialId);
 
-        AccountEntity currentUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
 
         CourseMaterialEntity material = materialRepository
                 .findByIdAndIsDeletedFalse(materialId)
@@ -334,16 +333,16 @@ public class CourseMaterialService {
         CourseEntity course = material.getCourse();
 
         boolean isLecturer = course.getLecturer().getUserId()
-                .equals(currentUser.getUserId());
+                .equals(currentUser.userId());
 
         boolean isStudent = courseEnrollmentRepository
                 .existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(
                         course.getCourseId(),
-                        currentUser.getUserId()
+                        currentUser.userId()
                 );
 
         if (!isLecturer && !isStudent) {
-            log.warn("Unauthorized access attempt by user={}", currentUser.getUserId());
+            log.warn("Unauthorized access attempt by user={}", currentUser.userId());
             throw new CourseMaterialStateException("You are not allowed to access this material");
         }
 
@@ -355,7 +354,7 @@ public class CourseMaterialService {
             throw new CourseMaterialNotFoundException("File not found");
         }
 
-        log.info("Material {} downloaded by user {}", materialId, currentUser.getUserId());
+        log.info("Material {} downloaded by user {}", materialId, currentUser.userId());
 
         return resource;
     }
@@ -1,17 +1,22 @@
 package com.backend.authsystem.authentication.service;
 
 
+import com.backend.authsystem.authentication.cache.CourseCache;
 import com.backend.authsystem.authentication.dto.course.CourseCreateRequestDto;
+import com.backend.authsystem.authentication.dto.course.CoursePageResponseDto;
 import com.backend.authsystem.authentication.dto.course.CourseResponseDto;
 import com.backend.authsystem.authentication.dto.course.CourseUpdateRequestDto;
 import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.entity.CourseEntity;
 import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
 import com.backend.authsystem.authentication.exception.CourseNotFoundException;
 import com.backend.authsystem.authentication.exception.InvalidCourseStateException;
 import com.backend.authsystem.authentication.mapper.CourseMapper;
 
 import com.backend.authsystem.authentication.repository.CourseRepository;
+import com.backend.authsystem.authentication.repository.CourseSpecifications;
+import com.backend.authsystem.authentication.util.CourseCursor;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +24,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,8 +31,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class CourseService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CourseRepository courseRepository;
     private final AuthenticatedUserService authenticatedUserService;
+    private final CourseCache courseCache;
 
 
     //helper
@@ -44,13 +52,14 @@ public class CourseService {
 
 
     public CourseResponseDto createCourse(CourseCreateRequestDto request) {
-        AccountEntity user = authenticatedUserService.getCurrentUserAccount();
+        AccountEntity user = authenticatedUserService.getCurrentUserReference();
 
         CourseEntity course = CourseMapper.toEntity(request, user);
         log.debug("Mapped CourseCreateRequestDto to Course entity: {}", course.getCourseId());
 
       courseRepository.save(course);
-        log.info("Course {} created successfully by user {}", course.getCourseId(), user.getEmail());
+        log.info("Course {} created successfully by user {}", course.getCourseId(), user.getUserId());
+        courseCache.evictCatalog();
 
         return CourseMapper.toResponse(course);
     }
@@ -58,8 +67,6 @@ public class CourseService {
 
     public CourseResponseDto  updateCourse(UUID courseId, CourseUpdateRequestDto request) {
         log.info("User requested update for course {}", courseId);
-         authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for update: {}", course.getCourseId());
 
@@ -70,14 +77,13 @@ public class CourseService {
 
         CourseMapper.updateEntity(course, request);
         log.debug("Course entity after update mapping: {}", course.getCourseId());
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
 
     public CourseResponseDto publishCourse(UUID courseId) {
         log.info("User requested publish for course {}", courseId);
-          authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for publishing: {}", course.getCourseId());
 
@@ -91,6 +97,7 @@ public class CourseService {
         log.info("Course {} published successfully", courseId);
         log.debug("Course entity after publishing: {}", course.getCourseId());
 
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
@@ -99,8 +106,6 @@ public class CourseService {
     public CourseResponseDto openEnrollment(UUID courseId) {
         log.info("User requested enrollment for course {}", courseId);
 
-        authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for enrollment: {}", course.getCourseId());
 
@@ -115,14 +120,13 @@ public class CourseService {
         log.info("Course {} enrolled successfully", courseId);
         log.debug("Course entity after enrollment: {}", course.getCourseId());
 
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
     
     public CourseResponseDto closeEnrollment(UUID courseId) {
         log.info("User requested close enrollment for course {}", courseId);
-        authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for close enrollment: {}", course.getCourseId());
 
@@ -135,13 +139,12 @@ public class CourseService {
         log.info("Course {} close enrollment successfully", courseId);
         log.debug("Course entity after close enrollment: {}", course.getCourseId());
 
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
     public CourseResponseDto startCourse(UUID courseId) {
         log.info("User requested start course {}", courseId);
-        authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for start course: {}", course.getCourseId());
 
@@ -154,13 +157,12 @@ public class CourseService {
         log.info("Course {} started successfully", courseId);
         log.debug("Course entity after start course: {}", course.getCourseId());
 
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
     public CourseResponseDto completeCourse(UUID courseId) {
         log.info("User requested course completion {}", courseId);
-        authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for course completion: {}", course.getCourseId());
 
@@ -173,13 +175,12 @@ public class CourseService {
         log.info("Course {} completed successfully", courseId);
         log.debug("Course entity after course completion: {}", course.getCourseId());
 
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
     public CourseResponseDto archiveCourse(UUID courseId) {
         log.info("User requested course archive {}", courseId);
-        authenticatedUserService.getCurrentUserAccount();
-
         CourseEntity course = getCourseEntity(courseId);
         log.debug("Fetched course entity for course archive: {}", course.getCourseId());
 
@@ -192,27 +193,43 @@ public class CourseService {
         log.info("Course {} archived successfully", courseId);
         log.debug("Course entity after course archive: {}", course.getCourseId());
 
+        courseCache.evict(courseId);
         return CourseMapper.toResponse(course);
     }
 
-    public CourseResponseDto getCourseById(UUID courseId) {
+    // Cache hits never open a transaction, so they take no connection from the pool
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public CourseCache.Versioned<CourseResponseDto> getCourseById(UUID courseId) {
         log.info("User requested course details {}", courseId);
-        return CourseMapper.toResponse(getCourseEntity(courseId));
+        return courseCache.course(courseId, id -> CourseMapper.toResponse(getCourseEntity(id)));
     }
 
-    public List<CourseResponseDto> getAllCourses() {
-        log.info("Fetching all courses");
+    // One page of the catalog, newest first; reads pageSize + 1 rows to know whether another page exists
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public CourseCache.Versioned<CoursePageResponseDto> getCourses(CourseState state, Semester semester, String academicYear, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        CourseCursor after = cursor == null || cursor.isBlank() ? null : CourseCursor.decode(cursor);
+        return courseCache.page(state, semester, academicYear, after == null ? null : cursor, pageSize,
+                () -> loadPage(state, semester, academicYear, after, pageSize));
+    }
 
-        List<CourseEntity> courses = courseRepository.findAll();
-        log.debug("Fetched {} course entities from database", courses.size());
+    private CoursePageResponseDto loadPage(CourseState state, Semester semester, String academicYear, CourseCursor after, int pageSize) {
+        log.info("Fetching course page: state={}, semester={}, academicYear={}, size={}", state, semester, academicYear, pageSize);
 
-        List<CourseResponseDto> responses = courses.stream()
-                .map(CourseMapper::toResponse)
-                .collect(Collectors.toList());
+        List<CourseEntity> courses = courseRepository.findBy(
+                CourseSpecifications.catalog(state, semester, academicYear, after),
+                query -> query.sortBy(CourseSpecifications.CATALOG_ORDER).limit(pageSize + 1).all());
 
-        log.info("Returning {} courses to client", responses.size());
+        boolean hasMore = courses.size() > pageSize;
+        List<CourseEntity> page = hasMore ? courses.subList(0, pageSize) : courses;
+        String nextCursor = null;
+        if (hasMore) {
+            CourseEntity last = page.get(page.size() - 1);
+            nextCursor = new CourseCursor(last.getCreatedAt(), last.getCourseId()).encode();
+        }
 
-        return responses;
+        log.info("Returning {} courses to client, more={}", page.size(), hasMore);
+        return new CoursePageResponseDto(page.stream().map(CourseMapper::toResponse).toList(), nextCursor);
     }
 
 
@@ -0,0 +1,21 @@
+package com.backend.authsystem.authentication.service;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// The caller as JwtAuthenticationFilter already resolved them: enough for ownership and authority checks
+public record CurrentUser(UUID userId,
+                          String email,
+                          Collection<? extends GrantedAuthority> authorities) {
+
+    public boolean hasAuthority(String authority) {
+        for (GrantedAuthority granted : authorities) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
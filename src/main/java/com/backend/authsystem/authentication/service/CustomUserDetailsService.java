@@ -1,5 +1,6 @@
 package com.backend.authsystem.authentication.service;
 
+import com.backend.authsystem.authentication.cache.AccountCache;
 import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.repository.AccountRepository;
 
@@ -14,16 +15,30 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements  UserDetailsService {
 
         private final AccountRepository userRepository;
+        private final AccountCache accountCache;
+        private final AuthorityRegistry authorityRegistry;
+        private final AuthMetrics authMetrics;
 
-        public CustomUserDetailsService(AccountRepository userRepository) {
+        public CustomUserDetailsService(AccountRepository userRepository, AccountCache accountCache, AuthorityRegistry authorityRegistry, AuthMetrics authMetrics) {
             this.userRepository = userRepository;
+            this.accountCache = accountCache;
+            this.authorityRegistry = authorityRegistry;
+            this.authMetrics = authMetrics;
         }
 
         @Override
         public @NotNull UserDetails loadUserByUsername(@NotNull String email) {
-            AccountEntity user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            return new CustomUserDetails(user);
+            long start = System.nanoTime();
+            try {
+                AccountEntity user = accountCache.get(email, key -> userRepository.findWithAuthoritiesByEmail(key)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+                UserDetails details = new CustomUserDetails(user, authorityRegistry.forRoles(user.getRoles()));
+                authMetrics.record(AuthMetrics.Stage.USER_DETAILS_LOAD, AuthMetrics.Outcome.OK, start);
+                return details;
+            } catch (RuntimeException e) {
+                authMetrics.record(AuthMetrics.Stage.USER_DETAILS_LOAD, e, start);
+                throw e;
+            }
         }
 
 
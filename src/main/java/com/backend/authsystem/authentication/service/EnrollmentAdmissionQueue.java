@@ -0,0 +1,137 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.EnrollmentQueueEnvironments;
+import com.backend.authsystem.authentication.dto.EnrollmentTicketDto;
+import com.backend.authsystem.authentication.dto.course.CourseResponseDto;
+import com.backend.authsystem.authentication.entity.EnrollmentTicketEntity;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.exception.CourseStateException;
+import com.backend.authsystem.authentication.exception.EnrollmentNotFoundException;
+import com.backend.authsystem.authentication.repository.EnrollmentTicketRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Queued admission for registration rushes: an enrollment request only writes a ticket and returns, and a scheduled
+// worker admits each course's oldest tickets in batches through EnrollmentService.admitQueued, so a burst of
+// thousands of requests becomes a few batched writes instead of thousands of concurrent transactions.
+// Tickets live in the enrollment_tickets table, so any node can answer a poll, a restart loses nothing, and every
+// node's worker drains the same queue; capacity is still enforced by the course row lock and seat counter.
+@Slf4j
+@Component
+public class EnrollmentAdmissionQueue {
+
+    private final EnrollmentService enrollmentService;
+    private final CourseService courseService;
+    private final AuthenticatedUserService authenticatedUserService;
+    private final EnrollmentTicketRepository ticketRepository;
+    private final EnrollmentQueueEnvironments environments;
+    private final Timer batchDuration;
+
+    public EnrollmentAdmissionQueue(EnrollmentService enrollmentService,
+                                    CourseService courseService,
+                                    AuthenticatedUserService authenticatedUserService,
+                                    EnrollmentTicketRepository ticketRepository,
+                                    EnrollmentQueueEnvironments environments,
+                                    MeterRegistry meterRegistry) {
+        this.enrollmentService = enrollmentService;
+        this.courseService = courseService;
+        this.authenticatedUserService = authenticatedUserService;
+        this.ticketRepository = ticketRepository;
+        this.environments = environments;
+        this.batchDuration = Timer.builder("enrollment.queue.batch")
+                .description("Time taken to admit one batch of queued enrollments")
+                .register(meterRegistry);
+    }
+
+    public EnrollmentTicketDto submit(UUID courseId) {
+        if (!environments.isEnabled()) {
+            throw new CourseStateException("Queued enrollment is not enabled");
+        }
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+
+        // served from the course cache, so a rush on one course does not become one course query per request
+        CourseResponseDto course = courseService.getCourseById(courseId).value();
+        if (course.state() != CourseState.ENROLLMENT_OPEN) {
+            throw new CourseStateException("Course enrollment is not open");
+        }
+
+        // a student who already holds a ticket for the course, pending or resolved, gets that ticket back
+        UUID ticketId = UUID.randomUUID();
+        if (ticketRepository.enqueue(ticketId, courseId, currentUser.userId(), Instant.now()) == 0) {
+            log.info("Enrollment ticket already issued: studentId={} courseId={}", currentUser.userId(), courseId);
+        }
+        EnrollmentTicketEntity ticket = ticketRepository.findByCourseIdAndStudentId(courseId, currentUser.userId())
+                .orElseThrow(() -> new EnrollmentNotFoundException("Enrollment ticket not found"));
+        log.info("Queued enrollment ticket={} studentId={} courseId={}", ticket.getTicketId(), currentUser.userId(), courseId);
+        return toDto(ticket);
+    }
+
+    public EnrollmentTicketDto ticket(UUID ticketId) {
+        EnrollmentTicketEntity ticket = ticketRepository.findById(ticketId).orElse(null);
+        // someone else's ticket is reported as missing rather than forbidden
+        if (ticket == null || !ticket.getStudentId().equals(authenticatedUserService.getCurrentUser().userId())) {
+            throw new EnrollmentNotFoundException("Enrollment ticket not found");
+        }
+        return toDto(ticket);
+    }
+
+    public int retryAfterSeconds() {
+        return environments.getRetryAfterSeconds();
+    }
+
+    // One batch per course per pass, so a hot course cannot starve the others
+    @Scheduled(fixedDelayString = "${enrollment.queue.drain-interval:100ms}")
+    public void drain() {
+        if (!environments.isEnabled()) {
+            return;
+        }
+        List<UUID> courseIds;
+        try {
+            courseIds = ticketRepository.findCourseIdsWithPendingTickets();
+        } catch (DataAccessException ex) {
+            log.warn("Enrollment queue poll failed: {}", ex.getMessage());
+            return;
+        }
+        for (UUID courseId : courseIds) {
+            Timer.Sample sample = Timer.start();
+            try {
+                enrollmentService.admitQueued(courseId, environments.getBatchSize());
+            } catch (RuntimeException ex) {
+                // the batch rolled back and its tickets are still pending, so the next pass retries them
+                log.warn("Batch admission failed for courseId={}: {}", courseId, ex.getMessage());
+            } finally {
+                sample.stop(batchDuration);
+            }
+        }
+    }
+
+    // Tickets still pending after ticket-ttl are failed so their students enqueue again, and resolved tickets are
+    // kept for ticket-ttl to be polled before they are deleted
+    @Scheduled(fixedDelayString = "${enrollment.queue.cleanup-interval:1m}")
+    public void expire() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(environments.getTicketTtl());
+        try {
+            int failed = ticketRepository.failStalePending(cutoff, now);
+            int deleted = ticketRepository.deleteResolvedBefore(cutoff);
+            if (failed > 0 || deleted > 0) {
+                log.info("Enrollment tickets expired: failed={} deleted={}", failed, deleted);
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Enrollment ticket cleanup failed: {}", ex.getMessage());
+        }
+    }
+
+    private static EnrollmentTicketDto toDto(EnrollmentTicketEntity ticket) {
+        return new EnrollmentTicketDto(ticket.getTicketId(), ticket.getCourseId(), ticket.getStatus(),
+                ticket.getSubmittedAt(), ticket.getResolvedAt(), ticket.getEnrollmentId());
+    }
+}
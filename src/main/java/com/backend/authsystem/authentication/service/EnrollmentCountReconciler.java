@@ -0,0 +1,57 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.repository.CourseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+// Safety net for course.enrolled_count: finds courses whose counter disagrees with their active enrollments
+// (a manual fix in the database, a write path that bypassed the counter) and recounts each in its own short transaction
+@Slf4j
+@Component
+public class EnrollmentCountReconciler {
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentService enrollmentService;
+    private final int batchSize;
+    private final Counter corrected;
+
+    public EnrollmentCountReconciler(CourseRepository courseRepository,
+                                     EnrollmentService enrollmentService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${enrollment.count.reconcile-batch-size:500}") int batchSize) {
+        this.courseRepository = courseRepository;
+        this.enrollmentService = enrollmentService;
+        this.batchSize = batchSize;
+        this.corrected = Counter.builder("enrollment.count.corrected")
+                .description("Courses whose maintained enrolled count had drifted and was recounted")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.count.reconcile-interval:15m}",
+            initialDelayString = "${enrollment.count.reconcile-initial-delay:2m}")
+    public void reconcile() {
+        int fixed = 0;
+        try {
+            List<UUID> drifted = courseRepository.findCoursesWithEnrolledCountDrift(batchSize);
+            for (UUID courseId : drifted) {
+                if (enrollmentService.reconcileEnrolledCount(courseId) != 0) {
+                    fixed++;
+                    corrected.increment();
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Enrolled count reconciliation stopped after {} courses: {}", fixed, ex.getMessage());
+        }
+        if (fixed > 0) {
+            log.info("Reconciled enrolled count of {} courses", fixed);
+        }
+    }
+}
@@ -1,25 +1,43 @@
 package com.backend.authsystem.authentication.service;
 
 
+import com.backend.authsystem.authentication.dto.BulkEnrollmentReportDto;
+import com.backend.authsystem.authentication.dto.BulkEnrollmentRowDto;
+import com.backend.authsystem.authentication.dto.EnrollmentCandidate;
 import com.backend.authsystem.authentication.dto.EnrollmentResponseDto;
-import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.entity.CourseEnrollmentEntity;
 import com.backend.authsystem.authentication.entity.CourseEntity;
+import com.backend.authsystem.authentication.entity.EnrollmentTicketEntity;
+import com.backend.authsystem.authentication.enums.BulkEnrollmentStatus;
 import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+import com.backend.authsystem.authentication.enums.PermissionEnum;
 import com.backend.authsystem.authentication.exception.CourseNotFoundException;
 import com.backend.authsystem.authentication.exception.CourseStateException;
 import com.backend.authsystem.authentication.exception.EnrollmentConflictException;
 import com.backend.authsystem.authentication.exception.EnrollmentNotFoundException;
+import com.backend.authsystem.authentication.exception.InvalidEnrollmentImportException;
 import com.backend.authsystem.authentication.mapper.EnrollmentMapper;
+import com.backend.authsystem.authentication.repository.AccountRepository;
 import com.backend.authsystem.authentication.repository.CourseEnrollmentRepository;
 import com.backend.authsystem.authentication.repository.CourseRepository;
+import com.backend.authsystem.authentication.repository.EnrollmentTicketRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,13 +45,17 @@ import java.util.stream.Collectors;
 @Transactional
 @Slf4j
 public class EnrollmentService {
+    private static final int MAX_IMPORT_ROWS = 10_000;
+
     private final CourseRepository courseRepository;
     private final CourseEnrollmentRepository enrollmentRepository;
+    private final AccountRepository accountRepository;
+    private final EnrollmentTicketRepository ticketRepository;
     private final AuthenticatedUserService authenticatedUserService;
 
     public EnrollmentResponseDto enrollStudent(UUID courseId) {
         log.info("Enrollment request:  for courseId={}", courseId);
-        AccountEntity currentAuthUser = authenticatedUserService.getCurrentUserAccount();
+        CurrentUser currentAuthUser = authenticatedUserService.getCurrentUser();
 
         // 1️⃣ Check course exists
         CourseEntity course = courseRepository.findByCourseId(courseId)
@@ -49,41 +71,237 @@ public class EnrollmentService {
         }
         log.info("Course enrollment is open for courseId={}", courseId);
 
-        if (enrollmentRepository.existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(courseId, currentAuthUser.getUserId())) {
-            log.warn("Student already enrolled: studentId={} courseId={}", currentAuthUser.getUserId(), courseId);
+        if (enrollmentRepository.existsByCourse_CourseIdAndStudent_UserIdAndIsDeletedFalse(courseId, currentAuthUser.userId())) {
+            log.warn("Student already enrolled: studentId={} courseId={}", currentAuthUser.userId(), courseId);
             throw new EnrollmentConflictException("Student already enrolled");
         }
-        log.info("Student not enrolled yet: studentId={}", currentAuthUser.getUserId());
+        log.info("Student not enrolled yet: studentId={}", currentAuthUser.userId());
 
-        // 4️⃣ Check capacity
-        long enrolledCount = enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId);
-        log.info("Current enrolled count={} for courseId={}", enrolledCount, courseId);
-        if (enrolledCount >= course.getMaxCapacity()) {
+        // 4️⃣ Reserve a seat; the conditional update is the capacity check, so concurrent enrollers cannot overbook
+        if (courseRepository.reserveSeat(courseId) == 0) {
             log.warn("Course capacity reached: courseId={} capacity={}", courseId, course.getMaxCapacity());
             throw new CourseStateException("Course capacity reached");
         }
 
         // 5️⃣ Get authenticated student
-        log.info("Authenticated student: userId={}", currentAuthUser.getUserId());
+        log.info("Authenticated student: userId={}", currentAuthUser.userId());
 
-        // 6️⃣ Create enrollment
+        // 6️⃣ Create enrollment; a duplicate that slipped past the exists check rolls the seat back with it
         CourseEnrollmentEntity enrollment = CourseEnrollmentEntity.builder()
                 .course(course)
-                .student(currentAuthUser)
+                .student(authenticatedUserService.getCurrentUserReference())
                 .build();
-        enrollment = enrollmentRepository.save(enrollment);
+        try {
+            enrollment = enrollmentRepository.saveAndFlush(enrollment);
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("Concurrent duplicate enrollment: studentId={} courseId={}", currentAuthUser.userId(), courseId);
+            throw new EnrollmentConflictException("Student already enrolled");
+        }
         log.info("Enrollment created: enrollmentId={}", enrollment.getEnrollmentId());
 
         // 7️⃣ Return response
         return EnrollmentMapper.toResponse(enrollment);
     }
 
+    // Admits a drained batch of queued students in arrival order under one course-row lock: existing enrollments are
+    // skipped, seats go to the earliest tickets, and the inserts are written as one JDBC batch
+    public Map<UUID, Admission> admitBatch(UUID courseId, List<UUID> studentIds) {
+        return admit(courseId, studentIds, courseRepository.lockFreeSeats(courseId));
+    }
+
+    // Admits the oldest pending tickets of a course and records each outcome on its ticket, all in one transaction:
+    // if the batch fails its tickets stay pending for the next pass. The course row is locked before the tickets are
+    // claimed, so nodes draining the same course take turns and seats still go out in arrival order.
+    public int admitQueued(UUID courseId, int batchSize) {
+        Optional<Integer> freeSeats = courseRepository.lockFreeSeats(courseId);
+        List<EnrollmentTicketEntity> tickets = ticketRepository.claimPending(courseId, batchSize);
+        if (tickets.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, Admission> admissions =
+                admit(courseId, tickets.stream().map(EnrollmentTicketEntity::getStudentId).toList(), freeSeats);
+        Instant now = Instant.now();
+        for (EnrollmentTicketEntity ticket : tickets) {
+            Admission admission = admissions.getOrDefault(ticket.getStudentId(), Admission.of(EnrollmentTicketStatus.FAILED));
+            ticket.setStatus(admission.status());
+            ticket.setResolvedAt(now);
+            ticket.setEnrollmentId(admission.enrollment() == null ? null : admission.enrollment().enrollmentId());
+        }
+        return tickets.size();
+    }
+
+    private Map<UUID, Admission> admit(UUID courseId, List<UUID> studentIds, Optional<Integer> freeSeats) {
+        Map<UUID, Admission> admissions = new HashMap<>();
+        if (freeSeats.isEmpty()) {
+            log.warn("Batch admission for closed or missing course: courseId={} tickets={}", courseId, studentIds.size());
+            studentIds.forEach(studentId -> admissions.put(studentId, Admission.of(EnrollmentTicketStatus.ENROLLMENT_CLOSED)));
+            return admissions;
+        }
+
+        Set<UUID> enrolled = enrollmentRepository.findStudentIdsByCourseIdAndStudentIdIn(courseId, studentIds);
+        CourseEntity course = courseRepository.getReferenceById(courseId);
+        List<CourseEnrollmentEntity> enrollments = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (UUID studentId : studentIds) {
+            if (!seen.add(studentId)) {
+                continue;
+            }
+            if (enrolled.contains(studentId)) {
+                admissions.put(studentId, Admission.of(EnrollmentTicketStatus.ALREADY_ENROLLED));
+            } else if (enrollments.size() >= freeSeats.get()) {
+                admissions.put(studentId, Admission.of(EnrollmentTicketStatus.COURSE_FULL));
+            } else {
+                enrollments.add(CourseEnrollmentEntity.builder()
+                        .course(course)
+                        .student(accountRepository.getReferenceById(studentId))
+                        .build());
+            }
+        }
+
+        if (!enrollments.isEmpty()) {
+            enrollmentRepository.saveAll(enrollments);
+            courseRepository.addSeats(courseId, enrollments.size());
+            for (CourseEnrollmentEntity enrollment : enrollments) {
+                admissions.put(enrollment.getStudent().getUserId(),
+                        new Admission(EnrollmentTicketStatus.ADMITTED, EnrollmentMapper.toResponse(enrollment)));
+            }
+        }
+        log.info("Batch admission for courseId={}: tickets={} admitted={} freeSeats={}",
+                courseId, studentIds.size(), enrollments.size(), freeSeats.get());
+        return admissions;
+    }
+
+    // Cohort import: entries are resolved with two set-based account lookups, which also tell students from other
+    // accounts, then admitted in one batch through admitBatch, so thousands of students cost a handful of statements
+    // instead of thousands of enroll calls
+    public BulkEnrollmentReportDto importEnrollments(UUID courseId, List<String> entries) {
+        log.info("Enrollment import request: courseId={} entries={}", courseId, entries.size());
+        if (entries.isEmpty()) {
+            throw new InvalidEnrollmentImportException("No students to import");
+        }
+        if (entries.size() > MAX_IMPORT_ROWS) {
+            throw new InvalidEnrollmentImportException("At most " + MAX_IMPORT_ROWS + " students per import");
+        }
+        CurrentUser currentUser = authenticatedUserService.getCurrentUser();
+
+        CourseEntity course = courseRepository.findByCourseId(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found"));
+        if (!course.getLecturer().getUserId().equals(currentUser.userId())
+                && !currentUser.hasAuthority(PermissionEnum.USER_MANAGE.name())) {
+            log.warn("User {} attempted to import enrollments for course {} but is not the lecturer",
+                    currentUser.userId(), courseId);
+            throw new CourseStateException("You are not the lecturer for this course");
+        }
+        if (course.getState() != CourseState.ENROLLMENT_OPEN) {
+            log.warn("Course enrollment not open for import: courseId={}", courseId);
+            throw new CourseStateException("Course enrollment is not open");
+        }
+
+        List<String> normalized = entries.stream().map(entry -> entry == null ? "" : entry.strip()).toList();
+        Set<UUID> userIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (String entry : normalized) {
+            UUID userId = parseUserId(entry);
+            if (userId != null) {
+                userIds.add(userId);
+            } else if (entry.indexOf('@') > 0) {
+                emails.add(entry);
+            }
+        }
+        Map<UUID, EnrollmentCandidate> byId = userIds.isEmpty() ? Map.of()
+                : accountRepository.findEnrollmentCandidatesByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(EnrollmentCandidate::userId, Function.identity()));
+        Map<String, EnrollmentCandidate> byEmail = emails.isEmpty() ? Map.of()
+                : accountRepository.findEnrollmentCandidatesByEmailIn(emails).stream()
+                .collect(Collectors.toMap(EnrollmentCandidate::email, Function.identity()));
+
+        UUID[] studentIds = new UUID[normalized.size()];
+        BulkEnrollmentStatus[] statuses = new BulkEnrollmentStatus[normalized.size()];
+        List<UUID> toAdmit = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < normalized.size(); i++) {
+            String entry = normalized.get(i);
+            UUID userId = parseUserId(entry);
+            if (userId == null && entry.indexOf('@') <= 0) {
+                statuses[i] = BulkEnrollmentStatus.INVALID_ENTRY;
+                continue;
+            }
+            EnrollmentCandidate candidate = userId != null ? byId.get(userId) : byEmail.get(entry);
+            if (candidate == null) {
+                statuses[i] = BulkEnrollmentStatus.UNKNOWN_USER;
+                continue;
+            }
+            studentIds[i] = candidate.userId();
+            if (!candidate.student()) {
+                statuses[i] = BulkEnrollmentStatus.NOT_A_STUDENT;
+            } else if (!seen.add(studentIds[i])) {
+                statuses[i] = BulkEnrollmentStatus.DUPLICATE_ENTRY;
+            } else {
+                toAdmit.add(studentIds[i]);
+            }
+        }
+
+        Map<UUID, Admission> admissions = toAdmit.isEmpty() ? Map.of() : admitBatch(courseId, toAdmit);
+        List<BulkEnrollmentRowDto> rows = new ArrayList<>(normalized.size());
+        int enrolled = 0;
+        for (int i = 0; i < normalized.size(); i++) {
+            BulkEnrollmentStatus status = statuses[i];
+            UUID enrollmentId = null;
+            if (status == null) {
+                Admission admission = admissions.get(studentIds[i]);
+                status = switch (admission.status()) {
+                    case ADMITTED -> BulkEnrollmentStatus.ENROLLED;
+                    case ALREADY_ENROLLED -> BulkEnrollmentStatus.ALREADY_ENROLLED;
+                    case COURSE_FULL -> BulkEnrollmentStatus.COURSE_FULL;
+                    default -> BulkEnrollmentStatus.ENROLLMENT_CLOSED;
+                };
+                if (admission.enrollment() != null) {
+                    enrollmentId = admission.enrollment().enrollmentId();
+                    enrolled++;
+                }
+            }
+            rows.add(new BulkEnrollmentRowDto(i + 1, entries.get(i), status, studentIds[i], enrollmentId));
+        }
+        log.info("Enrollment import for courseId={}: entries={} enrolled={}", courseId, entries.size(), enrolled);
+        return new BulkEnrollmentReportDto(courseId, entries.size(), enrolled, rows);
+    }
+
+    private static UUID parseUserId(String entry) {
+        // UUID.fromString also accepts shortened groups, so only the canonical 36-character form counts as an id
+        if (entry.length() != 36) {
+            return null;
+        }
+        try {
+            return UUID.fromString(entry);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Served from the counter on the course row, so the cost does not grow with the course
     public long getEnrolledCount(UUID courseId) {
-        long count = enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId);
+        int count = courseRepository.findEnrolledCount(courseId)
+                .orElseThrow(() -> new CourseNotFoundException("Course not found"));
         log.info("Enrolled count for courseId={} is {}", courseId, count);
         return count;
     }
 
+    // Recounts one course under its row lock, so a seat reserved by an enrollment still in flight is counted once it
+    // commits instead of being reconciled away; returns the correction applied
+    public int reconcileEnrolledCount(UUID courseId) {
+        Optional<Integer> stored = courseRepository.lockEnrolledCount(courseId);
+        if (stored.isEmpty()) {
+            return 0;
+        }
+        int actual = Math.toIntExact(enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId));
+        if (actual == stored.get()) {
+            return 0;
+        }
+        courseRepository.setEnrolledCount(courseId, actual);
+        log.warn("Corrected enrolled count for courseId={}: {} -> {}", courseId, stored.get(), actual);
+        return actual - stored.get();
+    }
+
     public List<EnrollmentResponseDto> getEnrolledStudents(UUID courseId) {
         log.info("Fetching enrolled students for courseId={}", courseId);
 
@@ -0,0 +1,19 @@
+package com.backend.authsystem.authentication.service;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// Principal built purely from verified access-token claims, no account lookup involved
+public record JwtPrincipal(UUID userId,
+                           String email,
+                           Collection<? extends GrantedAuthority> authorities) implements AuthenticatedPrincipal {
+
+    @Override
+    public @NotNull String getName() {
+        return email;
+    }
+}
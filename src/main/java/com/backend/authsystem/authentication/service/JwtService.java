@@ -5,16 +5,24 @@ import com.backend.authsystem.authentication.config.SecurityEnvironments;
 import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
 import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
-import com.backend.authsystem.authentication.util.HashToken;
+import com.backend.authsystem.authentication.util.RefreshTokenMinter;
+import com.backend.authsystem.authentication.util.PermissionBitset;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -27,12 +35,38 @@ public class JwtService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final SecurityEnvironments securityEnvironments;
     private final SecretKey key;
+    private final JwtParser jwtParser;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SigningKeyRing signingKeyRing;
+    private final AuthMetrics authMetrics;
 
-    @Autowired
+    // HS512 only, for callers that have no key ring
     public JwtService(RefreshTokenRepository refreshTokenRepository, SecurityEnvironments securityEnvironments){
+        this(refreshTokenRepository, securityEnvironments, null);
+    }
+
+    public JwtService(RefreshTokenRepository refreshTokenRepository, SecurityEnvironments securityEnvironments, SigningKeyRing signingKeyRing){
+        this(refreshTokenRepository, securityEnvironments, signingKeyRing, AuthMetrics.noop());
+    }
+
+    @Autowired
+    public JwtService(RefreshTokenRepository refreshTokenRepository, SecurityEnvironments securityEnvironments, SigningKeyRing signingKeyRing, AuthMetrics authMetrics){
         this.refreshTokenRepository = refreshTokenRepository;
         this.securityEnvironments = securityEnvironments;
+        this.signingKeyRing = signingKeyRing;
+        this.authMetrics = authMetrics;
         this.key = Keys.hmacShaKeyFor(securityEnvironments.getTokenSecret().getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, build it once; the key is picked per token from its kid header
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        Integer cacheSize = securityEnvironments.getVerifiedTokenCacheSize();
+        this.verifiedTokenCache = new VerifiedTokenCache(cacheSize != null ? cacheSize : 0);
     }
 
 
@@ -50,25 +84,78 @@ public class JwtService {
                 .toList();
     }
 
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLES_CLAIM = "roles";
+    public static final String PERMISSIONS_CLAIM = "permissions";
+    public static final String GENERATION_CLAIM = "gen";
+    public static final String PERMISSION_BITS_CLAIM = "pb";
+
     public String generateAccessTokenFromUser(AccountEntity user) {
-        Map<String, Object> claims = new HashMap<>();
+        int generation = user.getTokenGeneration() != null ? user.getTokenGeneration() : 0;
+        return generateAccessToken(user.getUserId(), user.getEmail(), generation, extractRoles(user), extractPermissions(user));
+    }
 
-        // Use the new helpers
-        List<String> roles = extractRoles(user);
-        List<String> permissions = extractPermissions(user);
+    public String generateAccessToken(UUID userId, String email, int generation, List<String> roles, List<String> permissions) {
+        long start = System.nanoTime();
+        try {
+            String token = signAccessToken(userId, email, generation, roles, permissions);
+            authMetrics.record(AuthMetrics.Stage.JWT_SIGN, AuthMetrics.Outcome.OK, start);
+            return token;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.JWT_SIGN, e, start);
+            throw e;
+        }
+    }
+
+    private String signAccessToken(UUID userId, String email, int generation, List<String> roles, List<String> permissions) {
+        Map<String, Object> claims = new HashMap<>();
 
-        claims.put("roles", roles);
-        claims.put("permissions", permissions);
-        return Jwts.builder()
-                .setId(String.valueOf(user.getUserId()))
+        claims.put(USER_ID_CLAIM, String.valueOf(userId));
+        claims.put(GENERATION_CLAIM, generation);
+        claims.put(ROLES_CLAIM, roles);
+        Optional<String> bits = Boolean.TRUE.equals(securityEnvironments.getCompactPermissions())
+                ? PermissionBitset.encode(permissions)
+                : Optional.empty();
+        if (bits.isPresent()) {
+            claims.put(PERMISSION_BITS_CLAIM, bits.get());
+        } else {
+            claims.put(PERMISSIONS_CLAIM, permissions);
+        }
+        // setClaims replaces the whole claim set, so the id has to be set after it
+        JwtBuilder builder = Jwts.builder()
                 .setClaims(claims)
-                .setSubject(user.getEmail())
+                .setId(RefreshTokenMinter.randomUuid().toString())
+                .setSubject(email)
                 .setIssuedAt(new Date())
-                .setExpiration(Date.from(Instant.now().plus(securityEnvironments.getTokenExpirationInMinutes(), ChronoUnit.MINUTES)))
+                .setExpiration(Date.from(Instant.now().plus(securityEnvironments.getTokenExpirationInMinutes(), ChronoUnit.MINUTES)));
+
+        SigningKeyRing.SigningKey signingKey = signingKeyRing != null ? signingKeyRing.signingKey() : null;
+        if (signingKey != null) {
+            return builder
+                    .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
+                    .signWith(signingKey.privateKey(), SignatureAlgorithm.ES256)
+                    .compact();
+        }
+        return builder
                 .signWith(key, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    // Tokens without a kid were signed with the shared secret; the parser still rejects any alg/key mismatch
+    private Key verificationKey(String kid) {
+        if (kid == null) {
+            if (signingKeyRing != null && !signingKeyRing.acceptsHs512()) {
+                throw new JwtException("Token is not signed with a published key");
+            }
+            return key;
+        }
+        PublicKey publicKey = signingKeyRing != null ? signingKeyRing.verificationKey(kid) : null;
+        if (publicKey == null) {
+            throw new JwtException("Unknown signing key");
+        }
+        return publicKey;
+    }
+
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -84,33 +171,67 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtParser
+                    .parseClaimsJws(token)
+                    .getBody();
+            authMetrics.record(AuthMetrics.Stage.JWT_PARSE, AuthMetrics.Outcome.OK, start);
+            return claims;
+        } catch (RuntimeException e) {
+            authMetrics.record(AuthMetrics.Stage.JWT_PARSE, e, start);
+            throw e;
+        }
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Parses and checks the signature at most once per token; repeat presentations are served from memory until expiry
+    public VerifiedToken verify(String token) {
+        int lastDot = token.lastIndexOf('.');
+        if (lastDot < 0 || lastDot == token.length() - 1) {
+            throw new JwtException("Invalid or expired JWT token");
+        }
+        String signature = token.substring(lastDot + 1);
+
+        VerifiedToken cached = verifiedTokenCache.get(signature, token);
+        if (cached != null) {
+            if (!cached.isExpired(Instant.now())) {
+                return cached;
+            }
+            verifiedTokenCache.remove(signature);
+        }
+
+        VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+        if (verified.subject() == null) {
+            throw new JwtException("Invalid or expired JWT token");
+        }
+        verifiedTokenCache.put(signature, token, verified);
+        return verified;
+    }
+
+    public static List<String> extractStringList(Claims claims, String name) {
+        Object value = claims.get(name);
+        if (!(value instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                .map(String::valueOf)
+                .toList();
     }
 
     public Boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return (verified.subject().equals(username) && !verified.isExpired(Instant.now()));
     }
 
     // Refresh Token Methods
     public String generateRefreshToken(AccountEntity user) {
 
-        String plainToken = UUID.randomUUID().toString();
-        String tokenHash = HashToken.hashToken(plainToken);
-
+        RefreshTokenMinter.MintedToken minted = RefreshTokenMinter.mint();
 
         RefreshTokenEntity refreshToken = RefreshTokenEntity.builder()
-                .tokenId(UUID.randomUUID())
+                .tokenId(RefreshTokenMinter.randomUuid())
                 .myUser(user)
-                .tokenHash(tokenHash)
+                .tokenHash(minted.tokenHash())
                 .expiresAt(Instant.now().plus(
                         securityEnvironments.getRefreshTokenExpirationInDays(),
                         ChronoUnit.DAYS))
@@ -119,7 +240,7 @@ public class JwtService {
                 .build();
 
         refreshTokenRepository.save(refreshToken);
-        return plainToken;
+        return minted.plainToken();
     }
 
 
@@ -0,0 +1,200 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.LoginThrottleEnvironments;
+import com.backend.authsystem.authentication.exception.TooManyLoginAttemptsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// The per-IP token bucket is checked before the account lookup and the password hash, so a credential-stuffing
+// burst is turned away without touching the database or the hashing pool.
+// Failed passwords back off the client IP and the (email, IP) pair, never the email alone: otherwise anyone could
+// lock the owner out of an account by failing on purpose. For the same reason the per-email bucket is only charged
+// by failed verifications and never checked up front, so the right password always gets through; once it is empty,
+// every further failure on that email is reported as throttled.
+// Buckets live in size-bounded, idle-expiring Caffeine caches; each bucket is updated with a CAS on its own state,
+// so concurrent logins for different keys never share a lock.
+@Component
+public class LoginThrottle {
+
+    private static final String THROTTLED_MESSAGE = "Too many login attempts, try again later";
+
+    private final LoginThrottleEnvironments environments;
+    private final Ticker ticker;
+    private final Cache<String, Bucket> emailBuckets;
+    private final Cache<String, Bucket> ipBuckets;
+    private final Cache<String, Bucket> emailIpBuckets;
+    private final Counter emailThrottled;
+    private final Counter ipThrottled;
+    private final Counter emailIpThrottled;
+
+    @Autowired
+    public LoginThrottle(LoginThrottleEnvironments environments, MeterRegistry meterRegistry) {
+        this(environments, meterRegistry, Ticker.systemTicker());
+    }
+
+    LoginThrottle(LoginThrottleEnvironments environments, MeterRegistry meterRegistry, Ticker ticker) {
+        this.environments = environments;
+        this.ticker = ticker;
+        // an idle bucket may still carry a backoff, so it has to outlive the longest one
+        Duration expiry = environments.getIdleExpiry().compareTo(environments.getBackoffMax()) >= 0
+                ? environments.getIdleExpiry()
+                : environments.getBackoffMax();
+        this.emailBuckets = buckets(environments.getMaxEntries(), expiry, ticker);
+        this.ipBuckets = buckets(environments.getMaxEntries(), expiry, ticker);
+        this.emailIpBuckets = buckets(environments.getMaxEntries(), expiry, ticker);
+        this.emailThrottled = Counter.builder("login.throttled")
+                .tag("key", "email")
+                .description("Login attempts rejected by the login throttle")
+                .register(meterRegistry);
+        this.ipThrottled = Counter.builder("login.throttled")
+                .tag("key", "ip")
+                .description("Login attempts rejected by the login throttle")
+                .register(meterRegistry);
+        this.emailIpThrottled = Counter.builder("login.throttled")
+                .tag("key", "email-ip")
+                .description("Login attempts rejected by the login throttle")
+                .register(meterRegistry);
+    }
+
+    private static Cache<String, Bucket> buckets(long maximumSize, Duration expiry, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expiry)
+                .ticker(ticker)
+                .build();
+    }
+
+    // Takes one token from the IP bucket, or throws with the wait until the next one; a backoff earned by this IP on
+    // this email is checked too
+    public void acquire(String email, String clientIp) {
+        long now = ticker.read();
+        if (clientIp != null) {
+            long waitNanos = bucket(ipBuckets, clientIp, environments.getIpCapacity(), now)
+                    .tryAcquire(environments.getIpCapacity(), environments.getIpRefill().toNanos(), now);
+            if (waitNanos > 0) {
+                ipThrottled.increment();
+                throw new TooManyLoginAttemptsException(THROTTLED_MESSAGE, retryAfterSeconds(waitNanos));
+            }
+        }
+        Bucket emailIp = emailIpBuckets.getIfPresent(emailIpKey(email, clientIp));
+        if (emailIp != null) {
+            long waitNanos = emailIp.blockedFor(now);
+            if (waitNanos > 0) {
+                emailIpThrottled.increment();
+                throw new TooManyLoginAttemptsException(THROTTLED_MESSAGE, retryAfterSeconds(waitNanos));
+            }
+        }
+    }
+
+    // Past the free allowance every further failure doubles the lock-out, for the (email, IP) pair and the IP alike.
+    // The failure then takes a token from the email bucket and throws instead when there is none left.
+    public void recordFailure(String email, String clientIp) {
+        long now = ticker.read();
+        bucket(emailIpBuckets, emailIpKey(email, clientIp), 0, now).fail(now, environments);
+        if (clientIp != null) {
+            bucket(ipBuckets, clientIp, environments.getIpCapacity(), now).fail(now, environments);
+        }
+        long waitNanos = bucket(emailBuckets, emailKey(email), environments.getEmailCapacity(), now)
+                .tryAcquire(environments.getEmailCapacity(), environments.getEmailRefill().toNanos(), now);
+        if (waitNanos > 0) {
+            emailThrottled.increment();
+            throw new TooManyLoginAttemptsException(THROTTLED_MESSAGE, retryAfterSeconds(waitNanos));
+        }
+    }
+
+    // Only the account is forgiven; one valid login must not clear an IP that is guessing other accounts
+    public void recordSuccess(String email, String clientIp) {
+        Bucket bucket = emailIpBuckets.getIfPresent(emailIpKey(email, clientIp));
+        if (bucket != null) {
+            bucket.reset();
+        }
+    }
+
+    private static Bucket bucket(Cache<String, Bucket> buckets, String key, int capacity, long now) {
+        return buckets.get(key, k -> new Bucket(capacity, now));
+    }
+
+    private static String emailKey(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // without a client IP the failures can only be tied to the email
+    private static String emailIpKey(String email, String clientIp) {
+        return clientIp == null ? emailKey(email) : emailKey(email) + '|' + clientIp;
+    }
+
+    private static int retryAfterSeconds(long waitNanos) {
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private record State(double tokens, long refilledAt, int failures, long blockedUntil) {
+    }
+
+    private static final class Bucket {
+
+        private final AtomicReference<State> state;
+
+        private Bucket(int capacity, long now) {
+            this.state = new AtomicReference<>(new State(capacity, now, 0, now));
+        }
+
+        // 0 when a token was taken, otherwise the nanos to wait
+        private long tryAcquire(int capacity, long refillNanos, long now) {
+            while (true) {
+                State current = state.get();
+                if (now < current.blockedUntil()) {
+                    return current.blockedUntil() - now;
+                }
+                double tokens = Math.min(capacity, current.tokens() + (double) (now - current.refilledAt()) / refillNanos);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) * refillNanos);
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now, current.failures(), current.blockedUntil()))) {
+                    return 0;
+                }
+            }
+        }
+
+        private long blockedFor(long now) {
+            return Math.max(0, state.get().blockedUntil() - now);
+        }
+
+        private void fail(long now, LoginThrottleEnvironments environments) {
+            while (true) {
+                State current = state.get();
+                int failures = current.failures() + 1;
+                long blockedUntil = current.blockedUntil();
+                int excess = failures - environments.getFreeFailures();
+                if (excess > 0) {
+                    long base = environments.getBackoffBase().toNanos();
+                    // shift no further than the leading zeros allow, so the doubling saturates instead of overflowing
+                    int doublings = Math.min(excess - 1, Long.numberOfLeadingZeros(base) - 1);
+                    long backoff = Math.min(environments.getBackoffMax().toNanos(), base << doublings);
+                    blockedUntil = Math.max(blockedUntil, now + backoff);
+                }
+                if (state.compareAndSet(current, new State(current.tokens(), current.refilledAt(), failures, blockedUntil))) {
+                    return;
+                }
+            }
+        }
+
+        private void reset() {
+            while (true) {
+                State current = state.get();
+                if (state.compareAndSet(current, new State(current.tokens(), current.refilledAt(), 0, current.refilledAt()))) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.AccountCache;
+import com.backend.authsystem.authentication.config.BoundedPasswordEncoder;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+@Slf4j
+@Service
+public class PasswordUpgradeService {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
+    private final Executor executor;
+
+    public PasswordUpgradeService(BoundedPasswordEncoder passwordEncoder,
+                                  AccountRepository accountRepository,
+                                  AccountCache accountCache,
+                                  @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+        this.executor = executor;
+    }
+
+    // Called after a successful login: rehash with the current algorithm/cost on the hashing pool,
+    // the login response does not wait for it. The database write then runs on the application task executor,
+    // so a slow update never holds one of the few hashing threads.
+    public void upgradeIfOutdated(AccountEntity user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        UUID userId = user.getUserId();
+        String email = user.getEmail();
+
+        passwordEncoder.encodeInBackground(rawPassword)
+                .thenAcceptAsync(newHash -> {
+                    int updated = accountRepository.updatePasswordIfUnchanged(userId, currentHash, newHash, Instant.now());
+                    if (updated == 1) {
+                        accountCache.evict(email);
+                        log.info("Upgraded password hash for user {}", userId);
+                    }
+                }, executor)
+                .exceptionally(ex -> {
+                    log.warn("Password hash upgrade skipped for user {}: {}", userId, ex.getMessage());
+                    return null;
+                });
+    }
+}
@@ -4,10 +4,9 @@ import com.backend.authsystem.authentication.dto.profile.ProfileResponseDto;
 import com.backend.authsystem.authentication.dto.profile.ProfileUpdateDto;
 import com.backend.authsystem.authentication.entity.ProfileEntity;
 import com.backend.authsystem.authentication.entity.AccountEntity;
-import com.backend.authsystem.authentication.exception.UserNotFoundException;
 import com.backend.authsystem.authentication.repository.ProfileRepository;
-import com.backend.authsystem.authentication.repository.AccountRepository;
 import com.backend.authsystem.authentication.mapper.ProfileMapper;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,15 +14,14 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class ProfileService {
-    private final AccountRepository userRepository;
     private final ProfileRepository profileRepository;
     private final AuthenticatedUserService authenticatedUserService;
     private final ProfileMapper profileMapper;
 
+    // The profile is found by user id, so a reference is enough; the account row is only read to seed a new profile
+    @Transactional
     public ProfileResponseDto getMyProfileService() {
-        String email = authenticatedUserService.getCurrentUserEmail();
-        AccountEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        AccountEntity user = authenticatedUserService.getCurrentUserReference();
 
 
         ProfileEntity profile = profileRepository.findByUser(user)
@@ -36,12 +34,10 @@ public class ProfileService {
     }
 
 
+    @Transactional
     public void updateMyProfileService(ProfileUpdateDto dto) {
 
-        String email = authenticatedUserService.getCurrentUserEmail();
-
-        AccountEntity user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        AccountEntity user = authenticatedUserService.getCurrentUserReference();
 
         ProfileEntity profile = profileRepository.findByUser(user)
                 .orElseGet(() -> profileMapper.createDefaultProfileUpdate(user));
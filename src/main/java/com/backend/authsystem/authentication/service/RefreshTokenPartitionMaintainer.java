@@ -0,0 +1,202 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.RefreshTokenRetentionEnvironments;
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Keeps monthly partitions of my_refresh_tokens ahead of the newest expiry and drops months whose tokens
+// all expired more than the retention period ago; dropping a partition replaces deleting its rows one by one.
+// Expired months are detached CONCURRENTLY before the drop, so logins and refreshes never wait on an
+// ACCESS EXCLUSIVE lock of my_refresh_tokens; that cannot run in a transaction block, hence one autocommit
+// connection per run and a session-level advisory lock.
+// There is no default partition, so a token can only be stored once its expiry month exists: startup refuses a
+// months-ahead that does not cover the refresh token lifetime, creates the months before the node takes traffic,
+// and refresh.tokens.partitions.coverage reports how many days ahead are covered.
+@Slf4j
+@Component
+public class RefreshTokenPartitionMaintainer {
+
+    private static final String TABLE = "my_refresh_tokens";
+    // any fixed key works, it only has to be the same on every node
+    private static final long LOCK_KEY = 0x6d795f7274706d4cL;
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile(TABLE + "_(\\d{4})_(\\d{2})");
+    private static final Duration SHORTEST_MONTH = Duration.ofDays(28);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RefreshTokenRetentionEnvironments environments;
+    private final Duration tokenLifetime;
+    private final Counter created;
+    private final Counter dropped;
+    // start of the first month from now on without a partition; null on an unpartitioned schema
+    private volatile Instant coveredUntil;
+
+    public RefreshTokenPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                           RefreshTokenRetentionEnvironments environments,
+                                           SecurityEnvironments securityEnvironments,
+                                           MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.environments = environments;
+        this.tokenLifetime = Duration.ofDays(securityEnvironments.getRefreshTokenExpirationInDays());
+        // a run late in a month covers at least months-ahead full months; one of them is slack for failed runs
+        if (SHORTEST_MONTH.multipliedBy(environments.getPartitionMonthsAhead() - 1L).compareTo(tokenLifetime) < 0) {
+            throw new IllegalStateException("refresh.partitions.months-ahead=" + environments.getPartitionMonthsAhead()
+                    + " does not cover refresh tokens valid for " + tokenLifetime.toDays() + " days");
+        }
+        this.created = Counter.builder("refresh.tokens.partitions.created").register(meterRegistry);
+        this.dropped = Counter.builder("refresh.tokens.partitions.dropped").register(meterRegistry);
+        Gauge.builder("refresh.tokens.partitions.coverage", this, RefreshTokenPartitionMaintainer::coverageDays)
+                .description("Days from now until the first month without a refresh token partition")
+                .baseUnit("days")
+                .register(meterRegistry);
+
+        // fail startup rather than take logins whose refresh tokens have no partition to go to
+        run(true);
+        if (coveredUntil != null && coveredUntil.isBefore(Instant.now().plus(tokenLifetime))) {
+            throw new IllegalStateException("Refresh token partitions only cover expiries until " + coveredUntil);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${refresh.partitions.interval:6h}")
+    public void maintain() {
+        try {
+            run(false);
+        } catch (DataAccessException ex) {
+            log.warn("Refresh token partition maintenance failed: {}", ex.getMessage());
+        }
+        if (coveredUntil != null && coveredUntil.isBefore(Instant.now().plus(tokenLifetime))) {
+            log.error("Refresh token partitions only cover expiries until {}, logins will fail", coveredUntil);
+        }
+    }
+
+    double coverageDays() {
+        Instant until = coveredUntil;
+        return until == null ? Double.NaN : Duration.between(Instant.now(), until).toMinutes() / 1440.0;
+    }
+
+    // Waiting for the lock at startup keeps a node from reading coverage while another one is still creating months
+    private void run(boolean wait) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            // a Hibernate-generated schema (tests) is not partitioned
+            if (!isPartitioned(session)) {
+                return null;
+            }
+            // only one node maintains at a time; the others still refresh their coverage
+            if (lock(session, wait)) {
+                try {
+                    // never queue DDL behind a long transaction while logins wait behind the DDL
+                    session.execute("SET lock_timeout = '5s'");
+                    YearMonth current = YearMonth.now(ZoneOffset.UTC);
+                    for (int ahead = 0; ahead <= environments.getPartitionMonthsAhead(); ahead++) {
+                        createIfMissing(session, current.plusMonths(ahead));
+                    }
+                    // a concurrent detach only conflicts with other DDL and then waits out the transactions still
+                    // reading the partition, which a lock_timeout would cut short and leave the detach pending
+                    session.execute("SET lock_timeout = 0");
+                    detachExpired(session, LocalDateTime.now(ZoneOffset.UTC).minus(environments.getRetention()));
+                    session.execute("SET lock_timeout = '5s'");
+                    dropDetached(session);
+                } finally {
+                    session.execute("RESET lock_timeout");
+                    session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+                }
+            }
+            coveredUntil = coveredUntil(session);
+            return null;
+        });
+    }
+
+    private boolean isPartitioned(JdbcTemplate session) {
+        return Boolean.TRUE.equals(session.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid " +
+                        "WHERE c.relname = ? AND pg_table_is_visible(c.oid))",
+                Boolean.class, TABLE));
+    }
+
+    private boolean lock(JdbcTemplate session, boolean wait) {
+        String sql = wait ? "SELECT true FROM pg_advisory_lock(?)" : "SELECT pg_try_advisory_lock(?)";
+        return Boolean.TRUE.equals(session.queryForObject(sql, Boolean.class, LOCK_KEY));
+    }
+
+    private Instant coveredUntil(JdbcTemplate session) {
+        List<Object> names = partitions(session).stream().map(partition -> partition.get("relname")).toList();
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        while (names.contains(TABLE + "_" + month.format(SUFFIX))) {
+            month = month.plusMonths(1);
+        }
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    private List<Map<String, Object>> partitions(JdbcTemplate session) {
+        return session.queryForList(
+                "SELECT c.relname, i.inhdetachpending FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ? AND pg_table_is_visible(p.oid)",
+                TABLE);
+    }
+
+    private void createIfMissing(JdbcTemplate session, YearMonth month) {
+        String name = TABLE + "_" + month.format(SUFFIX);
+        if (partitions(session).stream().anyMatch(partition -> name.equals(partition.get("relname")))) {
+            return;
+        }
+        session.execute("CREATE TABLE " + name + " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        created.increment();
+        log.info("Created refresh token partition {}", name);
+    }
+
+    private void detachExpired(JdbcTemplate session, LocalDateTime cutoff) {
+        for (Map<String, Object> partition : partitions(session)) {
+            String name = (String) partition.get("relname");
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            // every row expires before the start of the following month
+            if (!month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                // a detach interrupted on an earlier run is left pending and has to be finalized instead
+                if (Boolean.TRUE.equals(partition.get("inhdetachpending"))) {
+                    session.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name + " FINALIZE");
+                } else {
+                    session.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + name + " CONCURRENTLY");
+                }
+                log.info("Detached expired refresh token partition {}", name);
+            }
+        }
+    }
+
+    // Also picks up months detached by an earlier run whose drop timed out
+    private void dropDetached(JdbcTemplate session) {
+        List<String> detached = session.queryForList(
+                "SELECT relname FROM pg_class WHERE relkind = 'r' AND NOT relispartition AND relname ~ ? " +
+                        "AND pg_table_is_visible(oid)",
+                String.class, "^" + MONTHLY_PARTITION.pattern() + "$");
+        for (String name : detached) {
+            session.execute("DROP TABLE " + name);
+            dropped.increment();
+            log.info("Dropped expired refresh token partition {}", name);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.RefreshTokenRetentionEnvironments;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Deletes expired and revoked refresh tokens older than the retention period, one short transaction per batch,
+// so the delete never holds locks long enough to stall logins or refreshes
+@Slf4j
+@Component
+public class RefreshTokenReaper {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenRetentionEnvironments environments;
+    private final Counter reaped;
+    private final Timer duration;
+
+    public RefreshTokenReaper(RefreshTokenRepository refreshTokenRepository,
+                              RefreshTokenRetentionEnvironments environments,
+                              MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.environments = environments;
+        this.reaped = Counter.builder("refresh.tokens.reaped")
+                .description("Expired or revoked refresh tokens deleted by the reaper")
+                .register(meterRegistry);
+        this.duration = Timer.builder("refresh.tokens.reaper.duration")
+                .description("Time taken by one reaper run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${refresh.reaper.interval:10m}", initialDelayString = "${refresh.reaper.initial-delay:1m}")
+    public void reap() {
+        Instant cutoff = Instant.now().minus(environments.getRetention());
+        long total = 0;
+        Timer.Sample sample = Timer.start();
+        try {
+            // capped per run so a large backlog is worked off over several runs instead of monopolising the scheduler
+            for (int batch = 0; batch < environments.getMaxBatchesPerRun(); batch++) {
+                int deleted = refreshTokenRepository.deleteExpiredOrRevoked(cutoff, environments.getBatchSize());
+                total += deleted;
+                reaped.increment(deleted);
+                if (deleted < environments.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Refresh token reaper stopped after {} rows: {}", total, ex.getMessage());
+        } finally {
+            sample.stop(duration);
+        }
+        if (total > 0) {
+            log.info("Reaped {} refresh tokens expired or revoked before {}", total, cutoff);
+        }
+    }
+}
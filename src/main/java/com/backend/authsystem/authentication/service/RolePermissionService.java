@@ -1,6 +1,7 @@
 package com.backend.authsystem.authentication.service;
 
 
+import com.backend.authsystem.authentication.cache.AccountCache;
 import com.backend.authsystem.authentication.dto.AssignPermissionRequestDto;
 import com.backend.authsystem.authentication.dto.AssignRoleRequestDto;
 import com.backend.authsystem.authentication.dto.RolePermissionResponseDto;
@@ -18,6 +19,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,6 +33,8 @@ public class RolePermissionService {
     private final RoleRepository roleRepository;
     private final AuthenticatedUserService authenticatedUserService;
     private final PermissionRepository permissionRepository;
+    private final AccountCache accountCache;
+    private final AuthorityRegistry authorityRegistry;
 
     public RolePermissionResponseDto assignRoleToUser(AssignRoleRequestDto request) {
 
@@ -38,7 +42,7 @@ public class RolePermissionService {
         log.info("Admin {} attempting to assign role {} to user {}",
                 adminEmail, request.roleName(), request.userId());
 
-        AccountEntity user = accountRepository.findById(UUID.fromString(request.userId()))
+        AccountEntity user = accountRepository.findWithRolesByUserId(UUID.fromString(request.userId()))
                 .orElseThrow(() -> {
                     log.warn("Admin {} failed to assign role {}. User {} not found",
                             adminEmail, request.roleName(), request.userId());
@@ -60,7 +64,10 @@ public class RolePermissionService {
         }
 
         user.getRoles().add(role);
+        // other nodes notice the new updated_at on their next AccountChangePoller poll
+        user.setUpdatedAt(Instant.now());
         accountRepository.save(user);
+        accountCache.evict(user.getEmail());
 
         log.info("Admin {} successfully assigned role {} to user {}",
                 adminEmail, role.getRoleName(), user.getUserId());
@@ -83,7 +90,7 @@ public class RolePermissionService {
 
         // Fetch role
         RoleEntity role = roleRepository
-                .findByRoleName(RoleEnum.valueOf(request.roleName()))
+                .findWithPermissionsByRoleName(RoleEnum.valueOf(request.roleName()))
                 .orElseThrow(() -> {
                     log.warn("Admin {} failed to assign permissions. Role {} not found",
                             adminEmail, request.roleName());
@@ -123,7 +130,11 @@ public class RolePermissionService {
 
         // Assign permissions
         role.getPermissions().addAll(permissionsToAssign);
+        // other nodes notice the new updated_at on their next AuthorityRegistry poll
+        role.setUpdatedAt(Instant.now());
         roleRepository.save(role);
+        authorityRegistry.invalidate();
+        accountCache.evictAll(accountRepository.findEmailsByRoleId(role.getRoleId()));
 
         log.info("User {} successfully assigned {} permission(s) to role {}",
                 adminEmail,
@@ -0,0 +1,278 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.config.SigningKeyEnvironments;
+import com.backend.authsystem.authentication.entity.SigningKeyEntity;
+import com.backend.authsystem.authentication.repository.SigningKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+// ES256 key pairs shared through the signing_keys table. Every node signs with the newest active key and
+// verifies with any key that has not expired; the same set is published as a JWKS for downstream services.
+// Rotation publishes the next key ahead of use so JWKS caches already hold it when the first token appears.
+@Slf4j
+@Component
+public class SigningKeyRing {
+
+    public record SigningKey(String kid, PrivateKey privateKey) {
+    }
+
+    public record Jwks(String json, String etag) {
+    }
+
+    private record Ring(SigningKey signing, Map<String, PublicKey> verification, Jwks jwks) {
+    }
+
+    private static final String ALGORITHM = "ES256";
+    private static final int IV_LENGTH = 12;
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+    // bounds how often an unknown kid can force a reload
+    private static final Duration MIN_FORCED_RELOAD_INTERVAL = Duration.ofSeconds(10);
+    // any fixed key works, it only has to be the same on every node
+    private static final long ROTATION_LOCK_KEY = 0x7369676e6b657973L;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final TransactionOperations transactionOperations;
+    private final SigningKeyEnvironments environments;
+    private final Duration tokenLifetime;
+    private final SecretKey encryptionKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private volatile Ring ring;
+    private volatile Instant lastForcedReload = Instant.EPOCH;
+
+    public SigningKeyRing(SigningKeyRepository signingKeyRepository,
+                          TransactionOperations transactionOperations,
+                          SigningKeyEnvironments environments,
+                          SecurityEnvironments securityEnvironments) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.transactionOperations = transactionOperations;
+        this.environments = environments;
+        this.tokenLifetime = Duration.ofMinutes(securityEnvironments.getTokenExpirationInMinutes());
+        this.encryptionKey = deriveEncryptionKey(securityEnvironments.getTokenSecret());
+        this.ring = new Ring(null, Map.of(), jwks(List.of()));
+        if (environments.isAsymmetric()) {
+            // fail startup rather than run without a key to sign with; a replica starting alongside another one
+            // waits for that one's rotation instead of skipping it and coming up without a key
+            Instant now = Instant.now();
+            rotateIfDue(now, true);
+            reload(now);
+        }
+    }
+
+    // Null when tokens are still signed with the shared HS512 secret
+    public SigningKey signingKey() {
+        return ring.signing();
+    }
+
+    public PublicKey verificationKey(String kid) {
+        PublicKey key = ring.verification().get(kid);
+        if (key != null || !environments.isAsymmetric()) {
+            return key;
+        }
+        // a key another node created moments ago; reload once instead of waiting for the schedule
+        Instant now = Instant.now();
+        synchronized (this) {
+            if (lastForcedReload.plus(MIN_FORCED_RELOAD_INTERVAL).isBefore(now)) {
+                lastForcedReload = now;
+                try {
+                    reload(now);
+                } catch (DataAccessException ex) {
+                    log.warn("Signing key reload for unknown kid failed: {}", ex.getMessage());
+                }
+            }
+        }
+        return ring.verification().get(kid);
+    }
+
+    public boolean acceptsHs512() {
+        return !environments.isAsymmetric() || Boolean.TRUE.equals(environments.getAcceptHs512());
+    }
+
+    public Jwks jwks() {
+        return ring.jwks();
+    }
+
+    @Scheduled(fixedDelayString = "${token.signing.reload-interval:1m}")
+    public void refresh() {
+        if (!environments.isAsymmetric()) {
+            return;
+        }
+        try {
+            Instant now = Instant.now();
+            rotateIfDue(now, false);
+            reload(now);
+        } catch (DataAccessException ex) {
+            log.warn("Signing key refresh failed, keeping {} keys: {}", ring.verification().size(), ex.getMessage());
+        }
+    }
+
+    // Rotation runs under an advisory lock: two nodes creating a key at once would each expire the other's new key,
+    // and the next pass would then create one that signs immediately, before any JWKS cache has seen it
+    private void rotateIfDue(Instant now, boolean wait) {
+        if (!isDue(signingKeyRepository.findVerifiable(now), now)) {
+            return;
+        }
+        transactionOperations.executeWithoutResult(status -> {
+            boolean locked = wait
+                    ? signingKeyRepository.waitForRotationLock(ROTATION_LOCK_KEY)
+                    : signingKeyRepository.tryRotationLock(ROTATION_LOCK_KEY);
+            // another node is rotating right now; its key shows up on the next reload
+            if (!locked) {
+                return;
+            }
+            // re-read under the lock, the node that held it before may already have rotated
+            List<SigningKeyEntity> keys = signingKeyRepository.findVerifiable(now);
+            if (!isDue(keys, now)) {
+                return;
+            }
+
+            Instant activatesAt = keys.isEmpty() ? now : now.plus(environments.getPublishAhead());
+            SigningKeyEntity created = signingKeyRepository.save(generate(now, activatesAt));
+            // predecessors keep signing until the new key activates; their last tokens expire one lifetime later
+            signingKeyRepository.expireAllExcept(created.getKid(), activatesAt.plus(tokenLifetime).plus(CLOCK_SKEW));
+            signingKeyRepository.deleteExpired(now);
+            log.info("Created signing key {} active from {}", created.getKid(), activatesAt);
+        });
+    }
+
+    // keys are ordered by activation, so the last one is the newest
+    private boolean isDue(List<SigningKeyEntity> keys, Instant now) {
+        return keys.isEmpty()
+                || !keys.get(keys.size() - 1).getActivatesAt().plus(environments.getRotationPeriod()).isAfter(now);
+    }
+
+    private void reload(Instant now) {
+        Map<String, PublicKey> verification = new HashMap<>();
+        List<Map<String, Object>> published = new ArrayList<>();
+        SigningKeyEntity signing = null;
+        // ordered by activation, so the last active one is the newest
+        for (SigningKeyEntity key : signingKeyRepository.findVerifiable(now)) {
+            PublicKey publicKey = decodePublicKey(key.getPublicKey());
+            verification.put(key.getKid(), publicKey);
+            published.add(jwk(key.getKid(), (ECPublicKey) publicKey));
+            if (!key.getActivatesAt().isAfter(now)) {
+                signing = key;
+            }
+        }
+        SigningKey signingKey = signing != null
+                ? new SigningKey(signing.getKid(), decodePrivateKey(signing.getKid(), signing.getPrivateKey()))
+                : null;
+        ring = new Ring(signingKey, Map.copyOf(verification), jwks(published));
+    }
+
+    private SigningKeyEntity generate(Instant now, Instant activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"), secureRandom);
+            KeyPair pair = generator.generateKeyPair();
+            String kid = UUID.randomUUID().toString();
+            return SigningKeyEntity.builder()
+                    .kid(kid)
+                    .algorithm(ALGORITHM)
+                    .publicKey(pair.getPublic().getEncoded())
+                    .privateKey(encrypt(kid, pair.getPrivate().getEncoded()))
+                    .createdAt(now)
+                    .activatesAt(activatesAt)
+                    .build();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not generate signing key", ex);
+        }
+    }
+
+    private static PublicKey decodePublicKey(byte[] encoded) {
+        try {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Stored signing public key is invalid", ex);
+        }
+    }
+
+    private PrivateKey decodePrivateKey(String kid, byte[] encrypted) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decrypt(kid, encrypted)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Stored signing key " + kid + " cannot be decrypted with the current token secret", ex);
+        }
+    }
+
+    // iv || AES-GCM ciphertext, with the kid as associated data so a key cannot be swapped onto another row
+    private byte[] encrypt(String kid, byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(128, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        byte[] sealed = cipher.doFinal(plain);
+        return ByteBuffer.allocate(IV_LENGTH + sealed.length).put(iv).put(sealed).array();
+    }
+
+    private byte[] decrypt(String kid, byte[] encrypted) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(128, encrypted, 0, IV_LENGTH));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(encrypted, IV_LENGTH, encrypted.length - IV_LENGTH);
+    }
+
+    private static SecretKey deriveEncryptionKey(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(("signing-key-encryption:" + secret).getBytes(StandardCharsets.UTF_8));
+            return new SecretKeySpec(digest, "AES");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static Map<String, Object> jwk(String kid, ECPublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", coordinate(key.getW().getAffineX()));
+        jwk.put("y", coordinate(key.getW().getAffineY()));
+        return jwk;
+    }
+
+    // JWK coordinates are fixed-length unsigned big-endian, BigInteger adds a sign byte or drops leading zeros
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, fixed.length);
+        System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private static Jwks jwks(List<Map<String, Object>> keys) {
+        try {
+            String json = OBJECT_MAPPER.writeValueAsString(Map.of("keys", keys));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return new Jwks(json, "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not render JWKS", ex);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.dto.TokenGenerationRow;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// In-memory view of per-user token generations, holding only users bumped within one access-token lifetime.
+// Everyone else is implicitly current, so the map stays small and the request path never reads the database.
+@Slf4j
+@Component
+public class TokenGenerationRegistry {
+
+    private record Entry(int generation, Instant observedAt) {
+    }
+
+    private final AccountRepository accountRepository;
+    private final Duration retention;
+    private final Duration overlap;
+    private final ConcurrentMap<UUID, Entry> generations = new ConcurrentHashMap<>();
+    private volatile Instant watermark;
+
+    public TokenGenerationRegistry(AccountRepository accountRepository,
+                                   SecurityEnvironments securityEnvironments,
+                                   @Value("${token.generation.poll-overlap:10s}") Duration overlap) {
+        this.accountRepository = accountRepository;
+        // after one token lifetime every token minted before a bump has expired on its own
+        this.retention = Duration.ofMinutes(securityEnvironments.getTokenExpirationInMinutes());
+        this.overlap = overlap;
+        this.watermark = Instant.now().minus(retention);
+    }
+
+    public boolean isCurrent(UUID userId, int generation) {
+        Entry entry = generations.get(userId);
+        return entry == null || generation >= entry.generation();
+    }
+
+    // Bumps made on this node take effect here as soon as they commit; other nodes pick them up on their next poll
+    public void record(UUID userId, int generation) {
+        TransactionCallbacks.afterCommit(() -> apply(userId, generation, Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${token.generation.poll-interval:5s}")
+    public void poll() {
+        Instant startedAt = Instant.now();
+        try {
+            // the overlap covers bumps that committed after a previous poll had already read past their timestamp
+            for (TokenGenerationRow change : accountRepository.findTokenGenerationChangesSince(watermark.minus(overlap))) {
+                apply(change.getUserId(), change.getTokenGeneration(), startedAt);
+            }
+            watermark = startedAt;
+        } catch (DataAccessException ex) {
+            log.warn("Token generation poll failed, retrying from {}: {}", watermark, ex.getMessage());
+        }
+        prune(startedAt);
+    }
+
+    int size() {
+        return generations.size();
+    }
+
+    private void apply(UUID userId, int generation, Instant observedAt) {
+        generations.merge(userId, new Entry(generation, observedAt),
+                (current, incoming) -> incoming.generation() > current.generation() ? incoming : current);
+    }
+
+    private void prune(Instant now) {
+        Instant cutoff = now.minus(retention);
+        generations.values().removeIf(entry -> entry.observedAt().isBefore(cutoff));
+    }
+}
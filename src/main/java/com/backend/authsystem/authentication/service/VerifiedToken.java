@@ -0,0 +1,63 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.util.PermissionBitset;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// Immutable result of a single signature + expiry check on an access token
+public record VerifiedToken(String subject,
+                            UUID tokenId,
+                            UUID userId,
+                            int generation,
+                            Instant expiresAt,
+                            List<String> roles,
+                            List<String> permissions) {
+
+    public VerifiedToken {
+        roles = List.copyOf(roles);
+        permissions = List.copyOf(permissions);
+    }
+
+    public static VerifiedToken from(Claims claims) {
+        String userId = claims.get(JwtService.USER_ID_CLAIM, String.class);
+        return new VerifiedToken(
+                claims.getSubject(),
+                tokenId(claims),
+                userId != null ? UUID.fromString(userId) : null,
+                generation(claims),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                JwtService.extractStringList(claims, JwtService.ROLES_CLAIM),
+                permissions(claims)
+        );
+    }
+
+    // Compact tokens carry a bitset instead of the name list; either way the filter gets plain names
+    private static List<String> permissions(Claims claims) {
+        String bits = claims.get(JwtService.PERMISSION_BITS_CLAIM, String.class);
+        return bits != null
+                ? PermissionBitset.decode(bits)
+                : JwtService.extractStringList(claims, JwtService.PERMISSIONS_CLAIM);
+    }
+
+    // Tokens issued before jti was set correctly carry no usable id and can only be cut off by generation
+    private static UUID tokenId(Claims claims) {
+        try {
+            return claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    // Tokens minted before generations existed count as generation 0
+    private static int generation(Claims claims) {
+        Object value = claims.get(JwtService.GENERATION_CLAIM);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt == null || !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,83 @@
+package com.backend.authsystem.authentication.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+// Bounded cache of already verified access tokens, keyed by the signature segment; each entry expires with its token.
+// The full token is kept next to the result so a reused signature with another payload never matches.
+// Caffeine keeps reads lock-free, so concurrent requests never queue on the cache.
+class VerifiedTokenCache {
+
+    private record Entry(String token, VerifiedToken verified) {
+    }
+
+    private final Cache<String, Entry> entries;
+
+    VerifiedTokenCache(int maxSize) {
+        this.entries = maxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String signature, Entry entry, long currentTime) {
+                        return untilExpiry(entry);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String signature, Entry entry, long currentTime, long currentDuration) {
+                        return untilExpiry(entry);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String signature, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private static long untilExpiry(Entry entry) {
+        Instant expiresAt = entry.verified().expiresAt();
+        if (expiresAt == null) {
+            return 0;
+        }
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative()) {
+            return 0;
+        }
+        // saturate instead of overflowing for far-future expiries
+        return ttl.getSeconds() >= TimeUnit.NANOSECONDS.toSeconds(Long.MAX_VALUE) ? Long.MAX_VALUE : ttl.toNanos();
+    }
+
+    VerifiedToken get(String signature, String token) {
+        if (entries == null) {
+            return null;
+        }
+        Entry entry = entries.getIfPresent(signature);
+        return entry != null && entry.token().equals(token) ? entry.verified() : null;
+    }
+
+    void put(String signature, String token, VerifiedToken verified) {
+        if (entries != null) {
+            entries.put(signature, new Entry(token, verified));
+        }
+    }
+
+    void remove(String signature) {
+        if (entries != null) {
+            entries.invalidate(signature);
+        }
+    }
+
+    int size() {
+        if (entries == null) {
+            return 0;
+        }
+        entries.cleanUp();
+        return Math.toIntExact(entries.estimatedSize());
+    }
+}
@@ -0,0 +1,50 @@
+package com.backend.authsystem.authentication.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Reads the first column of a CSV upload (a student user id or email per line). Blank lines are skipped and a
+// leading header row is recognised by name; anything else is returned as-is for the import report to judge.
+public final class EnrollmentCsv {
+
+    private static final Set<String> HEADERS = Set.of("email", "student", "student_id", "studentid", "user_id", "userid", "id");
+
+    private EnrollmentCsv() {
+    }
+
+    public static List<String> entries(String csv) {
+        List<String> entries = new ArrayList<>();
+        if (csv == null) {
+            return entries;
+        }
+        boolean first = true;
+        for (String line : csv.split("\r?\n")) {
+            String cell = firstCell(line);
+            if (cell.isEmpty()) {
+                continue;
+            }
+            if (first && HEADERS.contains(cell.toLowerCase(Locale.ROOT))) {
+                first = false;
+                continue;
+            }
+            first = false;
+            entries.add(cell);
+        }
+        return entries;
+    }
+
+    private static String firstCell(String line) {
+        String trimmed = line.strip();
+        if (!trimmed.isEmpty() && trimmed.charAt(0) == '\uFEFF') {
+            trimmed = trimmed.substring(1).strip();
+        }
+        if (trimmed.startsWith("\"")) {
+            int close = trimmed.indexOf('"', 1);
+            return (close < 0 ? trimmed.substring(1) : trimmed.substring(1, close)).strip();
+        }
+        int comma = trimmed.indexOf(',');
+        return (comma < 0 ? trimmed : trimmed.substring(0, comma)).strip();
+    }
+}
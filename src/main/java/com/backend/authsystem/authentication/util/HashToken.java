@@ -3,18 +3,26 @@ package com.backend.authsystem.authentication.util;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
 
 public class HashToken {
 
-    public static String hashToken(String token) {
+    // MessageDigest is not thread-safe and getInstance walks the provider list, so keep one per thread
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("Error hashing token", e);
         }
+    });
+
+    // Raw 32-byte SHA-256 digest, stored as-is in my_refresh_tokens.token_hash (bytea)
+    public static byte[] hashToken(String token) {
+        return hashToken(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Same digest as hashToken(String) for the token's UTF-8 bytes; digest() also resets the instance
+    public static byte[] hashToken(byte[] token) {
+        return SHA_256.get().digest(token);
     }
 
 
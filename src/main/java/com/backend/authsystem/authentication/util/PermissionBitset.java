@@ -0,0 +1,106 @@
+package com.backend.authsystem.authentication.util;
+
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import io.jsonwebtoken.JwtException;
+
+import java.util.*;
+
+import static com.backend.authsystem.authentication.enums.PermissionEnum.*;
+
+// Compact permission claim: "<version>.<base64url bitset>", bit i set when the version's table has the permission at i.
+// Tables are frozen once released. A new permission goes into a new version that appends to the previous table,
+// so tokens minted before a deploy still decode after it and enum reordering never changes a bit's meaning.
+public final class PermissionBitset {
+
+    // What each version appends to the previous version's table; only ever add a new entry at the end
+    private static final List<List<PermissionEnum>> ADDITIONS = List.of(
+            // version 1
+            List.of(
+                    PROFILE_VIEW, PROFILE_UPDATE, ACCOUNT_VIEW, PASSWORD_CHANGE,
+                    COURSE_ENROLLMENT_COUNT, COURSE_ENROLLMENT_LIST, COURSE_ENROLLMENT,
+                    COURSE_CREATE, COURSE_UPDATE, COURSE_PUBLISH, COURSE_OPEN_ENROLLMENT, COURSE_CLOSE_ENROLLMENT,
+                    COURSE_START, COURSE_COMPLETE, COURSE_ARCHIVE, COURSE_VIEW, COURSE_VIEW_ALL,
+                    ASSIGNMENT_CREATE, ASSIGNMENT_UPDATE, ASSIGNMENT_VIEW, ASSIGNMENT_SUBMIT, ASSIGNMENT_PUBLISH,
+                    ASSIGNMENT_SUBMISSION_CLOSE, ASSIGNMENT_START_GRADING, ASSIGNMENT_MARK_GRADED, ASSIGNMENT_ARCHIVE,
+                    ASSIGNMENT_SUBMISSION_VIEW, ASSIGNMENT_SUBMISSION_VIEW_ALL, ASSIGNMENT_GRADE,
+                    COURSE_MATERIAL_CREATE, COURSE_MATERIAL_UPDATE, COURSE_MATERIAL_DELETE, COURSE_MATERIAL_VIEW_ALL,
+                    COURSE_MATERIAL_VIEW, COURSE_MATERIAL_DOWNLOAD,
+                    ROLE_ASSIGN, PERMISSION_ASSIGN, USER_MANAGE
+            ),
+            // version 2
+            List.of(
+                    COURSE_ENROLLMENT_IMPORT
+            )
+    );
+
+    private static final List<List<PermissionEnum>> VERSIONS = buildVersions();
+
+    public static final int CURRENT_VERSION = VERSIONS.size();
+
+    private static final Map<String, Integer> CURRENT_BITS = indexByName(VERSIONS.get(CURRENT_VERSION - 1));
+
+    private PermissionBitset() {
+    }
+
+    public static List<PermissionEnum> table(int version) {
+        return VERSIONS.get(version - 1);
+    }
+
+    // Empty when a name is not in the current table, so the caller can fall back to the plain list
+    public static Optional<String> encode(Collection<String> permissions) {
+        byte[] bits = new byte[(table(CURRENT_VERSION).size() + 7) / 8];
+        int highest = -1;
+        for (String permission : permissions) {
+            Integer bit = CURRENT_BITS.get(permission);
+            if (bit == null) {
+                return Optional.empty();
+            }
+            bits[bit >>> 3] |= (byte) (1 << (bit & 7));
+            highest = Math.max(highest, bit);
+        }
+        // trailing zero bytes carry nothing
+        byte[] trimmed = Arrays.copyOf(bits, highest < 0 ? 0 : (highest >>> 3) + 1);
+        return Optional.of(CURRENT_VERSION + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(trimmed));
+    }
+
+    public static List<String> decode(String claim) {
+        int dot = claim.indexOf('.');
+        List<PermissionEnum> table;
+        byte[] bits;
+        try {
+            table = table(Integer.parseInt(claim.substring(0, dot)));
+            bits = Base64.getUrlDecoder().decode(claim.substring(dot + 1));
+        } catch (RuntimeException ex) {
+            throw new JwtException("Unsupported permission encoding");
+        }
+
+        List<String> permissions = new ArrayList<>();
+        for (int bit = 0; bit < bits.length * 8; bit++) {
+            if ((bits[bit >>> 3] & (1 << (bit & 7))) != 0) {
+                if (bit >= table.size()) {
+                    throw new JwtException("Unsupported permission encoding");
+                }
+                permissions.add(table.get(bit).name());
+            }
+        }
+        return permissions;
+    }
+
+    private static List<List<PermissionEnum>> buildVersions() {
+        List<List<PermissionEnum>> versions = new ArrayList<>();
+        List<PermissionEnum> table = new ArrayList<>();
+        for (List<PermissionEnum> additions : ADDITIONS) {
+            table.addAll(additions);
+            versions.add(List.copyOf(table));
+        }
+        return List.copyOf(versions);
+    }
+
+    private static Map<String, Integer> indexByName(List<PermissionEnum> table) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int bit = 0; bit < table.size(); bit++) {
+            index.put(table.get(bit).name(), bit);
+        }
+        return Map.copyOf(index);
+    }
+}
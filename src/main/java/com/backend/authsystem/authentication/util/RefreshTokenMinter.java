@@ -0,0 +1,77 @@
+package com.backend.authsystem.authentication.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import static java.security.DrbgParameters.Capability.RESEED_ONLY;
+
+// Mints refresh tokens and random ids without touching the process-wide SecureRandom behind UUID.randomUUID.
+// Every thread owns a DRBG seeded from system entropy once, so concurrent logins never contend on a lock.
+public final class RefreshTokenMinter {
+
+    public record MintedToken(String plainToken, byte[] tokenHash) {
+    }
+
+    private static final int TOKEN_BYTES = 32;
+    // one DRBG generate call pays a fixed setup cost, so each thread draws a pool and hands out slices
+    private static final int POOL_BYTES = 1024;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<RandomPool> POOL = ThreadLocal.withInitial(RandomPool::new);
+
+    private RefreshTokenMinter() {
+    }
+
+    // 256 random bits as 43 base64url characters, hashed over the same bytes the client will present
+    public static MintedToken mint() {
+        byte[] random = new byte[TOKEN_BYTES];
+        POOL.get().next(random, TOKEN_BYTES);
+        byte[] encoded = BASE64_URL.encode(random);
+        Arrays.fill(random, (byte) 0);
+        byte[] hash = HashToken.hashToken(encoded);
+        return new MintedToken(new String(encoded, StandardCharsets.ISO_8859_1), hash);
+    }
+
+    // Version 4 UUID from the thread's pool
+    public static UUID randomUuid() {
+        byte[] random = new byte[16];
+        POOL.get().next(random, 16);
+        long most = ByteBuffer.wrap(random, 0, 8).getLong();
+        long least = ByteBuffer.wrap(random, 8, 8).getLong();
+        most = (most & ~0xF000L) | 0x4000L;
+        least = (least & ~0xC000000000000000L) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static final class RandomPool {
+
+        private final SecureRandom drbg;
+        private final byte[] pool = new byte[POOL_BYTES];
+        private int position = POOL_BYTES;
+
+        private RandomPool() {
+            try {
+                drbg = SecureRandom.getInstance("DRBG", DrbgParameters.instantiation(256, RESEED_ONLY, null));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("DRBG not available", e);
+            }
+        }
+
+        // handed-out bytes are wiped so a later heap dump cannot replay issued tokens
+        private void next(byte[] target, int length) {
+            if (position + length > POOL_BYTES) {
+                drbg.nextBytes(pool);
+                position = 0;
+            }
+            System.arraycopy(pool, position, target, 0, length);
+            Arrays.fill(pool, position, position + length, (byte) 0);
+            position += length;
+        }
+    }
+}
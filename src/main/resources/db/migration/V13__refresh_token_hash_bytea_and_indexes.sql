@@ -0,0 +1,10 @@
+-- Store the SHA-256 digest as raw bytes (32 bytes instead of 44 base64 chars) and index both lookup paths
+ALTER TABLE my_refresh_tokens
+    ALTER COLUMN token_hash TYPE BYTEA USING decode(token_hash, 'base64');
+
+ALTER TABLE my_refresh_tokens
+    ADD CONSTRAINT ck_my_refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
+
+CREATE UNIQUE INDEX ux_my_refresh_tokens_token_hash ON my_refresh_tokens (token_hash);
+
+CREATE INDEX ix_my_refresh_tokens_user_id ON my_refresh_tokens (user_id);
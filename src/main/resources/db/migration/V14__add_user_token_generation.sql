@@ -0,0 +1,9 @@
+-- Bumped on logout-all and password change; access tokens carry the generation they were minted with
+ALTER TABLE my_users
+    ADD COLUMN token_generation INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN token_generation_updated_at TIMESTAMP;
+
+-- Nodes poll for recent bumps only, so index just the rows that were ever bumped
+CREATE INDEX ix_my_users_token_generation_updated_at
+    ON my_users (token_generation_updated_at)
+    WHERE token_generation_updated_at IS NOT NULL;
@@ -0,0 +1,51 @@
+-- Range-partition refresh tokens by month of expiry so fully expired months are dropped instead of deleted row by row.
+-- Postgres requires the partition key in every unique constraint, hence (token_id, expires_at) and (token_hash, expires_at);
+-- the hash is SHA-256 over 256 random bits, so uniqueness of the hash alone still holds in practice.
+CREATE TABLE my_refresh_tokens_partitioned (
+    token_id   UUID      NOT NULL,
+    user_id    UUID      NOT NULL,
+    token_hash BYTEA     NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    revoked    BOOLEAN   NOT NULL,
+    revoked_at TIMESTAMP,
+
+    CONSTRAINT pk_my_refresh_tokens PRIMARY KEY (token_id, expires_at),
+    CONSTRAINT ck_my_refresh_tokens_token_hash_length CHECK (octet_length(token_hash) = 32),
+    CONSTRAINT fk_my_refresh_tokens_user
+        FOREIGN KEY (user_id)
+            REFERENCES my_users (user_id)
+            ON DELETE CASCADE
+) PARTITION BY RANGE (expires_at);
+
+-- One partition per month from the oldest stored token up to three months ahead;
+-- RefreshTokenPartitionMaintainer keeps creating future months and dropping expired ones from here on
+DO $$
+DECLARE
+    month DATE := date_trunc('month', LEAST(COALESCE((SELECT min(expires_at) FROM my_refresh_tokens), now()), now()))::date;
+    last  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+BEGIN
+    WHILE month <= last LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF my_refresh_tokens_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       'my_refresh_tokens_' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        month := (month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Safety net so logins keep working if maintenance falls behind
+CREATE TABLE my_refresh_tokens_default PARTITION OF my_refresh_tokens_partitioned DEFAULT;
+
+INSERT INTO my_refresh_tokens_partitioned (token_id, user_id, token_hash, expires_at, created_at, revoked, revoked_at)
+SELECT token_id, user_id, token_hash, expires_at, created_at, revoked, revoked_at
+FROM my_refresh_tokens;
+
+DROP TABLE my_refresh_tokens;
+
+ALTER TABLE my_refresh_tokens_partitioned RENAME TO my_refresh_tokens;
+
+CREATE UNIQUE INDEX ux_my_refresh_tokens_token_hash ON my_refresh_tokens (token_hash, expires_at);
+
+CREATE INDEX ix_my_refresh_tokens_user_id ON my_refresh_tokens (user_id);
+
+-- Lets the reaper find revoked rows in the current months without scanning live tokens
+CREATE INDEX ix_my_refresh_tokens_revoked_at ON my_refresh_tokens (revoked_at) WHERE revoked;
@@ -0,0 +1,12 @@
+-- Individually revoked access tokens (stolen token, admin kill); rows are only needed until the token would have expired
+CREATE TABLE revoked_access_tokens (
+                                       jti UUID PRIMARY KEY,
+                                       user_id UUID,
+
+                                       expires_at TIMESTAMP NOT NULL,
+                                       revoked_at TIMESTAMP NOT NULL,
+
+                                       reason VARCHAR(255)
+);
+
+CREATE INDEX ix_revoked_access_tokens_expires_at ON revoked_access_tokens (expires_at);
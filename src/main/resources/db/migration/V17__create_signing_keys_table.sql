@@ -0,0 +1,14 @@
+-- Asymmetric access-token signing keys shared by every node; private keys are AES-GCM encrypted with a key derived from token.secret
+CREATE TABLE signing_keys (
+                              kid VARCHAR(64) PRIMARY KEY,
+                              algorithm VARCHAR(16) NOT NULL,
+
+                              public_key BYTEA NOT NULL,
+                              private_key BYTEA NOT NULL,
+
+                              created_at TIMESTAMP NOT NULL,
+                              -- published in the JWKS before this, used for signing from this point on
+                              activates_at TIMESTAMP NOT NULL,
+                              -- set once a newer key takes over; tokens signed earlier stay verifiable until then
+                              expires_at TIMESTAMP
+);
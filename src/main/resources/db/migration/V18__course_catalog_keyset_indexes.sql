@@ -0,0 +1,7 @@
+-- Keyset pagination of the course catalog walks (created_at, course_id) newest first; one index per filter shape
+-- so a page is a bounded index range scan whichever filters are set
+CREATE INDEX ix_course_created_at_course_id ON course (created_at, course_id);
+
+CREATE INDEX ix_course_state_created_at ON course (state, created_at, course_id);
+
+CREATE INDEX ix_course_year_semester_created_at ON course (academic_year, semester, created_at, course_id);
@@ -0,0 +1,12 @@
+-- Seats are reserved with a conditional UPDATE on this counter instead of COUNT(*) over course_enrollments
+ALTER TABLE course
+    ADD COLUMN enrolled_count INT NOT NULL DEFAULT 0;
+
+UPDATE course c
+   SET enrolled_count = (SELECT count(*)
+                           FROM course_enrollments e
+                          WHERE e.course_id = c.course_id
+                            AND e.is_deleted = false);
+
+ALTER TABLE course
+    ADD CONSTRAINT ck_course_enrolled_count CHECK (enrolled_count >= 0);
@@ -0,0 +1,33 @@
+-- Queued enrollment requests; shared by every node so a ticket can be polled anywhere and survives restarts
+CREATE TABLE enrollment_tickets (
+                                    ticket_id UUID PRIMARY KEY,
+
+                                    course_id UUID NOT NULL,
+                                    student_id UUID NOT NULL,
+
+                                    status VARCHAR(32) NOT NULL,
+                                    submitted_at TIMESTAMP NOT NULL,
+                                    resolved_at TIMESTAMP,
+
+                                    enrollment_id UUID,
+
+                                    CONSTRAINT fk_enrollment_ticket_course
+                                        FOREIGN KEY (course_id)
+                                            REFERENCES course(course_id)
+                                            ON DELETE CASCADE,
+
+                                    CONSTRAINT fk_enrollment_ticket_student
+                                        FOREIGN KEY (student_id)
+                                            REFERENCES my_users(user_id)
+                                            ON DELETE CASCADE,
+
+                                    CONSTRAINT uq_enrollment_ticket_course_student
+                                        UNIQUE (course_id, student_id)
+);
+
+-- The drain worker only ever reads pending tickets, oldest first
+CREATE INDEX ix_enrollment_tickets_pending
+    ON enrollment_tickets (course_id, submitted_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX ix_enrollment_tickets_resolved_at ON enrollment_tickets (resolved_at);
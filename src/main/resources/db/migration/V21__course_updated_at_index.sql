@@ -0,0 +1,2 @@
+-- Each node polls for courses changed since its last poll to evict them from its course cache
+CREATE INDEX ix_course_updated_at ON course (updated_at);
@@ -0,0 +1,22 @@
+-- DETACH PARTITION ... CONCURRENTLY is not allowed while the table has a default partition, so expired months could
+-- only be dropped under an ACCESS EXCLUSIVE lock on my_refresh_tokens. Rows that landed in the default partition move
+-- to monthly partitions of their own; RefreshTokenPartitionMaintainer keeps months-ahead partitions in place instead.
+ALTER TABLE my_refresh_tokens DETACH PARTITION my_refresh_tokens_default;
+
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN SELECT DISTINCT date_trunc('month', expires_at)::date FROM my_refresh_tokens_default LOOP
+        IF to_regclass('my_refresh_tokens_' || to_char(month, 'YYYY_MM')) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF my_refresh_tokens FOR VALUES FROM (%L) TO (%L)',
+                           'my_refresh_tokens_' || to_char(month, 'YYYY_MM'), month, (month + INTERVAL '1 month')::date);
+        END IF;
+    END LOOP;
+END $$;
+
+INSERT INTO my_refresh_tokens (token_id, user_id, token_hash, expires_at, created_at, revoked, revoked_at)
+SELECT token_id, user_id, token_hash, expires_at, created_at, revoked, revoked_at
+FROM my_refresh_tokens_default;
+
+DROP TABLE my_refresh_tokens_default;
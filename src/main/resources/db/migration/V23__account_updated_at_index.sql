@@ -0,0 +1,5 @@
+-- Each node polls for accounts changed since its last poll to evict them from its account cache;
+-- accounts that were never updated are never polled for, so only index the rows that were
+CREATE INDEX ix_my_users_updated_at
+    ON my_users (updated_at)
+    WHERE updated_at IS NOT NULL;
@@ -0,0 +1,98 @@
+package com.backend.authsystem.authentication.cache;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AccountCache accountCache = new AccountCache(meterRegistry, 100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private AccountEntity load(AtomicInteger loads, String email) {
+        loads.incrementAndGet();
+        return AccountEntity.builder().email(email).build();
+    }
+
+    @Test
+    void shouldLoadOnceAndRecordHitsAndMisses() {
+        AtomicInteger loads = new AtomicInteger();
+
+        accountCache.get("a@test.com", email -> load(loads, email));
+        accountCache.get("a@test.com", email -> load(loads, email));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, accountCache.stats().hitCount());
+        assertEquals(1, accountCache.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        AtomicInteger loads = new AtomicInteger();
+        accountCache.get("a@test.com", email -> load(loads, email));
+
+        accountCache.evict("a@test.com");
+        accountCache.get("a@test.com", email -> load(loads, email));
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.invalidations").counter().count());
+    }
+
+    @Test
+    void shouldDeferEvictionUntilCommit() {
+        AtomicInteger loads = new AtomicInteger();
+        accountCache.get("a@test.com", email -> load(loads, email));
+        accountCache.get("b@test.com", email -> load(loads, email));
+
+        TransactionSynchronizationManager.initSynchronization();
+        accountCache.evictAll(List.of("a@test.com", "b@test.com"));
+        accountCache.get("a@test.com", email -> load(loads, email));
+        assertEquals(2, loads.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        accountCache.get("a@test.com", email -> load(loads, email));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldHandOutCopiesSoCallersCannotChangeTheCachedAccount() {
+        AtomicInteger loads = new AtomicInteger();
+        AccountEntity first = accountCache.get("a@test.com", email -> load(loads, email));
+
+        first.setPassword("changed");
+
+        assertNull(accountCache.get("a@test.com", email -> load(loads, email)).getPassword());
+        assertNotSame(first, accountCache.get("a@test.com", email -> load(loads, email)));
+        assertThrows(UnsupportedOperationException.class, () -> first.getRoles().add(RoleEntity.builder().build()));
+    }
+
+    @Test
+    void shouldEvictChangedAccountsImmediately() {
+        AtomicInteger loads = new AtomicInteger();
+        accountCache.get("a@test.com", email -> load(loads, email));
+
+        TransactionSynchronizationManager.initSynchronization();
+        accountCache.evictChanged(List.of("a@test.com"));
+        accountCache.get("a@test.com", email -> load(loads, email));
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,87 @@
+package com.backend.authsystem.authentication.cache;
+
+import com.backend.authsystem.authentication.dto.course.CoursePageResponseDto;
+import com.backend.authsystem.authentication.dto.course.CourseResponseDto;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCacheTest {
+
+    private final CourseCache courseCache = new CourseCache(new SimpleMeterRegistry(),
+            new ObjectMapper().registerModule(new JavaTimeModule()), 100, 100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CourseResponseDto course(UUID id, CourseState state) {
+        return new CourseResponseDto(id, "CS101", "Algorithms", null, state, Semester.FIRST, "2025/2026", 30,
+                UUID.randomUUID().toString(), Instant.EPOCH, Instant.EPOCH);
+    }
+
+    @Test
+    void shouldLoadOnceAndKeepTheSameStrongETag() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        CourseCache.Versioned<CourseResponseDto> first = courseCache.course(id, key -> {
+            loads.incrementAndGet();
+            return course(key, CourseState.PUBLISHED);
+        });
+        CourseCache.Versioned<CourseResponseDto> second = courseCache.course(id, key -> {
+            loads.incrementAndGet();
+            return course(key, CourseState.PUBLISHED);
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(first.etag(), second.etag());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void evictionShouldWaitForCommitAndChangeTheETag() {
+        UUID id = UUID.randomUUID();
+        String before = courseCache.course(id, key -> course(key, CourseState.PUBLISHED)).etag();
+
+        TransactionSynchronizationManager.initSynchronization();
+        courseCache.evict(id);
+        assertEquals(before, courseCache.course(id, key -> course(key, CourseState.ENROLLMENT_OPEN)).etag());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertNotEquals(before, courseCache.course(id, key -> course(key, CourseState.ENROLLMENT_OPEN)).etag());
+    }
+
+    @Test
+    void anyCourseWriteShouldInvalidateEveryCatalogPage() {
+        AtomicInteger loads = new AtomicInteger();
+        CoursePageResponseDto empty = new CoursePageResponseDto(List.of(), null);
+
+        courseCache.page(null, Semester.FIRST, null, null, 20, () -> { loads.incrementAndGet(); return empty; });
+        courseCache.page(null, Semester.FIRST, null, null, 20, () -> { loads.incrementAndGet(); return empty; });
+        courseCache.evictCatalog();
+        courseCache.page(null, Semester.FIRST, null, null, 20, () -> { loads.incrementAndGet(); return empty; });
+
+        assertEquals(2, loads.get());
+    }
+}
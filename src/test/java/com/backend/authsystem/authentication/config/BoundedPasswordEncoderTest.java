@@ -0,0 +1,89 @@
+package com.backend.authsystem.authentication.config;
+
+import com.backend.authsystem.authentication.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    // Blocks every hash until the test releases it
+    private final PasswordEncoder blocking = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    };
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void shouldDelegateAndRecordLatency() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(blocking,
+                new PasswordHashingEnvironments(1, 1, Duration.ofSeconds(5), 2), meterRegistry);
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertEquals(1, meterRegistry.get("password.hashing.latency").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void shouldRejectImmediatelyWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blocking,
+                new PasswordHashingEnvironments(1, 1, Duration.ofSeconds(5), 3), meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingUnavailableException ex =
+                assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("third"));
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejections").counter().count());
+
+        release.countDown();
+        assertEquals("hashed:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed:second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldRejectWhenWaitTimesOut() {
+        encoder = new BoundedPasswordEncoder(blocking,
+                new PasswordHashingEnvironments(1, 1, Duration.ofMillis(50), 2), meterRegistry);
+
+        assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode("slow"));
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejections").counter().count());
+    }
+}
@@ -0,0 +1,257 @@
+package com.backend.authsystem.authentication.config;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.PermissionEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import com.backend.authsystem.authentication.service.AccessTokenRevocationList;
+import com.backend.authsystem.authentication.service.AuthMetrics;
+import com.backend.authsystem.authentication.service.AuthorityRegistry;
+import com.backend.authsystem.authentication.service.CustomUserDetails;
+import com.backend.authsystem.authentication.service.CustomUserDetailsService;
+import com.backend.authsystem.authentication.service.JwtPrincipal;
+import com.backend.authsystem.authentication.service.JwtService;
+import com.backend.authsystem.authentication.service.TokenGenerationRegistry;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET =
+            "this-is-a-very-long-64-character-secret-key-for-hs512-algorithm-test-123456789";
+
+    private final CustomUserDetailsService customUserDetailsService = mock(CustomUserDetailsService.class);
+    private final HandlerExceptionResolver handlerExceptionResolver = mock(HandlerExceptionResolver.class);
+    private final AuthorityRegistry authorityRegistry = new AuthorityRegistry(mock(RoleRepository.class));
+    private final TokenGenerationRegistry tokenGenerationRegistry = new TokenGenerationRegistry(
+            mock(AccountRepository.class), new SecurityEnvironments(SECRET, 10, 4, true, 100), Duration.ofSeconds(10));
+    private final AccessTokenRevocationList accessTokenRevocationList =
+            new AccessTokenRevocationList(mock(RevokedAccessTokenRepository.class), 100);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtAuthenticationFilter filter(SecurityEnvironments environments, JwtService jwtService) {
+        return new JwtAuthenticationFilter(jwtService, customUserDetailsService, handlerExceptionResolver, environments, authorityRegistry, tokenGenerationRegistry, accessTokenRevocationList, new AuthMetrics(meterRegistry, false));
+    }
+
+    private AccountEntity user() {
+        PermissionEntity permission = PermissionEntity.builder()
+                .permissionId(UUID.randomUUID())
+                .permissionName(PermissionEnum.COURSE_VIEW)
+                .build();
+        RoleEntity role = RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(RoleEnum.ROLE_STUDENT)
+                .createdAt(Instant.now())
+                .build();
+        role.addPermission(permission);
+
+        AccountEntity user = AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .email("student@test.com")
+                .password("encoded")
+                .build();
+        user.addRole(role);
+        return user;
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/course");
+        request.setServletPath("/api/v1/course");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutLoadingUser() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, true, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        AccountEntity user = user();
+        String token = jwtService.generateAccessTokenFromUser(user);
+
+        filter(environments, jwtService).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        JwtPrincipal principal = assertInstanceOf(JwtPrincipal.class, authentication.getPrincipal());
+        assertEquals(user.getUserId(), principal.userId());
+        assertEquals("student@test.com", authentication.getName());
+        assertTrue(authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList()
+                .containsAll(List.of("ROLE_STUDENT", "COURSE_VIEW")));
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void shouldFallBackToAccountLookupForTokensWithoutUserIdInClaimsOnlyMode() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, true, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        AccountEntity user = user();
+        // minted before the userId claim was added
+        String legacy = Jwts.builder()
+                .setSubject("student@test.com")
+                .claim(JwtService.ROLES_CLAIM, List.of("ROLE_STUDENT"))
+                .claim(JwtService.PERMISSIONS_CLAIM, List.of("COURSE_VIEW"))
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plus(Duration.ofMinutes(10))))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+        when(customUserDetailsService.loadUserByUsername("student@test.com"))
+                .thenReturn(new CustomUserDetails(user, authorityRegistry.forClaims(
+                        List.of("ROLE_STUDENT"), List.of("COURSE_VIEW"))));
+
+        filter(environments, jwtService).doFilter(request(legacy), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserDetails details = assertInstanceOf(CustomUserDetails.class, authentication.getPrincipal());
+        assertEquals(user.getUserId(), details.user().getUserId());
+    }
+
+    @Test
+    void shouldLoadUserWhenClaimsOnlyModeIsDisabled() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, false, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        AccountEntity user = user();
+        String token = jwtService.generateAccessTokenFromUser(user);
+        when(customUserDetailsService.loadUserByUsername("student@test.com"))
+                .thenReturn(new CustomUserDetails(user, authorityRegistry.forClaims(
+                        List.of("ROLE_STUDENT"), List.of("COURSE_VIEW"))));
+
+        filter(environments, jwtService).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertInstanceOf(CustomUserDetails.class, authentication.getPrincipal());
+        verify(customUserDetailsService).loadUserByUsername("student@test.com");
+    }
+
+    @Test
+    void shouldRejectTamperedTokenInClaimsOnlyMode() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, true, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        String token = jwtService.generateAccessTokenFromUser(user());
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        filter(environments, jwtService).doFilter(request(tampered), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(handlerExceptionResolver).resolveException(any(), any(), isNull(), any(JwtException.class));
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void shouldRejectTokenFromEarlierGenerationInBothModes() throws Exception {
+        for (boolean claimsOnly : List.of(true, false)) {
+            SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, claimsOnly, 100);
+            JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+            AccountEntity user = user();
+            String token = jwtService.generateAccessTokenFromUser(user);
+            tokenGenerationRegistry.record(user.getUserId(), 1);
+
+            filter(environments, jwtService).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+
+            assertNull(SecurityContextHolder.getContext().getAuthentication());
+        }
+        verify(handlerExceptionResolver, times(2)).resolveException(any(), any(), isNull(), any(JwtException.class));
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void shouldRejectIndividuallyRevokedTokenButAcceptOthers() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, true, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        AccountEntity user = user();
+        String revoked = jwtService.generateAccessTokenFromUser(user);
+        String other = jwtService.generateAccessTokenFromUser(user);
+        accessTokenRevocationList.record(jwtService.verify(revoked).tokenId(), Instant.now().plusSeconds(600));
+
+        filter(environments, jwtService).doFilter(request(revoked), new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        filter(environments, jwtService).doFilter(request(other), new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(handlerExceptionResolver, times(1)).resolveException(any(), any(), isNull(), any(JwtException.class));
+    }
+
+    private long stageCount(String stage, String outcome) {
+        Timer timer = meterRegistry.find("auth.stage").tags("stage", stage, "outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    void shouldTimeEachStageTaggedByOutcome() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, true, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        AccountEntity user = user();
+        String token = jwtService.generateAccessTokenFromUser(user);
+        String revoked = jwtService.generateAccessTokenFromUser(user);
+        accessTokenRevocationList.record(jwtService.verify(revoked).tokenId(), Instant.now().plusSeconds(600));
+        SecurityEnvironments expiring = new SecurityEnvironments(SECRET, -1, 4, true, 100);
+        String expired = new JwtService(mock(RefreshTokenRepository.class), expiring).generateAccessTokenFromUser(user);
+
+        filter(environments, jwtService).doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        filter(environments, jwtService).doFilter(request(revoked), new MockHttpServletResponse(), new MockFilterChain());
+        filter(environments, jwtService).doFilter(request(expired), new MockHttpServletResponse(), new MockFilterChain());
+        filter(environments, jwtService).doFilter(request("not.a.jwt"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, stageCount("filter.authenticate", "ok"));
+        assertEquals(1, stageCount("filter.authenticate", "revoked"));
+        assertEquals(1, stageCount("filter.authenticate", "expired"));
+        assertEquals(1, stageCount("filter.authenticate", "invalid"));
+        assertEquals(2, stageCount("filter.verify", "ok"));
+        assertEquals(1, stageCount("filter.revocation", "revoked"));
+        assertEquals(1, stageCount("filter.authorities", "ok"));
+        assertEquals(1, stageCount("filter.chain", "ok"));
+    }
+
+    @Test
+    void shouldTagMissingUserWhenLoadingUserDetails() throws Exception {
+        SecurityEnvironments environments = new SecurityEnvironments(SECRET, 10, 4, false, 100);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), environments);
+        String token = jwtService.generateAccessTokenFromUser(user());
+        when(customUserDetailsService.loadUserByUsername("student@test.com"))
+                .thenThrow(new UsernameNotFoundException("User not found"));
+
+        assertThrows(UsernameNotFoundException.class, () -> filter(environments, jwtService)
+                .doFilter(request(token), new MockHttpServletResponse(), new MockFilterChain()));
+
+        assertEquals(1, stageCount("filter.user-lookup", "user-missing"));
+        assertEquals(1, stageCount("filter.authenticate", "user-missing"));
+    }
+}
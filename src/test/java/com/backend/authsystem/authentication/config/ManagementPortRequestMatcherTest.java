@@ -0,0 +1,48 @@
+package com.backend.authsystem.authentication.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ManagementPortRequestMatcherTest {
+
+    private final ManagementPortRequestMatcher matcher = new ManagementPortRequestMatcher();
+
+    private void started(String namespace, int port) {
+        WebServerApplicationContext context = mock(WebServerApplicationContext.class);
+        when(context.getServerNamespace()).thenReturn(namespace);
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.getPort()).thenReturn(port);
+        WebServerInitializedEvent event = mock(WebServerInitializedEvent.class);
+        when(event.getApplicationContext()).thenReturn(context);
+        when(event.getWebServer()).thenReturn(webServer);
+        matcher.onApplicationEvent(event);
+    }
+
+    private MockHttpServletRequest requestOn(int port) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        request.setLocalPort(port);
+        return request;
+    }
+
+    @Test
+    void shouldMatchOnlyRequestsOnTheManagementServer() {
+        started(null, 8080);
+        started("management", 9090);
+
+        assertTrue(matcher.matches(requestOn(9090)));
+        assertFalse(matcher.matches(requestOn(8080)));
+    }
+
+    @Test
+    void shouldMatchNothingWithoutSeparateManagementServer() {
+        started(null, 8080);
+
+        assertFalse(matcher.matches(requestOn(8080)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.backend.authsystem.authentication.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderCalibratorTest {
+
+    private PasswordEncodingEnvironments environments(String algorithm, long targetMillis) {
+        return new PasswordEncodingEnvironments(algorithm, targetMillis, 4, 1000, 1024, 1, 1);
+    }
+
+    @Test
+    void shouldMatchLegacyUnprefixedBcryptAndFlagItForUpgrade() {
+        PasswordEncoder encoder = PasswordEncoderCalibrator.build(environments("bcrypt", 0));
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void shouldPrefixNewHashesWithActiveAlgorithm() {
+        PasswordEncoder encoder = PasswordEncoderCalibrator.build(environments("argon2", 0));
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{argon2}"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void shouldUpgradeHashesFromPreviousAlgorithm() {
+        String bcryptHash = PasswordEncoderCalibrator.build(environments("bcrypt", 0)).encode("secret");
+        PasswordEncoder pbkdf2 = PasswordEncoderCalibrator.build(environments("pbkdf2", 0));
+
+        assertTrue(pbkdf2.matches("secret", bcryptHash));
+        assertTrue(pbkdf2.upgradeEncoding(bcryptHash));
+    }
+
+    @Test
+    void shouldUpgradeOnlyHashesBelowConfiguredMinimumCost() {
+        PasswordEncoder encoder = PasswordEncoderCalibrator.build(
+                new PasswordEncodingEnvironments("bcrypt", 0L, 5, 1000, 1024, 1, 1));
+
+        // a peer that calibrated higher or lower is left alone as long as it stayed above the floor
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    void shouldKeepConfiguredPbkdf2IterationsSoHashesVerifyEverywhere() {
+        // the iteration count is not part of a PBKDF2 hash, so a calibrated count could not verify it elsewhere
+        String hash = PasswordEncoderCalibrator.build(environments("pbkdf2", 60_000)).encode("secret");
+        PasswordEncoder uncalibrated = PasswordEncoderCalibrator.build(environments("pbkdf2", 0));
+
+        assertTrue(uncalibrated.matches("secret", hash));
+        assertFalse(uncalibrated.upgradeEncoding(hash));
+    }
+
+    @Test
+    void shouldNeverCalibrateBelowConfiguredMinimum() {
+        assertTrue(PasswordEncoderCalibrator.calibrateBcrypt(4, 1) >= 4);
+        assertEquals(1000, PasswordEncoderCalibrator.scale(1000, 0,
+                iterations -> new BCryptPasswordEncoder(4)));
+    }
+
+    @Test
+    void shouldRejectUnknownAlgorithm() {
+        assertThrows(IllegalStateException.class,
+                () -> PasswordEncoderCalibrator.build(environments("md5", 0)));
+    }
+}
@@ -164,7 +164,7 @@ class AuthControllerIntegrationIT {
                     .andExpect(jsonPath("$.message").value("Registration successfully, Please log in."));
 
             // Assert user persisted with default role
-            AccountEntity savedUser = accountRepository.findByEmail(newUser.email()).orElseThrow();
+            AccountEntity savedUser = accountRepository.findWithAuthoritiesByEmail(newUser.email()).orElseThrow();
             assertThat(savedUser.getRoles()).extracting(RoleEntity::getRoleName).contains(RoleEnum.ROLE_USER);
         }
 
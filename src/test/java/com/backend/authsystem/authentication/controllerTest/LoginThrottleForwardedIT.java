@@ -0,0 +1,69 @@
+package com.backend.authsystem.authentication.controllerTest;
+
+
+import com.backend.authsystem.authentication.dto.UserloginDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs on a real Tomcat so the forwarded-headers handling is the one used in production: the login throttle must
+// key on the client behind the proxy (X-Forwarded-For), not on the proxy every client connects through
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"login.throttle.ip.capacity=2", "login.throttle.ip.refill=1h"})
+@Testcontainers
+class LoginThrottleForwardedIT {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private ResponseEntity<String> loginFrom(String clientIp, String email) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.add("X-Forwarded-For", clientIp);
+        return restTemplate.postForEntity("/api/v1/auth/login",
+                new HttpEntity<>(new UserloginDto("password123", email), headers), String.class);
+    }
+
+    @Test
+    void shouldThrottleEachForwardedClientSeparately() {
+        assertEquals(HttpStatus.NOT_FOUND, loginFrom("203.0.113.7", "first@test.com").getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, loginFrom("203.0.113.7", "second@test.com").getStatusCode());
+
+        ResponseEntity<String> throttled = loginFrom("203.0.113.7", "third@test.com");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, throttled.getStatusCode());
+        assertNotNull(throttled.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        // same proxy, different client: its own bucket
+        assertEquals(HttpStatus.NOT_FOUND, loginFrom("198.51.100.1", "third@test.com").getStatusCode());
+    }
+}
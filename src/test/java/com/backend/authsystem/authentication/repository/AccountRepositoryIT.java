@@ -1,9 +1,12 @@
 package com.backend.authsystem.authentication.repository;
 
+import com.backend.authsystem.authentication.dto.AccountIdentity;
 import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
+import com.backend.authsystem.authentication.util.HashToken;
 import com.backend.authsystem.authentication.entity.RoleEntity;
 import com.backend.authsystem.authentication.enums.RoleEnum;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -65,7 +68,7 @@ class AccountRepositoryIT {
         return RefreshTokenEntity.builder()
                 .myUser(user)
                 .tokenId(UUID.randomUUID())
-                .tokenHash("hash")
+                .tokenHash(HashToken.hashToken("hash"))
                 .createdAt(Instant.now())
                 .expiresAt(Instant.now().plus(7, ChronoUnit.DAYS))
                 .revoked(false)
@@ -179,22 +182,44 @@ class AccountRepositoryIT {
     }
 
     @Test
-    void shouldLoadRolesEagerly() {
+    void shouldLoadRolesThroughAuthoritiesGraph() {
         RoleEntity role =  buildTestRole(RoleEnum.ROLE_ADMIN);
         entityManager.persist(role);
 
-        AccountEntity user = createUser("eager@example.com");
+        AccountEntity user = createUser("graph@example.com");
         user.addRole(role);
         accountRepository.save(user);
 
         entityManager.flush();
         entityManager.clear();
 
+        AccountEntity plain =
+                accountRepository.findByEmail("graph@example.com")
+                        .orElseThrow(() -> new AssertionError("User should exist"));
+        assertFalse(Hibernate.isInitialized(plain.getRoles()));
+
+        entityManager.clear();
+
         AccountEntity reloaded =
-                accountRepository.findByEmail("eager@example.com")
+                accountRepository.findWithAuthoritiesByEmail("graph@example.com")
                         .orElseThrow(() -> new AssertionError("Role should exist"));
 
+        assertTrue(Hibernate.isInitialized(reloaded.getRoles()));
         assertFalse(reloaded.getRoles().isEmpty());
+        assertTrue(Hibernate.isInitialized(reloaded.getRoles().iterator().next().getPermissions()));
+    }
+
+    @Test
+    void shouldProjectIdentityWithoutLoadingEntity() {
+        AccountEntity user = createUser("identity@example.com");
+        entityManager.flush();
+        entityManager.clear();
+
+        AccountIdentity identity = accountRepository.findIdentityByUserId(user.getUserId())
+                .orElseThrow(() -> new AssertionError("User should exist"));
+
+        assertEquals(user.getUserId(), identity.userId());
+        assertEquals("identity@example.com", identity.email());
     }
 
 
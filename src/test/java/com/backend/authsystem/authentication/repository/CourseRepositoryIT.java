@@ -0,0 +1,136 @@
+package com.backend.authsystem.authentication.repository;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.CourseEntity;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.util.CourseCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Testcontainers
+class CourseRepositoryIT {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private AccountEntity lecturer() {
+        return accountRepository.save(AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("Ada")
+                .lastname("Lovelace")
+                .email("lecturer-" + UUID.randomUUID() + "@test.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    private void insertCourses(AccountEntity lecturer, int count, Semester semester) {
+        for (int i = 0; i < count; i++) {
+            courseRepository.save(CourseEntity.builder()
+                    .code(semester + "-" + UUID.randomUUID())
+                    .title("Course " + i)
+                    .semester(semester)
+                    .academicYear("2025/2026")
+                    .maxCapacity(30)
+                    .lecturer(lecturer)
+                    .build());
+        }
+        entityManager.flush();
+    }
+
+    private List<CourseEntity> page(Semester semester, CourseCursor after, int size) {
+        return courseRepository.findBy(
+                CourseSpecifications.catalog(null, semester, null, after),
+                query -> query.sortBy(CourseSpecifications.CATALOG_ORDER).limit(size).all());
+    }
+
+    @Test
+    void shouldWalkEveryCourseOnceAcrossPagesEvenWithTiedTimestamps() {
+        insertCourses(lecturer(), 25, Semester.FIRST);
+        // half the catalog shares one created_at, so only course_id orders those rows
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE course SET created_at = TIMESTAMP '2025-09-01 10:00:00' WHERE title LIKE 'Course 1%'")
+                .executeUpdate();
+        entityManager.clear();
+
+        List<UUID> seen = new ArrayList<>();
+        CourseCursor cursor = null;
+        while (true) {
+            List<CourseEntity> page = page(null, cursor, 10);
+            page.forEach(course -> seen.add(course.getCourseId()));
+            if (page.size() < 10) {
+                break;
+            }
+            CourseEntity last = page.get(page.size() - 1);
+            cursor = new CourseCursor(last.getCreatedAt(), last.getCourseId());
+        }
+
+        assertEquals(25, seen.size());
+        assertEquals(25, new HashSet<>(seen).size());
+    }
+
+    @Test
+    void shouldApplyFiltersBeforeLimit() {
+        AccountEntity lecturer = lecturer();
+        insertCourses(lecturer, 5, Semester.FIRST);
+        insertCourses(lecturer, 3, Semester.SECOND);
+
+        List<CourseEntity> second = page(Semester.SECOND, null, 10);
+
+        assertEquals(3, second.size());
+        assertTrue(second.stream().allMatch(course -> course.getSemester() == Semester.SECOND));
+        assertTrue(second.stream().allMatch(course -> course.getState() == CourseState.CREATED));
+    }
+
+    @Test
+    void catalogIndexesShouldExist() {
+        List<?> names = entityManager.getEntityManager()
+                .createNativeQuery("SELECT indexname FROM pg_indexes WHERE tablename = 'course'")
+                .getResultList();
+
+        assertTrue(names.containsAll(List.of(
+                "ix_course_created_at_course_id",
+                "ix_course_state_created_at",
+                "ix_course_year_semester_created_at")));
+    }
+}
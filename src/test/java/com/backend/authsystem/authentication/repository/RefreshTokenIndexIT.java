@@ -0,0 +1,167 @@
+package com.backend.authsystem.authentication.repository;
+
+import com.backend.authsystem.authentication.config.RefreshTokenRetentionEnvironments;
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
+import com.backend.authsystem.authentication.service.RefreshTokenPartitionMaintainer;
+import com.backend.authsystem.authentication.util.HashToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the Flyway schema only, so the plan reflects the migrations rather than Hibernate DDL
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@Testcontainers
+class RefreshTokenIndexIT {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // only the refresh token lifetime matters to partition maintenance
+    private final SecurityEnvironments securityEnvironments = new SecurityEnvironments("unused", 10, 4, true, 0);
+
+    private AccountEntity user;
+
+    @BeforeEach
+    void setup() {
+        user = accountRepository.save(AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("bright")
+                .lastname("nanor")
+                .email("index@test.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build());
+
+        for (int i = 0; i < 50; i++) {
+            refreshTokenRepository.save(RefreshTokenEntity.builder()
+                    .tokenId(UUID.randomUUID())
+                    .myUser(user)
+                    .tokenHash(HashToken.hashToken("token-" + i))
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .createdAt(Instant.now())
+                    .revoked(false)
+                    .build());
+        }
+        refreshTokenRepository.flush();
+        jdbcTemplate.execute("ANALYZE my_refresh_tokens");
+        // small tables would otherwise legitimately prefer a seq scan
+        jdbcTemplate.execute("SET enable_seqscan = off");
+    }
+
+    private String explain(String sql, Object parameter) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameter);
+        return String.join("\n", lines);
+    }
+
+    // partitions carry their own copy of each index, named after the partition and its columns
+    @Test
+    void tokenHashLookupShouldUseUniqueIndex() {
+        String plan = explain("SELECT * FROM my_refresh_tokens WHERE token_hash = ?", (Object) HashToken.hashToken("token-7"));
+
+        assertThat(plan).containsPattern("Index Scan using my_refresh_tokens_\\w+_token_hash_expires_at_idx");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void userLookupShouldUseUserIdIndex() {
+        String plan = explain("SELECT * FROM my_refresh_tokens WHERE user_id = ?", user.getUserId());
+
+        assertThat(plan).containsPattern("Index Scan using my_refresh_tokens_\\w+_user_id_idx");
+        assertThat(plan).doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void tokensShouldLandInTheirExpiryMonthPartition() {
+        String partition = jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM my_refresh_tokens LIMIT 1", String.class);
+
+        assertThat(partition).matches("my_refresh_tokens_\\d{4}_\\d{2}");
+    }
+
+    @Test
+    void maintenanceShouldCreateUpcomingMonths() {
+        RefreshTokenRetentionEnvironments environments = new RefreshTokenRetentionEnvironments(Duration.ofDays(7), 1000, 100, 6);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new RefreshTokenPartitionMaintainer(jdbcTemplate, environments, securityEnvironments, meterRegistry).maintain();
+
+        String lastMonth = YearMonth.now(ZoneOffset.UTC).plusMonths(6).format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class, "my_refresh_tokens_" + lastMonth);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(meterRegistry.get("refresh.tokens.partitions.coverage").gauge().value()).isGreaterThan(6 * 28);
+    }
+
+    // DETACH ... CONCURRENTLY refuses to run inside the test transaction
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void maintenanceShouldDetachAndDropExpiredMonths() {
+        jdbcTemplate.execute("CREATE TABLE my_refresh_tokens_2000_01 PARTITION OF my_refresh_tokens " +
+                "FOR VALUES FROM ('2000-01-01') TO ('2000-02-01')");
+        try {
+            RefreshTokenRetentionEnvironments environments = new RefreshTokenRetentionEnvironments(Duration.ofDays(7), 1000, 100, 3);
+            new RefreshTokenPartitionMaintainer(jdbcTemplate, environments, securityEnvironments, new SimpleMeterRegistry()).maintain();
+
+            Integer count = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_class WHERE relname = ?", Integer.class, "my_refresh_tokens_2000_01");
+
+            assertThat(count).isZero();
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS my_refresh_tokens_2000_01");
+            // setup committed outside a transaction here; its tokens go with the user
+            jdbcTemplate.update("DELETE FROM my_users WHERE user_id = ?", user.getUserId());
+        }
+    }
+
+    @Test
+    void storedHashShouldBeThirtyTwoBytes() {
+        Integer length = jdbcTemplate.queryForObject(
+                "SELECT octet_length(token_hash) FROM my_refresh_tokens LIMIT 1", Integer.class);
+
+        assertThat(length).isEqualTo(32);
+    }
+}
@@ -2,6 +2,7 @@ package com.backend.authsystem.authentication.repository;
 
 import com.backend.authsystem.authentication.entity.AccountEntity;
 import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
+import com.backend.authsystem.authentication.util.HashToken;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -61,11 +62,11 @@ class RefreshTokenRepositoryIT {
         return accountRepositoryIT.save(user);
     }
 
-    private RefreshTokenEntity savedToken(AccountEntity user, String hash) {
+    private RefreshTokenEntity savedToken(AccountEntity user, String rawToken) {
         RefreshTokenEntity token = RefreshTokenEntity.builder()
                 .tokenId(UUID.randomUUID())
                 .myUser(user)
-                .tokenHash(hash)
+                .tokenHash(HashToken.hashToken(rawToken))
                 .expiresAt(Instant.now().plusSeconds(3600))
                 .createdAt(Instant.now())
                 .revoked(false)
@@ -91,7 +92,7 @@ class RefreshTokenRepositoryIT {
         savedToken(user, "hash-123");
 
         Optional<RefreshTokenEntity> result =
-                refreshTokenRepository.findByTokenHash("hash-123");
+                refreshTokenRepository.findByTokenHash(HashToken.hashToken("hash-123"));
 
         assertThat(result).isPresent();
     }
@@ -99,7 +100,7 @@ class RefreshTokenRepositoryIT {
     @Test
     void shouldReturnEmptyWhenTokenHashDoesNotExist() {
         Optional<RefreshTokenEntity> result =
-                refreshTokenRepository.findByTokenHash("missing-hash");
+                refreshTokenRepository.findByTokenHash(HashToken.hashToken("missing-hash"));
 
         assertThat(result).isEmpty();
     }
@@ -152,7 +153,7 @@ class RefreshTokenRepositoryIT {
         refreshTokenRepository.save(token);
 
         RefreshTokenEntity reloaded =
-                refreshTokenRepository.findByTokenHash("hash-1")
+                refreshTokenRepository.findByTokenHash(HashToken.hashToken("hash-1"))
                         .orElseThrow(() -> new AssertionError("Token should exist"));
 
         assertThat(reloaded.getRevoked()).isTrue();
@@ -167,7 +168,7 @@ class RefreshTokenRepositoryIT {
         RefreshTokenEntity token = RefreshTokenEntity.builder()
                 .tokenId(UUID.randomUUID())
                 .myUser(user)
-                .tokenHash("hash-exp")
+                .tokenHash(HashToken.hashToken("hash-exp"))
                 .expiresAt(expiresAt)
                 .createdAt(Instant.now())
                 .revoked(false)
@@ -176,7 +177,7 @@ class RefreshTokenRepositoryIT {
         refreshTokenRepository.save(token);
 
         RefreshTokenEntity reloaded =
-                refreshTokenRepository.findByTokenHash("hash-exp")
+                refreshTokenRepository.findByTokenHash(HashToken.hashToken("hash-exp"))
                         .orElseThrow(() -> new AssertionError("Token should exist"));
 
         assertThat(reloaded.getExpiresAt()).isEqualTo(expiresAt);
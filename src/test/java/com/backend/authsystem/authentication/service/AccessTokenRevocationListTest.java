@@ -0,0 +1,91 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository;
+import com.backend.authsystem.authentication.repository.RevokedAccessTokenRepository.RevokedJti;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AccessTokenRevocationListTest {
+
+    private record Row(UUID getJti, Instant getExpiresAt) implements RevokedJti {
+    }
+
+    private final RevokedAccessTokenRepository repository = mock(RevokedAccessTokenRepository.class);
+
+    @Test
+    void shouldReportOnlyRecordedTokensAsRevoked() {
+        AccessTokenRevocationList list = new AccessTokenRevocationList(repository, 100);
+        UUID revoked = UUID.randomUUID();
+
+        list.record(revoked, Instant.now().plusSeconds(600));
+
+        assertTrue(list.isRevoked(revoked));
+        assertFalse(list.isRevoked(UUID.randomUUID()));
+        assertFalse(list.isRevoked(null));
+    }
+
+    @Test
+    void shouldLoadRevocationsMadeOnOtherNodes() {
+        AccessTokenRevocationList list = new AccessTokenRevocationList(repository, 100);
+        UUID remote = UUID.randomUUID();
+        when(repository.findActive(any())).thenReturn(List.of(new Row(remote, Instant.now().plusSeconds(600))));
+
+        list.reload();
+
+        assertTrue(list.isRevoked(remote));
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    void shouldKeepLocalRevocationsMissingFromReloadUntilExpiry() {
+        AccessTokenRevocationList list = new AccessTokenRevocationList(repository, 100);
+        UUID live = UUID.randomUUID();
+        UUID expired = UUID.randomUUID();
+        list.record(live, Instant.now().plusSeconds(600));
+        list.record(expired, Instant.now().minusSeconds(1));
+        when(repository.findActive(any())).thenReturn(List.of());
+
+        list.reload();
+
+        assertTrue(list.isRevoked(live));
+        assertFalse(list.isRevoked(expired));
+    }
+
+    @Test
+    void shouldKeepPreviousListWhenReloadFails() {
+        AccessTokenRevocationList list = new AccessTokenRevocationList(repository, 100);
+        UUID revoked = UUID.randomUUID();
+        list.record(revoked, Instant.now().plusSeconds(600));
+        when(repository.deleteExpired(any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        list.reload();
+
+        assertTrue(list.isRevoked(revoked));
+    }
+
+    @Test
+    void shouldStayExactWhenGrowingPastFilterCapacity() {
+        AccessTokenRevocationList list = new AccessTokenRevocationList(repository, 8);
+        List<UUID> revoked = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID jti = UUID.randomUUID();
+            revoked.add(jti);
+            list.record(jti, Instant.now().plusSeconds(600));
+        }
+
+        assertTrue(revoked.stream().allMatch(list::isRevoked));
+        assertEquals(50, list.size());
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(list.isRevoked(UUID.randomUUID()));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.AccountCache;
+import com.backend.authsystem.authentication.dto.AccountChangeRow;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AccountChangePollerTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountCache accountCache = mock(AccountCache.class);
+    private final AccountChangePoller poller = new AccountChangePoller(accountRepository, accountCache, Duration.ofMinutes(1));
+
+    private AccountChangeRow change(String email, Instant updatedAt) {
+        return new AccountChangeRow() {
+            @Override
+            public String getEmail() {
+                return email;
+            }
+
+            @Override
+            public Instant getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    @Test
+    void shouldEvictChangedAccountsOnce() {
+        Instant updatedAt = Instant.now();
+        when(accountRepository.findChangesSince(any())).thenReturn(List.of(change("a@test.com", updatedAt)));
+
+        poller.poll();
+        // still inside the overlap window on the next poll, but already evicted at this timestamp
+        poller.poll();
+
+        verify(accountCache, times(1)).evictChanged(Set.of("a@test.com"));
+    }
+
+    @Test
+    void shouldEvictAgainWhenAccountChangesAgain() {
+        Instant first = Instant.now();
+        when(accountRepository.findChangesSince(any()))
+                .thenReturn(List.of(change("a@test.com", first)))
+                .thenReturn(List.of(change("a@test.com", first.plusMillis(5))));
+
+        poller.poll();
+        poller.poll();
+
+        verify(accountCache, times(2)).evictChanged(Set.of("a@test.com"));
+    }
+
+    @Test
+    void shouldRetryFromSameWatermarkWhenPollFails() {
+        when(accountRepository.findChangesSince(any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        poller.poll();
+        poller.poll();
+
+        verify(accountRepository, times(2)).findChangesSince(any());
+        verifyNoInteractions(accountCache);
+    }
+}
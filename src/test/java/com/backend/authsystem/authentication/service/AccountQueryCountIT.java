@@ -0,0 +1,242 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.UserloginDto;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.PermissionEntity;
+import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.PermissionRepository;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import com.backend.authsystem.authentication.util.HashToken;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pins the number of JDBC statements per auth path so a fetch-plan regression shows up as a failing count
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+class AccountQueryCountIT {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private AuthorityRegistry authorityRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        refreshTokenRepository.deleteAll();
+        accountRepository.deleteAll();
+        roleRepository.deleteAll();
+        permissionRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private AccountEntity insertUserWithRoles(String email) {
+        PermissionEntity view = permissionRepository.save(PermissionEntity.builder()
+                .permissionId(UUID.randomUUID())
+                .permissionName(PermissionEnum.COURSE_VIEW)
+                .build());
+        PermissionEntity profile = permissionRepository.save(PermissionEntity.builder()
+                .permissionId(UUID.randomUUID())
+                .permissionName(PermissionEnum.PROFILE_VIEW)
+                .build());
+
+        RoleEntity user = RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(RoleEnum.ROLE_USER)
+                .createdAt(Instant.now())
+                .build();
+        user.addPermission(profile);
+        RoleEntity student = RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(RoleEnum.ROLE_STUDENT)
+                .createdAt(Instant.now())
+                .build();
+        student.addPermission(view);
+        roleRepository.saveAll(List.of(user, student));
+
+        AccountEntity account = AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("Nanor")
+                .lastname("Bright")
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .createdAt(Instant.now())
+                .build();
+        account.addRole(user);
+        account.addRole(student);
+        return accountRepository.save(account);
+    }
+
+    private long statementsDuring(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void loginShouldLoadAccountGraphInOneStatement() {
+        insertUserWithRoles("login@test.com");
+
+        long statements = statementsDuring(() -> accountService.LoginService(
+                new UserloginDto("login@test.com", "password123"), "127.0.0.1", new MockHttpServletResponse()));
+
+        // account + roles + permissions, then the refresh token insert
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void refreshShouldRotateInTwoStatements() {
+        AccountEntity account = insertUserWithRoles("refresh@test.com");
+        refreshTokenRepository.save(RefreshTokenEntity.builder()
+                .tokenId(UUID.randomUUID())
+                .myUser(account)
+                .tokenHash(HashToken.hashToken("raw-refresh"))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .createdAt(Instant.now())
+                .revoked(false)
+                .build());
+
+        authorityRegistry.invalidate();
+        authorityRegistry.forRoleNames(EnumSet.of(RoleEnum.ROLE_USER));
+
+        long statements = statementsDuring(() -> accountService.refreshService("raw-refresh"));
+
+        // compare-and-set revoke returning the owner, then the new token insert
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void logoutAllShouldUseTwoBulkStatements() {
+        AccountEntity account = insertUserWithRoles("logout-all@test.com");
+        for (int i = 0; i < 5; i++) {
+            refreshTokenRepository.save(RefreshTokenEntity.builder()
+                    .tokenId(UUID.randomUUID())
+                    .myUser(account)
+                    .tokenHash(HashToken.hashToken("raw-refresh-" + i))
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .createdAt(Instant.now())
+                    .revoked(false)
+                    .build());
+        }
+
+        long statements = statementsDuring(() -> accountService.logoutAll("logout-all@test.com"));
+
+        // generation bump returning the user id, then one update across all refresh tokens
+        assertEquals(2, statements);
+        assertTrue(refreshTokenRepository.findAllByMyUser(account).stream().allMatch(RefreshTokenEntity::getRevoked));
+    }
+
+    @Test
+    void getMyAccountShouldUseOneStatement() {
+        insertUserWithRoles("account@test.com");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("account@test.com", null, List.of()));
+
+        long statements = statementsDuring(() -> accountService.getMyAccount());
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void loadUserShouldHitDatabaseOnlyOnColdCaches() {
+        insertUserWithRoles("details@test.com");
+        authorityRegistry.invalidate();
+
+        long cold = statementsDuring(() -> customUserDetailsService.loadUserByUsername("details@test.com"));
+        long warm = statementsDuring(() -> customUserDetailsService.loadUserByUsername("details@test.com"));
+
+        // account graph, then the role registry build: roles watermark and roles with permissions
+        assertEquals(3, cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    void identityLookupShouldUseOneStatement() {
+        AccountEntity account = insertUserWithRoles("identity@test.com");
+
+        long statements = statementsDuring(() -> accountRepository.findIdentityByUserId(account.getUserId()));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void existenceCheckShouldNotLoadRoles() {
+        insertUserWithRoles("exists@test.com");
+
+        long statements = statementsDuring(() -> assertTrue(accountRepository.existsByEmail("exists@test.com")));
+
+        assertEquals(1, statements);
+    }
+}
@@ -1,8 +1,11 @@
 package com.backend.authsystem.authentication.service;
 
+import com.backend.authsystem.authentication.cache.AccountCache;
 import com.backend.authsystem.authentication.config.SecurityEnvironments;
 import com.backend.authsystem.authentication.dto.LoginResponseDto;
 import com.backend.authsystem.authentication.dto.RefreshAndAccessToken;
+import com.backend.authsystem.authentication.dto.RefreshTokenOwnerRow;
+import com.backend.authsystem.authentication.dto.TokenGenerationRow;
 import com.backend.authsystem.authentication.dto.UserRegisterDto;
 import com.backend.authsystem.authentication.dto.UserloginDto;
 import com.backend.authsystem.authentication.entity.AccountEntity;
@@ -18,6 +21,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -27,8 +31,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +43,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AccountServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
     @Mock
     private AccountRepository accountRepository;
 
@@ -58,6 +66,24 @@ class AccountServiceTest {
     @Mock
     private RefreshTokenRepository refreshTokenRepository;
 
+    @Mock
+    private AccountCache accountCache;
+
+    @Mock
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @Mock
+    private AuthorityRegistry authorityRegistry;
+
+    @Mock
+    private TokenGenerationRegistry tokenGenerationRegistry;
+
+    @Mock
+    private AuthMetrics authMetrics;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -73,7 +99,7 @@ class AccountServiceTest {
     void shouldSaveUserWhenEmailIsNewAndRoleExists() {
         //Arrange
         UserRegisterDto newUser = createTestUser();
-        when(accountRepository.findByEmail(newUser.email().trim())).thenReturn(Optional.empty());
+        when(accountRepository.existsByEmail(newUser.email().trim())).thenReturn(false);
         RoleEntity role = new RoleEntity();
         role.setRoleName(RoleEnum.ROLE_USER);
         when(roleRepository.findByRoleName(RoleEnum.ROLE_USER)).thenReturn(Optional.of(role));
@@ -91,8 +117,8 @@ class AccountServiceTest {
     @Test
     void shouldThrowExceptionWhenEmailAlreadyExists() {
         UserRegisterDto newUser = createTestUser();
-        when(accountRepository.findByEmail(newUser.email().trim()))
-                .thenReturn(Optional.of(new AccountEntity()));
+        when(accountRepository.existsByEmail(newUser.email().trim()))
+                .thenReturn(true);
 
         assertThrows(UserAlreadyExistException.class, () -> accountService.createUserService(newUser));
 
@@ -105,7 +131,7 @@ class AccountServiceTest {
     @Test
     void shouldThrowExceptionWhenDefaultRoleNotFound() {
         UserRegisterDto newUser = createTestUser();
-        when(accountRepository.findByEmail(newUser.email().trim())).thenReturn(Optional.empty());
+        when(accountRepository.existsByEmail(newUser.email().trim())).thenReturn(false);
         when(roleRepository.findByRoleName(RoleEnum.ROLE_USER)).thenReturn(Optional.empty());
 
         RoleNotFoundException exception = assertThrows(
@@ -121,7 +147,7 @@ class AccountServiceTest {
     @Test
     void shouldTrimInputFieldsBeforeSaving() {
         UserRegisterDto newUser = createTestUser();
-        when(accountRepository.findByEmail(newUser.email().trim())).thenReturn(Optional.empty());
+        when(accountRepository.existsByEmail(newUser.email().trim())).thenReturn(false);
         RoleEntity role = new RoleEntity();
         role.setRoleName(RoleEnum.ROLE_USER);
         when(roleRepository.findByRoleName(RoleEnum.ROLE_USER)).thenReturn(Optional.of(role));
@@ -141,7 +167,7 @@ class AccountServiceTest {
     @Test
     void shouldEncodePasswordBeforeSaving() {
         UserRegisterDto newUser = createTestUser();
-        when(accountRepository.findByEmail(newUser.email().trim())).thenReturn(Optional.empty());
+        when(accountRepository.existsByEmail(newUser.email().trim())).thenReturn(false);
         RoleEntity role = new RoleEntity();
         role.setRoleName(RoleEnum.ROLE_USER);
         when(roleRepository.findByRoleName(RoleEnum.ROLE_USER)).thenReturn(Optional.of(role));
@@ -159,7 +185,7 @@ class AccountServiceTest {
     @Test
     void shouldAssignDefaultRoleToUser() {
         UserRegisterDto newUser = createTestUser();
-        when(accountRepository.findByEmail(newUser.email().trim())).thenReturn(Optional.empty());
+        when(accountRepository.existsByEmail(newUser.email().trim())).thenReturn(false);
         RoleEntity role = new RoleEntity();
         role.setRoleName(RoleEnum.ROLE_USER);
         when(roleRepository.findByRoleName(RoleEnum.ROLE_USER)).thenReturn(Optional.of(role));
@@ -194,13 +220,13 @@ class AccountServiceTest {
         AccountEntity user = createLoginTestUser();
         UserloginDto loginDto = createLoginDto();
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
         when(jwtService.generateRefreshToken(user)).thenReturn("refreshToken123");
         when(jwtService.generateAccessTokenFromUser(user)).thenReturn("accessToken123");
         when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
 
-        LoginResponseDto responseDto = accountService.LoginService(loginDto, response);
+        LoginResponseDto responseDto = accountService.LoginService(loginDto, CLIENT_IP, response);
 
         assertEquals("accessToken123", responseDto.token());
         verify(response).addHeader(eq(HttpHeaders.SET_COOKIE), contains("refreshToken123"));
@@ -211,12 +237,12 @@ class AccountServiceTest {
         AccountEntity user = createLoginTestUser();
         UserloginDto loginDto = createLoginDto();
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
         when(jwtService.generateRefreshToken(user)).thenReturn("refreshToken123");
         when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
 
-        accountService.LoginService(loginDto, response);
+        accountService.LoginService(loginDto, CLIENT_IP, response);
 
         verify(jwtService).generateAccessTokenFromUser(user);
     }
@@ -227,11 +253,11 @@ class AccountServiceTest {
         AccountEntity user = createLoginTestUser();
         UserloginDto loginDto = createLoginDto();
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
         when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
 
-        accountService.LoginService(loginDto, response);
+        accountService.LoginService(loginDto, CLIENT_IP, response);
 
         verify(jwtService).generateRefreshToken(user);
     }
@@ -242,13 +268,13 @@ class AccountServiceTest {
         AccountEntity user = createLoginTestUser();
         UserloginDto loginDto = createLoginDto();
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
         when(jwtService.generateRefreshToken(user)).thenReturn("refreshToken123");
         when(jwtService.generateAccessTokenFromUser(user)).thenReturn("accessToken123");
         when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
 
-        accountService.LoginService(loginDto, response);
+        accountService.LoginService(loginDto, CLIENT_IP, response);
 
         ArgumentCaptor<String> headerCaptor = ArgumentCaptor.forClass(String.class);
         verify(response).addHeader(eq(HttpHeaders.SET_COOKIE), headerCaptor.capture());
@@ -264,11 +290,11 @@ class AccountServiceTest {
         UserloginDto loginDto = createLoginDto();
         when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
         when(jwtService.generateRefreshToken(user)).thenReturn("refreshToken123");
 
-        accountService.LoginService(loginDto, response);
+        accountService.LoginService(loginDto, CLIENT_IP, response);
 
         ArgumentCaptor<String> headerCaptor = ArgumentCaptor.forClass(String.class);
         verify(response).addHeader(eq(HttpHeaders.SET_COOKIE), headerCaptor.capture());
@@ -282,11 +308,11 @@ class AccountServiceTest {
         UserloginDto loginDto = createLoginDto();
         when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
         when(jwtService.generateRefreshToken(user)).thenReturn("refreshToken123");
 
-        accountService.LoginService(loginDto, response);
+        accountService.LoginService(loginDto, CLIENT_IP, response);
 
         ArgumentCaptor<String> headerCaptor = ArgumentCaptor.forClass(String.class);
         verify(response).addHeader(eq(HttpHeaders.SET_COOKIE), headerCaptor.capture());
@@ -299,11 +325,11 @@ class AccountServiceTest {
     void shouldThrowUserNotFoundExceptionWhenEmailDoesNotExist() {
 
         UserloginDto loginDto = createLoginDto();
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.empty());
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.empty());
 
         UserNotFoundException exception = assertThrows(
                 UserNotFoundException.class,
-                () -> accountService.LoginService(loginDto, response)
+                () -> accountService.LoginService(loginDto, CLIENT_IP, response)
         );
 
         assertEquals("User not found", exception.getMessage());
@@ -315,39 +341,92 @@ class AccountServiceTest {
         AccountEntity user = createLoginTestUser();
         UserloginDto loginDto = createLoginDto();
 
-        when(accountRepository.findByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(false);
 
         InvalidCredentialsException exception = assertThrows(
                 InvalidCredentialsException.class,
-                () -> accountService.LoginService(loginDto, response)
+                () -> accountService.LoginService(loginDto, CLIENT_IP, response)
         );
 
         assertEquals("Invalid credentials", exception.getMessage());
     }
 
+    @Test
+    void shouldHandOffPasswordUpgradeAfterSuccessfulLogin() {
+        AccountEntity user = createLoginTestUser();
+        UserloginDto loginDto = createLoginDto();
+
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(true);
+        when(securityEnvironments.getRefreshTokenExpirationInDays()).thenReturn(7);
+
+        accountService.LoginService(loginDto, CLIENT_IP, response);
+
+        verify(passwordUpgradeService).upgradeIfOutdated(user, loginDto.password());
+    }
+
+    @Test
+    void shouldNotUpgradePasswordWhenCredentialsAreInvalid() {
+        AccountEntity user = createLoginTestUser();
+        UserloginDto loginDto = createLoginDto();
+
+        when(accountRepository.findWithAuthoritiesByEmail(loginDto.email())).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches(loginDto.password(), user.getPassword())).thenReturn(false);
+
+        assertThrows(InvalidCredentialsException.class, () -> accountService.LoginService(loginDto, CLIENT_IP, response));
+
+        verifyNoInteractions(passwordUpgradeService);
+        verify(loginThrottle).recordFailure(loginDto.email(), CLIENT_IP);
+    }
+
+    @Test
+    void shouldRejectThrottledLoginWithoutLookupOrHash() {
+        UserloginDto loginDto = createLoginDto();
+        doThrow(new TooManyLoginAttemptsException("Too many login attempts, try again later", 30))
+                .when(loginThrottle).acquire(loginDto.email(), CLIENT_IP);
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> accountService.LoginService(loginDto, CLIENT_IP, response));
+
+        verifyNoInteractions(accountRepository, passwordEncoder);
+    }
+
 
 
 // REFRESH TOKEN SERVICE TEST
 
-    private RefreshTokenEntity aValidStoredToken() {
+    private static final UUID OWNER_ID = UUID.randomUUID();
+
+    private record OwnerRow(UUID getUserId, String getEmail, Integer getTokenGeneration, String getRoleName)
+            implements RefreshTokenOwnerRow {
+    }
+
+    private RefreshTokenEntity aStoredToken() {
         RefreshTokenEntity token = new RefreshTokenEntity();
-        token.setTokenHash("hashedToken");
+        token.setTokenHash(HashToken.hashToken("rawToken"));
         token.setRevoked(false);
         token.setExpiresAt(Instant.now().plusSeconds(3600));
         token.setMyUser(new AccountEntity());
         return token;
     }
 
+    private AccountEntity stubActiveToken() {
+        AccountEntity reference = new AccountEntity();
+        reference.setUserId(OWNER_ID);
+        when(refreshTokenRepository.revokeIfActive(any(), any()))
+                .thenReturn(List.of(new OwnerRow(OWNER_ID, "john@example.com", 3, "ROLE_STUDENT")));
+        when(accountRepository.getReferenceById(OWNER_ID)).thenReturn(reference);
+        when(authorityRegistry.permissionNames(EnumSet.of(RoleEnum.ROLE_STUDENT)))
+                .thenReturn(List.of("COURSE_VIEW"));
+        return reference;
+    }
+
     @Test
     void shouldReturnNewTokensWhenRefreshTokenIsValid() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(storedToken.getMyUser()))
+        AccountEntity owner = stubActiveToken();
+        when(jwtService.generateRefreshToken(owner))
                 .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(storedToken.getMyUser()))
+        when(jwtService.generateAccessToken(any(), any(), anyInt(), any(), any()))
                 .thenReturn("newAccessToken");
 
         RefreshAndAccessToken result =
@@ -359,106 +438,74 @@ class AccountServiceTest {
 
     @Test
     void shouldHashIncomingRefreshTokenBeforeLookup() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(any()))
-                .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(any()))
-                .thenReturn("newAccessToken");
+        stubActiveToken();
 
         accountService.refreshService("rawToken");
 
         verify(refreshTokenRepository)
-                .findByTokenHash(HashToken.hashToken("rawToken"));
+                .revokeIfActive(eq(HashToken.hashToken("rawToken")), any());
     }
 
     @Test
-    void shouldRevokeOldRefreshTokenAfterSuccessfulRefresh() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(any()))
-                .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(any()))
-                .thenReturn("newAccessToken");
+    void shouldRevokeOldRefreshTokenInSingleCompareAndSet() {
+        stubActiveToken();
 
         accountService.refreshService("rawToken");
 
-        assertTrue(storedToken.getRevoked());
+        verify(refreshTokenRepository).revokeIfActive(any(), any());
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+        verify(refreshTokenRepository, never()).save(any());
     }
 
     @Test
-    void shouldSetRevokedAtTimestampWhenRefreshingToken() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(any()))
-                .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(any()))
-                .thenReturn("newAccessToken");
+    void shouldRevokeWithCurrentTimestamp() {
+        stubActiveToken();
+        Instant before = Instant.now();
 
         accountService.refreshService("rawToken");
 
-        assertNotNull(storedToken.getRevokedAt());
+        ArgumentCaptor<Instant> now = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenRepository).revokeIfActive(any(), now.capture());
+        assertFalse(now.getValue().isBefore(before));
     }
 
 
     @Test
-    void shouldSaveRevokedTokenBeforeGeneratingNewTokens() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(any()))
-                .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(any()))
-                .thenReturn("newAccessToken");
+    void shouldRevokeTokenBeforeGeneratingNewTokens() {
+        stubActiveToken();
 
         accountService.refreshService("rawToken");
 
-        verify(refreshTokenRepository).save(storedToken);
+        InOrder inOrder = inOrder(refreshTokenRepository, jwtService);
+        inOrder.verify(refreshTokenRepository).revokeIfActive(any(), any());
+        inOrder.verify(jwtService).generateRefreshToken(any());
     }
 
 
 
     @Test
     void shouldGenerateNewRefreshTokenForUser() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(any()))
-                .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(any()))
-                .thenReturn("newAccessToken");
+        AccountEntity owner = stubActiveToken();
 
         accountService.refreshService("rawToken");
 
-        verify(jwtService).generateRefreshToken(storedToken.getMyUser());
+        verify(jwtService).generateRefreshToken(owner);
     }
 
     @Test
     void shouldGenerateNewAccessTokenForUser() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
-
-        when(refreshTokenRepository.findByTokenHash(any()))
-                .thenReturn(Optional.of(storedToken));
-        when(jwtService.generateRefreshToken(any()))
-                .thenReturn("newRefreshToken");
-        when(jwtService.generateAccessTokenFromUser(any()))
-                .thenReturn("newAccessToken");
+        stubActiveToken();
 
         accountService.refreshService("rawToken");
 
-        verify(jwtService).generateAccessTokenFromUser(storedToken.getMyUser());
+        verify(jwtService).generateAccessToken(
+                OWNER_ID, "john@example.com", 3, List.of("ROLE_STUDENT"), List.of("COURSE_VIEW"));
     }
 
     @Test
     void shouldThrowExceptionWhenRefreshTokenDoesNotExist() {
+        when(refreshTokenRepository.revokeIfActive(any(), any()))
+                .thenReturn(List.of());
         when(refreshTokenRepository.findByTokenHash(any()))
                 .thenReturn(Optional.empty());
         InvalidTokenException exception = assertThrows(
@@ -471,9 +518,11 @@ class AccountServiceTest {
 
     @Test
     void shouldThrowExceptionWhenRefreshTokenIsRevoked() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
+        RefreshTokenEntity storedToken = aStoredToken();
         storedToken.setRevoked(true);
 
+        when(refreshTokenRepository.revokeIfActive(any(), any()))
+                .thenReturn(List.of());
         when(refreshTokenRepository.findByTokenHash(any()))
                 .thenReturn(Optional.of(storedToken));
 
@@ -483,13 +532,16 @@ class AccountServiceTest {
         );
 
         assertEquals("Refresh token revoked", exception.getMessage());
+        verifyNoInteractions(jwtService);
     }
 
     @Test
     void shouldThrowExceptionWhenRefreshTokenIsExpired() {
-        RefreshTokenEntity storedToken = aValidStoredToken();
+        RefreshTokenEntity storedToken = aStoredToken();
         storedToken.setExpiresAt(Instant.now().minusSeconds(10));
 
+        when(refreshTokenRepository.revokeIfActive(any(), any()))
+                .thenReturn(List.of());
         when(refreshTokenRepository.findByTokenHash(any()))
                 .thenReturn(Optional.of(storedToken));
 
@@ -505,7 +557,7 @@ class AccountServiceTest {
     //LOGOUT TEST SERVICE
     private RefreshTokenEntity aValidLogoutToken() {
         RefreshTokenEntity token = new RefreshTokenEntity();
-        token.setTokenHash("hashedToken");
+        token.setTokenHash(HashToken.hashToken("rawToken"));
         token.setRevoked(false);
         token.setRevokedAt(null);
         token.setMyUser(new AccountEntity());
@@ -656,39 +708,32 @@ class AccountServiceTest {
 
     //LOGOUT ALL TEST SERVICE
 
-    private AccountEntity createLogoutAllTestUser() {
-        AccountEntity user = new AccountEntity();
-        user.setEmail("user@example.com");
-        return user;
-    }
+    private static final UUID LOGOUT_USER_ID = UUID.randomUUID();
 
+    private record GenerationRow(UUID getUserId, Integer getTokenGeneration) implements TokenGenerationRow {
+    }
 
-    private RefreshTokenEntity createLogoutAllToken() {
-        return new RefreshTokenEntity();
+    private void stubGenerationBump(String email, int generation) {
+        when(accountRepository.incrementTokenGeneration(eq(email), any()))
+                .thenReturn(Optional.of(new GenerationRow(LOGOUT_USER_ID, generation)));
     }
 
     @Test
-    void shouldRevokeAllRefreshTokensForValidUser() {
-        AccountEntity user = createLogoutAllTestUser();
-        RefreshTokenEntity token1 = createLogoutAllToken();
-        RefreshTokenEntity token2 = createLogoutAllToken();
-        List<RefreshTokenEntity> tokens = List.of(token1, token2);
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(tokens);
+    void shouldRevokeAllRefreshTokensInOneBulkUpdate() {
+        stubGenerationBump("user@example.com", 1);
 
-        accountService.logoutAll(user.getEmail());
+        accountService.logoutAll("user@example.com");
 
-        assertTrue(token1.getRevoked() && token2.getRevoked());
+        verify(refreshTokenRepository).revokeAllActiveForUser(eq(LOGOUT_USER_ID), any());
+        verify(refreshTokenRepository, never()).findAllByMyUser(any());
+        verify(refreshTokenRepository, never()).saveAll(any());
     }
 
     @Test
     void shouldThrowExceptionWhenUserNotFound() {
         String email = "nonexistent@example.com";
 
-        when(accountRepository.findByEmail(email))
+        when(accountRepository.incrementTokenGeneration(eq(email), any()))
                 .thenReturn(Optional.empty());
 
         UserNotFoundException ex = assertThrows(
@@ -697,126 +742,38 @@ class AccountServiceTest {
         );
 
         assertEquals("User not found", ex.getMessage());
+        verify(refreshTokenRepository, never()).revokeAllActiveForUser(any(), any());
+        verify(tokenGenerationRegistry, never()).record(any(), anyInt());
     }
 
     @Test
-    void shouldRemainSafeWhenTokensAlreadyRevoked() {
-        AccountEntity user = createLogoutAllTestUser();
-        RefreshTokenEntity token = createLogoutAllToken();
-        token.setRevoked(true);
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(List.of(token));
+    void shouldRecordBumpedGenerationSoAccessTokensStopWorking() {
+        stubGenerationBump("user@example.com", 4);
 
-        accountService.logoutAll(user.getEmail());
+        accountService.logoutAll("user@example.com");
 
-        assertTrue(token.getRevoked());
+        verify(tokenGenerationRegistry).record(LOGOUT_USER_ID, 4);
     }
 
-
     @Test
-    void shouldSaveAllRevokedTokens() {
-        AccountEntity user = createLogoutAllTestUser();
-        RefreshTokenEntity token1 = createLogoutAllToken();
-        RefreshTokenEntity token2 = createLogoutAllToken();
-        List<RefreshTokenEntity> tokens = List.of(token1, token2);
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(tokens);
+    void shouldUseSameTimestampForBumpAndRevocation() {
+        stubGenerationBump("user@example.com", 1);
 
-        accountService.logoutAll(user.getEmail());
+        accountService.logoutAll("user@example.com");
 
-        verify(refreshTokenRepository).saveAll(tokens);
+        ArgumentCaptor<Instant> bumpedAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> revokedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(accountRepository).incrementTokenGeneration(eq("user@example.com"), bumpedAt.capture());
+        verify(refreshTokenRepository).revokeAllActiveForUser(eq(LOGOUT_USER_ID), revokedAt.capture());
+        assertEquals(bumpedAt.getValue(), revokedAt.getValue());
     }
 
-    @Test
-    void shouldSetRevokedAtTimestampForAllTokens() {
-        AccountEntity user = createLogoutAllTestUser();
-        RefreshTokenEntity token1 = createLogoutAllToken();
-        RefreshTokenEntity token2 = createLogoutAllToken();
-        List<RefreshTokenEntity> tokens = List.of(token1, token2);
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(tokens);
-
-        accountService.logoutAll(user.getEmail());
-
-        assertNotNull(token1.getRevokedAt());
-        assertNotNull(token2.getRevokedAt());
-    }
-
-
     @Test
     void shouldHandleUserWithZeroTokensGracefully() {
-        AccountEntity user = createLogoutAllTestUser();
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(List.of());
-
-        assertDoesNotThrow(() -> accountService.logoutAll(user.getEmail()));
-    }
-
+        stubGenerationBump("user@example.com", 1);
+        when(refreshTokenRepository.revokeAllActiveForUser(eq(LOGOUT_USER_ID), any()))
+                .thenReturn(0);
 
-
-
-    @Test
-    void shouldRevokeAllMultipleTokens() {
-        AccountEntity user = createLogoutAllTestUser();
-        List<RefreshTokenEntity> tokens = List.of(createLogoutAllToken(), createLogoutAllToken(), createLogoutAllToken());
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(tokens);
-
-        accountService.logoutAll(user.getEmail());
-
-        assertTrue(tokens.stream().allMatch(RefreshTokenEntity::getRevoked));
+        assertDoesNotThrow(() -> accountService.logoutAll("user@example.com"));
     }
-
-    @Test
-    void shouldOverrideExistingRevokedAtTimestamps() {
-        AccountEntity user = createLogoutAllTestUser();
-        RefreshTokenEntity token = createLogoutAllToken();
-        token.setRevokedAt(Instant.now().minusSeconds(3600));
-
-        when(accountRepository.findByEmail(user.getEmail()))
-                .thenReturn(Optional.of(user));
-        when(refreshTokenRepository.findAllByMyUser(user))
-                .thenReturn(List.of(token));
-
-        accountService.logoutAll(user.getEmail());
-
-        assertTrue(token.getRevokedAt().isAfter(Instant.now().minusSeconds(10)));
-    }
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-}
\ No newline at end of file
+}
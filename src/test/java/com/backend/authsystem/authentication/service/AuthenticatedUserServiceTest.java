@@ -0,0 +1,73 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.AccountCache;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthenticatedUserServiceTest {
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountCache accountCache = mock(AccountCache.class);
+    private final AuthenticatedUserService service = new AuthenticatedUserService(accountRepository, accountCache);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void authenticate(Object principal, List<GrantedAuthority> authorities) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    @Test
+    void shouldResolveClaimsPrincipalWithoutLookup() {
+        UUID userId = UUID.randomUUID();
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("COURSE_VIEW"));
+        authenticate(new JwtPrincipal(userId, "student@test.com", authorities), authorities);
+
+        CurrentUser currentUser = service.getCurrentUser();
+
+        assertEquals(userId, currentUser.userId());
+        assertEquals("student@test.com", currentUser.email());
+        assertTrue(currentUser.hasAuthority("COURSE_VIEW"));
+        assertFalse(currentUser.hasAuthority("COURSE_CREATE"));
+        verifyNoInteractions(accountRepository, accountCache);
+    }
+
+    @Test
+    void shouldResolveLoadedUserDetailsWithoutLookup() {
+        AccountEntity account = AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .email("lecturer@test.com")
+                .build();
+        authenticate(new CustomUserDetails(account, List.of()), List.of());
+
+        assertEquals(account.getUserId(), service.getCurrentUser().userId());
+        assertSame(account, service.getCurrentUserAccount());
+        verifyNoInteractions(accountRepository, accountCache);
+    }
+
+    @Test
+    void referenceShouldComeFromPrincipalId() {
+        UUID userId = UUID.randomUUID();
+        AccountEntity reference = new AccountEntity();
+        when(accountRepository.getReferenceById(userId)).thenReturn(reference);
+        authenticate(new JwtPrincipal(userId, "student@test.com", List.of()), List.of());
+
+        assertSame(reference, service.getCurrentUserReference());
+        verify(accountRepository, never()).findWithAuthoritiesByEmail(any());
+    }
+}
@@ -0,0 +1,103 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.RoleWatermark;
+import com.backend.authsystem.authentication.entity.PermissionEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuthorityRegistryTest {
+
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final AuthorityRegistry registry = new AuthorityRegistry(roleRepository);
+
+    private RoleEntity role(RoleEnum name, PermissionEnum... permissions) {
+        RoleEntity role = RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(name)
+                .createdAt(Instant.now())
+                .build();
+        for (PermissionEnum permission : permissions) {
+            role.addPermission(PermissionEntity.builder()
+                    .permissionId(UUID.randomUUID())
+                    .permissionName(permission)
+                    .build());
+        }
+        return role;
+    }
+
+    @Test
+    void shouldShareAuthoritySetsAcrossLookups() {
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(
+                role(RoleEnum.ROLE_STUDENT, PermissionEnum.COURSE_VIEW)));
+
+        Set<GrantedAuthority> first = registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT));
+        Set<GrantedAuthority> second = registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT));
+
+        assertSame(first, second);
+        assertEquals(2, first.size());
+        verify(roleRepository, times(1)).findAllWithPermissions();
+    }
+
+    @Test
+    void shouldRebuildAfterInvalidation() {
+        when(roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(role(RoleEnum.ROLE_STUDENT)))
+                .thenReturn(List.of(role(RoleEnum.ROLE_STUDENT, PermissionEnum.COURSE_VIEW)));
+
+        assertEquals(1, registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT)).size());
+        registry.invalidate();
+
+        assertEquals(2, registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT)).size());
+    }
+
+    @Test
+    void shouldReuseClaimAuthorities() {
+        Set<GrantedAuthority> first = registry.forClaims(List.of("ROLE_STUDENT"), List.of("COURSE_VIEW"));
+        Set<GrantedAuthority> second = registry.forClaims(List.of("ROLE_STUDENT"), List.of("COURSE_VIEW"));
+
+        assertSame(first, second);
+        verifyNoInteractions(roleRepository);
+    }
+
+    @Test
+    void shouldRebuildWhenAnotherNodeChangesRolePermissions() {
+        when(roleRepository.findWatermark())
+                .thenReturn(new RoleWatermark(1, Instant.parse("2025-09-01T10:00:00Z")))
+                .thenReturn(new RoleWatermark(1, Instant.parse("2025-09-01T10:00:00Z")))
+                .thenReturn(new RoleWatermark(1, Instant.parse("2025-09-01T10:05:00Z")));
+        when(roleRepository.findAllWithPermissions())
+                .thenReturn(List.of(role(RoleEnum.ROLE_STUDENT)))
+                .thenReturn(List.of(role(RoleEnum.ROLE_STUDENT, PermissionEnum.COURSE_VIEW)));
+
+        assertEquals(1, registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT)).size());
+        registry.poll();
+        assertEquals(1, registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT)).size());
+        registry.poll();
+
+        assertEquals(2, registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_STUDENT)).size());
+    }
+
+    @Test
+    void shouldNotRebuildForRoleMissingFromSnapshot() {
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(role(RoleEnum.ROLE_STUDENT)));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, registry.forRoleNames(EnumSet.of(RoleEnum.ROLE_ADMIN)).size());
+        }
+
+        verify(roleRepository, times(1)).findAllWithPermissions();
+    }
+}
@@ -0,0 +1,77 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.CourseCache;
+import com.backend.authsystem.authentication.dto.CourseChangeRow;
+import com.backend.authsystem.authentication.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CourseChangePollerTest {
+
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final CourseCache courseCache = mock(CourseCache.class);
+    private final CourseChangePoller poller = new CourseChangePoller(courseRepository, courseCache, Duration.ofMinutes(1));
+
+    private CourseChangeRow change(UUID courseId, Instant updatedAt) {
+        return new CourseChangeRow() {
+            @Override
+            public UUID getCourseId() {
+                return courseId;
+            }
+
+            @Override
+            public Instant getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    @Test
+    void shouldEvictChangedCoursesOnce() {
+        UUID courseId = UUID.randomUUID();
+        Instant updatedAt = Instant.now();
+        when(courseRepository.findChangesSince(any())).thenReturn(List.of(change(courseId, updatedAt)));
+
+        poller.poll();
+        // still inside the overlap window on the next poll, but already evicted at this timestamp
+        poller.poll();
+
+        verify(courseCache, times(1)).evictChanged(Set.of(courseId));
+    }
+
+    @Test
+    void shouldEvictAgainWhenCourseChangesAgain() {
+        UUID courseId = UUID.randomUUID();
+        Instant first = Instant.now();
+        when(courseRepository.findChangesSince(any()))
+                .thenReturn(List.of(change(courseId, first)))
+                .thenReturn(List.of(change(courseId, first.plusMillis(5))));
+
+        poller.poll();
+        poller.poll();
+
+        verify(courseCache, times(2)).evictChanged(Set.of(courseId));
+    }
+
+    @Test
+    void shouldRetryFromSameWatermarkWhenPollFails() {
+        when(courseRepository.findChangesSince(any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        poller.poll();
+        poller.poll();
+
+        verify(courseRepository, times(2)).findChangesSince(any());
+        verifyNoInteractions(courseCache);
+    }
+}
@@ -0,0 +1,149 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.cache.CourseCache;
+import com.backend.authsystem.authentication.config.EnrollmentQueueEnvironments;
+import com.backend.authsystem.authentication.dto.EnrollmentTicketDto;
+import com.backend.authsystem.authentication.dto.course.CourseResponseDto;
+import com.backend.authsystem.authentication.entity.EnrollmentTicketEntity;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.exception.CourseStateException;
+import com.backend.authsystem.authentication.exception.EnrollmentNotFoundException;
+import com.backend.authsystem.authentication.repository.EnrollmentTicketRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EnrollmentAdmissionQueueTest {
+
+    private static final UUID COURSE_ID = UUID.randomUUID();
+
+    private final EnrollmentService enrollmentService = mock(EnrollmentService.class);
+    private final CourseService courseService = mock(CourseService.class);
+    private final AuthenticatedUserService authenticatedUserService = mock(AuthenticatedUserService.class);
+    private final EnrollmentTicketRepository ticketRepository = mock(EnrollmentTicketRepository.class);
+
+    private EnrollmentAdmissionQueue queue(boolean enabled, int batchSize) {
+        EnrollmentQueueEnvironments environments =
+                new EnrollmentQueueEnvironments(enabled, batchSize, Duration.ofMinutes(15), 1);
+        return new EnrollmentAdmissionQueue(enrollmentService, courseService, authenticatedUserService,
+                ticketRepository, environments, new SimpleMeterRegistry());
+    }
+
+    private void courseIn(CourseState state) {
+        CourseResponseDto course = new CourseResponseDto(COURSE_ID, "CS101", "Intro", null, state, Semester.FIRST,
+                "2025/2026", 30, UUID.randomUUID().toString(), Instant.now(), Instant.now());
+        when(courseService.getCourseById(COURSE_ID)).thenReturn(new CourseCache.Versioned<>(course, "\"etag\""));
+    }
+
+    private UUID actAs(UUID userId) {
+        when(authenticatedUserService.getCurrentUser()).thenReturn(new CurrentUser(userId, userId + "@test.com", Set.of()));
+        return userId;
+    }
+
+    private EnrollmentTicketEntity stored(UUID studentId, EnrollmentTicketStatus status) {
+        EnrollmentTicketEntity ticket = EnrollmentTicketEntity.builder()
+                .ticketId(UUID.randomUUID())
+                .courseId(COURSE_ID)
+                .studentId(studentId)
+                .status(status)
+                .submittedAt(Instant.now())
+                .build();
+        when(ticketRepository.findByCourseIdAndStudentId(COURSE_ID, studentId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.findById(ticket.getTicketId())).thenReturn(Optional.of(ticket));
+        return ticket;
+    }
+
+    @Test
+    void shouldStorePendingTicketWithoutAdmitting() {
+        EnrollmentAdmissionQueue queue = queue(true, 500);
+        courseIn(CourseState.ENROLLMENT_OPEN);
+        UUID studentId = actAs(UUID.randomUUID());
+        when(ticketRepository.enqueue(any(), eq(COURSE_ID), eq(studentId), any())).thenReturn(1);
+        EnrollmentTicketEntity stored = stored(studentId, EnrollmentTicketStatus.PENDING);
+
+        EnrollmentTicketDto ticket = queue.submit(COURSE_ID);
+
+        assertEquals(stored.getTicketId(), ticket.ticketId());
+        assertEquals(EnrollmentTicketStatus.PENDING, ticket.status());
+        verifyNoInteractions(enrollmentService);
+    }
+
+    @Test
+    void shouldReturnExistingTicketEvenWhenResolved() {
+        EnrollmentAdmissionQueue queue = queue(true, 500);
+        courseIn(CourseState.ENROLLMENT_OPEN);
+        UUID studentId = actAs(UUID.randomUUID());
+        when(ticketRepository.enqueue(any(), eq(COURSE_ID), eq(studentId), any())).thenReturn(0);
+        EnrollmentTicketEntity stored = stored(studentId, EnrollmentTicketStatus.ADMITTED);
+
+        EnrollmentTicketDto ticket = queue.submit(COURSE_ID);
+
+        assertEquals(stored.getTicketId(), ticket.ticketId());
+        assertEquals(EnrollmentTicketStatus.ADMITTED, ticket.status());
+    }
+
+    @Test
+    void shouldDrainEveryCourseWithPendingTickets() {
+        EnrollmentAdmissionQueue queue = queue(true, 2);
+        UUID otherCourse = UUID.randomUUID();
+        when(ticketRepository.findCourseIdsWithPendingTickets()).thenReturn(List.of(COURSE_ID, otherCourse));
+        when(enrollmentService.admitQueued(COURSE_ID, 2)).thenThrow(new QueryTimeoutException("timeout"));
+
+        queue.drain();
+
+        // a failing course does not stop the others from being admitted
+        verify(enrollmentService).admitQueued(COURSE_ID, 2);
+        verify(enrollmentService).admitQueued(otherCourse, 2);
+    }
+
+    @Test
+    void shouldNotPollWhenQueueDisabled() {
+        queue(false, 500).drain();
+
+        verifyNoInteractions(ticketRepository, enrollmentService);
+    }
+
+    @Test
+    void shouldFailStalePendingAndDeleteOldResolvedTickets() {
+        Instant before = Instant.now().minus(Duration.ofMinutes(15));
+
+        queue(true, 500).expire();
+
+        verify(ticketRepository).failStalePending(argThat(cutoff -> !cutoff.isBefore(before)), any());
+        verify(ticketRepository).deleteResolvedBefore(argThat(cutoff -> !cutoff.isBefore(before)));
+    }
+
+    @Test
+    void shouldRejectWhenEnrollmentNotOpenOrQueueDisabled() {
+        courseIn(CourseState.PUBLISHED);
+        actAs(UUID.randomUUID());
+
+        assertThrows(CourseStateException.class, () -> queue(true, 500).submit(COURSE_ID));
+        assertThrows(CourseStateException.class, () -> queue(false, 500).submit(COURSE_ID));
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void shouldHideTicketFromOtherStudents() {
+        EnrollmentAdmissionQueue queue = queue(true, 500);
+        EnrollmentTicketEntity stored = stored(UUID.randomUUID(), EnrollmentTicketStatus.PENDING);
+
+        actAs(UUID.randomUUID());
+
+        assertThrows(EnrollmentNotFoundException.class, () -> queue.ticket(stored.getTicketId()));
+    }
+}
@@ -0,0 +1,264 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.CourseEntity;
+import com.backend.authsystem.authentication.entity.EnrollmentTicketEntity;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.EnrollmentTicketStatus;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.exception.CourseStateException;
+import com.backend.authsystem.authentication.exception.EnrollmentConflictException;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.CourseEnrollmentRepository;
+import com.backend.authsystem.authentication.repository.CourseRepository;
+import com.backend.authsystem.authentication.repository.EnrollmentTicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Thousands of students race for a handful of seats; the course must end up exactly full, never overbooked
+@ActiveProfiles("test")
+@SpringBootTest
+@Testcontainers
+class EnrollmentCapacityIT {
+
+    private static final int CAPACITY = 5;
+    private static final int STUDENTS = 2000;
+    private static final int THREADS = 64;
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EnrollmentTicketRepository ticketRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        ticketRepository.deleteAll();
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private AccountEntity account(String email) {
+        return AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("Student")
+                .lastname("Load")
+                .email(email)
+                .password("password")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private CourseEntity openCourse(int capacity) {
+        AccountEntity lecturer = accountRepository.save(account("lecturer@test.com"));
+        CourseEntity course = courseRepository.save(CourseEntity.builder()
+                .code("CAP-101")
+                .title("Capacity")
+                .semester(Semester.FIRST)
+                .academicYear("2025/2026")
+                .maxCapacity(capacity)
+                .lecturer(lecturer)
+                .build());
+        course.setState(CourseState.ENROLLMENT_OPEN);
+        return courseRepository.save(course);
+    }
+
+    private List<AccountEntity> students(int count) {
+        List<AccountEntity> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(account("student-" + i + "@test.com"));
+        }
+        return accountRepository.saveAll(students);
+    }
+
+    private void enrollAs(AccountEntity student, UUID courseId) {
+        JwtPrincipal principal = new JwtPrincipal(student.getUserId(), student.getEmail(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+        try {
+            enrollmentService.enrollStudent(courseId);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Test
+    void concurrentEnrollersShouldFillCourseExactlyToCapacity() throws Exception {
+        UUID courseId = openCourse(CAPACITY).getCourseId();
+        List<AccountEntity> students = students(STUDENTS);
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (AccountEntity student : students) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        enrollAs(student, courseId);
+                        enrolled.incrementAndGet();
+                    } catch (CourseStateException ex) {
+                        full.incrementAndGet();
+                    } catch (Exception ex) {
+                        unexpected.incrementAndGet();
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(5, TimeUnit.MINUTES));
+
+        assertEquals(0, unexpected.get());
+        assertEquals(CAPACITY, enrolled.get());
+        assertEquals(STUDENTS - CAPACITY, full.get());
+        assertEquals(CAPACITY, enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId));
+        assertEquals(CAPACITY, jdbcTemplate.queryForObject(
+                "SELECT enrolled_count FROM course WHERE course_id = ?", Integer.class, courseId));
+    }
+
+    @Test
+    void concurrentDuplicateEnrollmentShouldTakeOneSeat() throws Exception {
+        UUID courseId = openCourse(CAPACITY).getCourseId();
+        AccountEntity student = students(1).get(0);
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                        enrollAs(student, courseId);
+                        enrolled.incrementAndGet();
+                    } catch (EnrollmentConflictException ex) {
+                        conflicts.incrementAndGet();
+                    } catch (Exception ignored) {
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        // the losing inserts roll their seat reservation back with them
+        assertEquals(1, enrolled.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT enrolled_count FROM course WHERE course_id = ?", Integer.class, courseId));
+    }
+
+    @Test
+    void batchAdmissionShouldSkipEnrolledStudentsAndStopAtCapacity() {
+        UUID courseId = openCourse(CAPACITY).getCourseId();
+        List<AccountEntity> students = students(CAPACITY + 3);
+        enrollAs(students.get(0), courseId);
+        List<UUID> studentIds = students.stream().map(AccountEntity::getUserId).toList();
+
+        Map<UUID, Admission> admissions = enrollmentService.admitBatch(courseId, studentIds);
+
+        assertEquals(EnrollmentTicketStatus.ALREADY_ENROLLED, admissions.get(studentIds.get(0)).status());
+        // seats go to the earliest tickets
+        for (int i = 1; i <= CAPACITY - 1; i++) {
+            assertEquals(EnrollmentTicketStatus.ADMITTED, admissions.get(studentIds.get(i)).status());
+            assertNotNull(admissions.get(studentIds.get(i)).enrollment().enrollmentId());
+        }
+        for (int i = CAPACITY; i < studentIds.size(); i++) {
+            assertEquals(EnrollmentTicketStatus.COURSE_FULL, admissions.get(studentIds.get(i)).status());
+        }
+        assertEquals(CAPACITY, enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId));
+        assertEquals(CAPACITY, jdbcTemplate.queryForObject(
+                "SELECT enrolled_count FROM course WHERE course_id = ?", Integer.class, courseId));
+    }
+
+    @Test
+    void queuedTicketsShouldBeAdmittedOldestFirstAndResolved() {
+        UUID courseId = openCourse(2).getCourseId();
+        List<AccountEntity> students = students(3);
+        Instant submittedAt = Instant.now();
+        for (int i = 0; i < students.size(); i++) {
+            ticketRepository.enqueue(UUID.randomUUID(), courseId, students.get(i).getUserId(), submittedAt.plusMillis(i));
+        }
+        // resubmitting a pending ticket keeps it where it is in the queue
+        assertEquals(0, ticketRepository.enqueue(UUID.randomUUID(), courseId, students.get(0).getUserId(), Instant.now()));
+
+        assertEquals(3, enrollmentService.admitQueued(courseId, 10));
+        assertEquals(0, enrollmentService.admitQueued(courseId, 10));
+
+        EnrollmentTicketEntity first = ticketRepository.findByCourseIdAndStudentId(courseId, students.get(0).getUserId()).orElseThrow();
+        EnrollmentTicketEntity last = ticketRepository.findByCourseIdAndStudentId(courseId, students.get(2).getUserId()).orElseThrow();
+        assertEquals(EnrollmentTicketStatus.ADMITTED, first.getStatus());
+        assertNotNull(first.getEnrollmentId());
+        assertNotNull(first.getResolvedAt());
+        assertEquals(EnrollmentTicketStatus.COURSE_FULL, last.getStatus());
+        assertNull(last.getEnrollmentId());
+        assertTrue(ticketRepository.findCourseIdsWithPendingTickets().isEmpty());
+    }
+}
@@ -0,0 +1,168 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.CourseEntity;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.exception.CourseNotFoundException;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.CourseEnrollmentRepository;
+import com.backend.authsystem.authentication.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The maintained course.enrolled_count against the enrollments it stands for
+@ActiveProfiles("test")
+@SpringBootTest
+@Testcontainers
+class EnrollmentCountIT {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EnrollmentCountReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private AccountEntity account(String email) {
+        return AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("Student")
+                .lastname("Load")
+                .email(email)
+                .password("password")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private CourseEntity openCourse(int capacity) {
+        AccountEntity lecturer = accountRepository.save(account("lecturer-" + UUID.randomUUID() + "@test.com"));
+        CourseEntity course = courseRepository.save(CourseEntity.builder()
+                .code("CNT-" + UUID.randomUUID())
+                .title("Capacity")
+                .semester(Semester.FIRST)
+                .academicYear("2025/2026")
+                .maxCapacity(capacity)
+                .lecturer(lecturer)
+                .build());
+        course.setState(CourseState.ENROLLMENT_OPEN);
+        return courseRepository.save(course);
+    }
+
+    private List<AccountEntity> students(int count) {
+        List<AccountEntity> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(account("student-" + i + "@test.com"));
+        }
+        return accountRepository.saveAll(students);
+    }
+
+    private void actAs(AccountEntity student) {
+        JwtPrincipal principal = new JwtPrincipal(student.getUserId(), student.getEmail(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Test
+    void countShouldFollowEnrollments() {
+        UUID courseId = openCourse(10).getCourseId();
+        for (AccountEntity student : students(3)) {
+            actAs(student);
+            enrollmentService.enrollStudent(courseId);
+        }
+
+        assertEquals(3, enrollmentService.getEnrolledCount(courseId));
+        assertEquals(3, enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId));
+    }
+
+    @Test
+    void reconcilerShouldReleaseSeatsOfSoftDeletedEnrollments() {
+        UUID courseId = openCourse(10).getCourseId();
+        for (AccountEntity student : students(3)) {
+            actAs(student);
+            enrollmentService.enrollStudent(courseId);
+        }
+        jdbcTemplate.update("UPDATE course_enrollments SET is_deleted = true WHERE course_id = ? AND enrollment_id IN "
+                + "(SELECT enrollment_id FROM course_enrollments WHERE course_id = ? LIMIT 1)", courseId, courseId);
+
+        reconciler.reconcile();
+
+        assertEquals(2, enrollmentService.getEnrolledCount(courseId));
+    }
+
+    @Test
+    void reconcilerShouldCorrectDriftOnly() {
+        UUID drifted = openCourse(10).getCourseId();
+        AccountEntity student = students(1).get(0);
+        actAs(student);
+        enrollmentService.enrollStudent(drifted);
+        jdbcTemplate.update("UPDATE course SET enrolled_count = 7 WHERE course_id = ?", drifted);
+
+        reconciler.reconcile();
+
+        assertEquals(1, enrollmentService.getEnrolledCount(drifted));
+        assertTrue(courseRepository.findCoursesWithEnrolledCountDrift(10).isEmpty());
+    }
+
+    @Test
+    void countForUnknownCourseShouldBeNotFound() {
+        assertThrows(CourseNotFoundException.class, () -> enrollmentService.getEnrolledCount(UUID.randomUUID()));
+    }
+}
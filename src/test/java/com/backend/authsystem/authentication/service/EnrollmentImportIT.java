@@ -0,0 +1,198 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.BulkEnrollmentReportDto;
+import com.backend.authsystem.authentication.dto.BulkEnrollmentRowDto;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.CourseEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.BulkEnrollmentStatus;
+import com.backend.authsystem.authentication.enums.CourseState;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.enums.Semester;
+import com.backend.authsystem.authentication.exception.CourseStateException;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.CourseEnrollmentRepository;
+import com.backend.authsystem.authentication.repository.CourseRepository;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Testcontainers
+class EnrollmentImportIT {
+
+    private static final int COHORT = 5000;
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseEnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountEntity lecturer;
+    private RoleEntity studentRole;
+
+    @BeforeEach
+    void setup() {
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        accountRepository.deleteAll();
+        lecturer = accountRepository.save(account("lecturer@test.com"));
+        studentRole = roleRepository.findByRoleName(RoleEnum.ROLE_STUDENT)
+                .orElseGet(() -> roleRepository.save(RoleEntity.builder()
+                        .roleId(UUID.randomUUID())
+                        .roleName(RoleEnum.ROLE_STUDENT)
+                        .createdAt(Instant.now())
+                        .build()));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(lecturer.getUserId(), lecturer.getEmail(), List.of()), null, List.of()));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private AccountEntity account(String email) {
+        return AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("Student")
+                .lastname("Cohort")
+                .email(email)
+                .password("password")
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private UUID openCourse(int capacity) {
+        CourseEntity course = courseRepository.save(CourseEntity.builder()
+                .code("BULK-" + UUID.randomUUID())
+                .title("Cohort")
+                .semester(Semester.FIRST)
+                .academicYear("2025/2026")
+                .maxCapacity(capacity)
+                .lecturer(lecturer)
+                .build());
+        course.setState(CourseState.ENROLLMENT_OPEN);
+        return courseRepository.save(course).getCourseId();
+    }
+
+    private List<AccountEntity> students(int count) {
+        List<AccountEntity> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AccountEntity student = account("cohort-" + i + "@test.com");
+            student.getRoles().add(studentRole);
+            students.add(student);
+        }
+        return accountRepository.saveAll(students);
+    }
+
+    @Test
+    void shouldImportWholeCohortQuickly() {
+        UUID courseId = openCourse(COHORT);
+        List<String> entries = students(COHORT).stream().map(AccountEntity::getEmail).toList();
+
+        long start = System.nanoTime();
+        BulkEnrollmentReportDto report = enrollmentService.importEnrollments(courseId, entries);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(COHORT, report.enrolled());
+        assertTrue(report.rows().stream().allMatch(row -> row.status() == BulkEnrollmentStatus.ENROLLED));
+        assertEquals(COHORT, enrollmentRepository.countByCourse_CourseIdAndIsDeletedFalse(courseId));
+        assertEquals(COHORT, jdbcTemplate.queryForObject(
+                "SELECT enrolled_count FROM course WHERE course_id = ?", Integer.class, courseId));
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(30)) < 0, "import took " + elapsed);
+    }
+
+    @Test
+    void shouldReportEveryRow() {
+        UUID courseId = openCourse(2);
+        List<AccountEntity> students = students(4);
+        List<String> entries = List.of(
+                students.get(0).getEmail(),
+                students.get(1).getUserId().toString(),
+                students.get(0).getUserId().toString(),
+                "nobody@test.com",
+                UUID.randomUUID().toString(),
+                "garbage",
+                lecturer.getEmail(),
+                students.get(2).getEmail());
+
+        BulkEnrollmentReportDto report = enrollmentService.importEnrollments(courseId, entries);
+        List<BulkEnrollmentStatus> statuses = report.rows().stream().map(BulkEnrollmentRowDto::status).toList();
+
+        assertEquals(List.of(
+                BulkEnrollmentStatus.ENROLLED,
+                BulkEnrollmentStatus.ENROLLED,
+                BulkEnrollmentStatus.DUPLICATE_ENTRY,
+                BulkEnrollmentStatus.UNKNOWN_USER,
+                BulkEnrollmentStatus.UNKNOWN_USER,
+                BulkEnrollmentStatus.INVALID_ENTRY,
+                BulkEnrollmentStatus.NOT_A_STUDENT,
+                BulkEnrollmentStatus.COURSE_FULL), statuses);
+        assertEquals(2, report.enrolled());
+        assertNotNull(report.rows().get(0).enrollmentId());
+
+        BulkEnrollmentReportDto again = enrollmentService.importEnrollments(courseId, List.of(students.get(0).getEmail()));
+        assertEquals(BulkEnrollmentStatus.ALREADY_ENROLLED, again.rows().get(0).status());
+    }
+
+    @Test
+    void shouldRejectImportFromAnotherLecturer() {
+        UUID courseId = openCourse(10);
+        AccountEntity other = accountRepository.save(account("other@test.com"));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new JwtPrincipal(other.getUserId(), other.getEmail(), List.of()), null, List.of()));
+
+        assertThrows(CourseStateException.class,
+                () -> enrollmentService.importEnrollments(courseId, List.of("cohort-0@test.com")));
+    }
+}
@@ -0,0 +1,118 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.PermissionEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceTest {
+
+    private static final String SECRET =
+            "this-is-a-very-long-64-character-secret-key-for-hs512-algorithm-test-123456789";
+
+    private JwtService jwtService(int cacheSize) {
+        return new JwtService(mock(RefreshTokenRepository.class),
+                new SecurityEnvironments(SECRET, 10, 4, true, cacheSize));
+    }
+
+    private AccountEntity user() {
+        RoleEntity role = RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(RoleEnum.ROLE_LECTURER)
+                .createdAt(Instant.now())
+                .build();
+        role.addPermission(PermissionEntity.builder()
+                .permissionId(UUID.randomUUID())
+                .permissionName(PermissionEnum.COURSE_CREATE)
+                .build());
+        AccountEntity user = AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .email("lecturer@test.com")
+                .build();
+        user.addRole(role);
+        return user;
+    }
+
+    @Test
+    void shouldExposeClaimsOfVerifiedToken() {
+        JwtService jwtService = jwtService(10);
+        AccountEntity user = user();
+
+        VerifiedToken verified = jwtService.verify(jwtService.generateAccessTokenFromUser(user));
+
+        assertEquals("lecturer@test.com", verified.subject());
+        assertEquals(user.getUserId(), verified.userId());
+        assertEquals(List.of("ROLE_LECTURER"), verified.roles());
+        assertEquals(List.of("COURSE_CREATE"), verified.permissions());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void shouldGiveEveryTokenItsOwnId() {
+        JwtService jwtService = jwtService(10);
+        AccountEntity user = user();
+
+        VerifiedToken first = jwtService.verify(jwtService.generateAccessTokenFromUser(user));
+        VerifiedToken second = jwtService.verify(jwtService.generateAccessTokenFromUser(user));
+
+        assertNotNull(first.tokenId());
+        assertNotEquals(first.tokenId(), second.tokenId());
+        assertNotEquals(user.getUserId(), first.tokenId());
+    }
+
+    @Test
+    void shouldCarryPermissionsAsBitsetInCompactMode() {
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class),
+                new SecurityEnvironments(SECRET, 10, 4, true, 10, true));
+        AccountEntity user = user();
+
+        String compact = jwtService.generateAccessTokenFromUser(user);
+        String plain = jwtService(10).generateAccessTokenFromUser(user);
+
+        assertEquals(List.of("COURSE_CREATE"), jwtService.verify(compact).permissions());
+        assertNotNull(jwtService.extractAllClaims(compact).get(JwtService.PERMISSION_BITS_CLAIM));
+        assertNull(jwtService.extractAllClaims(compact).get(JwtService.PERMISSIONS_CLAIM));
+        assertTrue(compact.length() < plain.length());
+    }
+
+    @Test
+    void shouldServeRepeatPresentationFromCache() {
+        JwtService jwtService = jwtService(10);
+        String token = jwtService.generateAccessTokenFromUser(user());
+
+        assertSame(jwtService.verify(token), jwtService.verify(token));
+    }
+
+    @Test
+    void shouldParseAgainWhenCacheIsDisabled() {
+        JwtService jwtService = jwtService(0);
+        String token = jwtService.generateAccessTokenFromUser(user());
+
+        assertNotSame(jwtService.verify(token), jwtService.verify(token));
+    }
+
+    @Test
+    void shouldNotServeCachedResultForForeignPayloadWithSameSignature() {
+        JwtService jwtService = jwtService(10);
+        String token = jwtService.generateAccessTokenFromUser(user());
+        jwtService.verify(token);
+
+        String otherToken = jwtService.generateAccessTokenFromUser(user());
+        String forged = otherToken.substring(0, otherToken.lastIndexOf('.'))
+                + token.substring(token.lastIndexOf('.'));
+
+        assertThrows(JwtException.class, () -> jwtService.verify(forged));
+    }
+}
@@ -0,0 +1,119 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.LoginThrottleEnvironments;
+import com.backend.authsystem.authentication.exception.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 3 attempts per email refilling one a minute, 10 per IP refilling one a second, backoff after 2 failures
+    private LoginThrottle throttle() {
+        LoginThrottleEnvironments environments = new LoginThrottleEnvironments(
+                3, Duration.ofMinutes(1), 10, Duration.ofSeconds(1),
+                2, Duration.ofSeconds(1), Duration.ofMinutes(15), 1000, Duration.ofMinutes(30));
+        return new LoginThrottle(environments, meterRegistry, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    // a failure past the email's budget is reported as throttled; the backoffs are recorded either way
+    private void fail(LoginThrottle throttle, String email, String clientIp) {
+        try {
+            throttle.recordFailure(email, clientIp);
+        } catch (TooManyLoginAttemptsException ignored) {
+        }
+    }
+
+    @Test
+    void shouldThrottleEmailFailuresOnceBucketIsEmptyAndRefillOverTime() {
+        LoginThrottle throttle = throttle();
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("john@example.com", "203.0.113." + i);
+        }
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.recordFailure(" John@Example.com ", "203.0.113.8"));
+        assertEquals(60, ex.getRetryAfterSeconds());
+
+        advance(Duration.ofMinutes(1));
+        throttle.recordFailure("john@example.com", "203.0.113.9");
+        assertEquals(1, meterRegistry.get("login.throttled").tag("key", "email").counter().count());
+    }
+
+    @Test
+    void bogusFailuresForAnEmailShouldNotStopItsOwnerFromLoggingIn() {
+        LoginThrottle throttle = throttle();
+        for (int i = 0; i < 10; i++) {
+            fail(throttle, "john@example.com", "198.51.100." + i);
+        }
+
+        // the owner's attempt is admitted and only a failed verification would be charged
+        throttle.acquire("john@example.com", "203.0.113.7");
+        throttle.recordSuccess("john@example.com", "203.0.113.7");
+    }
+
+    @Test
+    void shouldThrottleIpAcrossDifferentEmails() {
+        LoginThrottle throttle = throttle();
+        for (int i = 0; i < 10; i++) {
+            throttle.acquire("user" + i + "@example.com", "203.0.113.7");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.acquire("other@example.com", "203.0.113.7"));
+        throttle.acquire("other@example.com", "198.51.100.1");
+    }
+
+    @Test
+    void shouldDoubleBackoffOnRepeatedFailuresAndClearItOnSuccess() {
+        LoginThrottle throttle = throttle();
+        throttle.recordFailure("john@example.com", null);
+        throttle.recordFailure("john@example.com", null);
+        throttle.acquire("john@example.com", null);
+
+        fail(throttle, "john@example.com", null);
+        assertEquals(1, assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.acquire("john@example.com", null)).getRetryAfterSeconds());
+
+        fail(throttle, "john@example.com", null);
+        assertEquals(2, assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.acquire("john@example.com", null)).getRetryAfterSeconds());
+
+        throttle.recordSuccess("john@example.com", null);
+        throttle.acquire("john@example.com", null);
+    }
+
+    @Test
+    void backoffShouldSaturateAtMaximum() {
+        LoginThrottle throttle = throttle();
+        for (int i = 0; i < 100; i++) {
+            fail(throttle, "john@example.com", "203.0.113.7");
+        }
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> throttle.acquire("john@example.com", "203.0.113.7"));
+        assertEquals(Duration.ofMinutes(15).toSeconds(), ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void failuresFromOneIpShouldNotLockOwnerOutFromAnother() {
+        LoginThrottle throttle = throttle();
+        for (int i = 0; i < 10; i++) {
+            fail(throttle, "john@example.com", "203.0.113.7");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> throttle.acquire("john@example.com", "203.0.113.7"));
+        throttle.acquire("john@example.com", "198.51.100.1");
+        assertEquals(1, meterRegistry.get("login.throttled").tag("key", "ip").counter().count());
+    }
+}
@@ -0,0 +1,37 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.RefreshTokenRetentionEnvironments;
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RefreshTokenPartitionMaintainerTest {
+
+    private RefreshTokenPartitionMaintainer maintainer(int monthsAhead, int refreshTokenDays, SimpleMeterRegistry meterRegistry) {
+        return new RefreshTokenPartitionMaintainer(mock(JdbcTemplate.class),
+                new RefreshTokenRetentionEnvironments(Duration.ofDays(7), 1000, 100, monthsAhead),
+                new SecurityEnvironments("unused", 10, refreshTokenDays, true, 0),
+                meterRegistry);
+    }
+
+    @Test
+    void shouldRefuseToStartWhenMonthsAheadDoNotCoverRefreshTokenLifetime() {
+        assertThrows(IllegalStateException.class, () -> maintainer(1, 4, new SimpleMeterRegistry()));
+        assertThrows(IllegalStateException.class, () -> maintainer(3, 90, new SimpleMeterRegistry()));
+        assertDoesNotThrow(() -> maintainer(3, 56, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void shouldReportNoCoverageOnUnpartitionedSchema() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        maintainer(3, 4, meterRegistry);
+
+        assertTrue(Double.isNaN(meterRegistry.get("refresh.tokens.partitions.coverage").gauge().value()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.RefreshTokenRetentionEnvironments;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenReaperTest {
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RefreshTokenReaper reaper(int batchSize, int maxBatches) {
+        return new RefreshTokenReaper(refreshTokenRepository,
+                new RefreshTokenRetentionEnvironments(Duration.ofDays(7), batchSize, maxBatches, 3), meterRegistry);
+    }
+
+    private double reaped() {
+        return meterRegistry.get("refresh.tokens.reaped").counter().count();
+    }
+
+    @Test
+    void shouldDeleteInBatchesUntilAShortBatch() {
+        when(refreshTokenRepository.deleteExpiredOrRevoked(any(), anyInt())).thenReturn(100, 100, 40);
+
+        reaper(100, 10).reap();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredOrRevoked(any(), eq(100));
+        assertEquals(240, reaped());
+        assertEquals(1, meterRegistry.get("refresh.tokens.reaper.duration").timer().count());
+    }
+
+    @Test
+    void shouldStopAtMaxBatchesPerRun() {
+        when(refreshTokenRepository.deleteExpiredOrRevoked(any(), anyInt())).thenReturn(100);
+
+        reaper(100, 5).reap();
+
+        verify(refreshTokenRepository, times(5)).deleteExpiredOrRevoked(any(), anyInt());
+        assertEquals(500, reaped());
+    }
+
+    @Test
+    void shouldOnlyReapTokensOlderThanRetention() {
+        reaper(100, 5).reap();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(refreshTokenRepository).deleteExpiredOrRevoked(cutoff.capture(), anyInt());
+        assertTrue(cutoff.getValue().isBefore(Instant.now().minus(Duration.ofDays(7)).plusSeconds(1)));
+    }
+
+    @Test
+    void shouldKeepCountWhenABatchFails() {
+        when(refreshTokenRepository.deleteExpiredOrRevoked(any(), anyInt()))
+                .thenReturn(100)
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertDoesNotThrow(() -> reaper(100, 5).reap());
+
+        assertEquals(100, reaped());
+    }
+}
@@ -0,0 +1,148 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.dto.RefreshAndAccessToken;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.RefreshTokenEntity;
+import com.backend.authsystem.authentication.entity.RoleEntity;
+import com.backend.authsystem.authentication.enums.RoleEnum;
+import com.backend.authsystem.authentication.exception.InvalidTokenException;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import com.backend.authsystem.authentication.repository.RoleRepository;
+import com.backend.authsystem.authentication.util.HashToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Testcontainers
+class RefreshTokenRotationIT {
+
+    private static final int CALLERS = 16;
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:15")
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void overrideProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private AccountEntity user;
+
+    @BeforeEach
+    void setup() {
+        refreshTokenRepository.deleteAll();
+        accountRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        RoleEntity role = roleRepository.save(RoleEntity.builder()
+                .roleId(UUID.randomUUID())
+                .roleName(RoleEnum.ROLE_USER)
+                .createdAt(Instant.now())
+                .build());
+        AccountEntity account = AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .firstname("Nanor")
+                .lastname("Bright")
+                .email("rotate@test.com")
+                .password("password")
+                .createdAt(Instant.now())
+                .build();
+        account.addRole(role);
+        user = accountRepository.save(account);
+
+        refreshTokenRepository.save(RefreshTokenEntity.builder()
+                .tokenId(UUID.randomUUID())
+                .myUser(user)
+                .tokenHash(HashToken.hashToken("shared-cookie"))
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .createdAt(Instant.now())
+                .revoked(false)
+                .build());
+    }
+
+    @Test
+    void parallelRefreshesOfOneTokenShouldHaveExactlyOneWinner() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RefreshAndAccessToken>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return accountService.refreshService("shared-cookie");
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            int rejected = 0;
+            for (Future<RefreshAndAccessToken> result : results) {
+                try {
+                    assertNotNull(result.get(30, TimeUnit.SECONDS).accessToken());
+                    winners++;
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(InvalidTokenException.class, ex.getCause());
+                    rejected++;
+                }
+            }
+
+            assertEquals(1, winners);
+            assertEquals(CALLERS - 1, rejected);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // the original, now revoked, plus exactly one successor
+        List<RefreshTokenEntity> tokens = refreshTokenRepository.findAll();
+        assertEquals(2, tokens.size());
+        assertEquals(1, tokens.stream().filter(token -> !token.getRevoked()).count());
+    }
+
+    @Test
+    void rotatedTokenShouldNotBeAcceptedAgain() {
+        RefreshAndAccessToken rotated = accountService.refreshService("shared-cookie");
+
+        InvalidTokenException ex = assertThrows(InvalidTokenException.class,
+                () -> accountService.refreshService("shared-cookie"));
+        assertEquals("Refresh token revoked", ex.getMessage());
+
+        assertNotNull(accountService.refreshService(rotated.refreshToken()).accessToken());
+    }
+}
@@ -0,0 +1,175 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.config.SigningKeyEnvironments;
+import com.backend.authsystem.authentication.entity.AccountEntity;
+import com.backend.authsystem.authentication.entity.SigningKeyEntity;
+import com.backend.authsystem.authentication.repository.RefreshTokenRepository;
+import com.backend.authsystem.authentication.repository.SigningKeyRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class SigningKeyRingTest {
+
+    private static final String SECRET =
+            "this-is-a-very-long-64-character-secret-key-for-hs512-algorithm-test-123456789";
+
+    private final SecurityEnvironments securityEnvironments = new SecurityEnvironments(SECRET, 10, 4, true, 0);
+    private final SigningKeyRepository repository = mock(SigningKeyRepository.class);
+    private final List<SigningKeyEntity> stored = new ArrayList<>();
+
+    // backs the mocked repository with a list so rotation and reload see each other's writes
+    @BeforeEach
+    void storeKeysInMemory() {
+        when(repository.save(any())).thenAnswer(invocation -> {
+            SigningKeyEntity key = invocation.getArgument(0);
+            stored.add(key);
+            return key;
+        });
+        when(repository.findVerifiable(any())).thenAnswer(invocation -> {
+            Instant now = invocation.getArgument(0);
+            return stored.stream()
+                    .filter(key -> key.getExpiresAt() == null || key.getExpiresAt().isAfter(now))
+                    .sorted(Comparator.comparing(SigningKeyEntity::getActivatesAt))
+                    .toList();
+        });
+        when(repository.tryRotationLock(anyLong())).thenReturn(true);
+        when(repository.waitForRotationLock(anyLong())).thenReturn(true);
+        when(repository.expireAllExcept(any(), any())).thenAnswer(invocation -> {
+            String successor = invocation.getArgument(0);
+            stored.stream()
+                    .filter(key -> key.getExpiresAt() == null && !key.getKid().equals(successor))
+                    .forEach(key -> key.setExpiresAt(invocation.getArgument(1)));
+            return 0;
+        });
+    }
+
+    private SigningKeyRing ring(Duration rotationPeriod, boolean acceptHs512) {
+        return new SigningKeyRing(repository, TransactionOperations.withoutTransaction(),
+                new SigningKeyEnvironments("ES256", rotationPeriod, Duration.ofMinutes(30), Duration.ofMinutes(10), acceptHs512),
+                securityEnvironments);
+    }
+
+    private AccountEntity user() {
+        return AccountEntity.builder()
+                .userId(UUID.randomUUID())
+                .email("keys@test.com")
+                .build();
+    }
+
+    @Test
+    void shouldSignWithGeneratedKeyAndVerifyByKid() {
+        SigningKeyRing ring = ring(Duration.ofDays(30), true);
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), securityEnvironments, ring);
+
+        String token = jwtService.generateAccessTokenFromUser(user());
+
+        assertEquals(1, stored.size());
+        assertEquals(stored.get(0).getKid(), ring.signingKey().kid());
+        assertEquals("keys@test.com", jwtService.verify(token).subject());
+    }
+
+    @Test
+    void shouldStorePrivateKeyEncrypted() {
+        SigningKeyRing ring = ring(Duration.ofDays(30), true);
+
+        assertFalse(Arrays.equals(ring.signingKey().privateKey().getEncoded(), stored.get(0).getPrivateKey()));
+    }
+
+    @Test
+    void shouldPublishNextKeyBeforeSigningWithIt() throws Exception {
+        SigningKeyRing ring = ring(Duration.ZERO, true);
+        String first = stored.get(0).getKid();
+
+        ring.refresh();
+
+        assertEquals(2, stored.size());
+        assertEquals(first, ring.signingKey().kid());
+        assertNotNull(stored.get(0).getExpiresAt());
+        JsonNode keys = new ObjectMapper().readTree(ring.jwks().json()).get("keys");
+        assertEquals(2, keys.size());
+        assertEquals("EC", keys.get(1).get("kty").asText());
+        assertEquals(43, keys.get(1).get("x").asText().length());
+    }
+
+    @Test
+    void shouldNotRotateWhileAnotherNodeHoldsTheRotationLock() {
+        SigningKeyRing ring = ring(Duration.ZERO, true);
+        when(repository.tryRotationLock(anyLong())).thenReturn(false);
+
+        ring.refresh();
+
+        assertEquals(1, stored.size());
+        assertNull(stored.get(0).getExpiresAt());
+    }
+
+    @Test
+    void shouldNotRotateAgainWhenAnotherNodeRotatedBeforeTheLockWasTaken() {
+        SigningKeyRing ring = ring(Duration.ofDays(30), true);
+        // the first key is due, and the node that held the lock before this one already published its successor
+        stored.get(0).setActivatesAt(Instant.now().minus(Duration.ofDays(31)));
+        clearInvocations(repository);
+        when(repository.tryRotationLock(anyLong())).thenAnswer(invocation -> {
+            stored.add(SigningKeyEntity.builder()
+                    .kid("other-node")
+                    .publicKey(stored.get(0).getPublicKey())
+                    .activatesAt(Instant.now().plus(Duration.ofMinutes(30)))
+                    .build());
+            return true;
+        });
+
+        ring.refresh();
+
+        assertEquals(2, stored.size());
+        verify(repository, never()).expireAllExcept(any(), any());
+    }
+
+    @Test
+    void shouldChangeEtagWhenKeySetChanges() {
+        SigningKeyRing ring = ring(Duration.ZERO, true);
+        String before = ring.jwks().etag();
+
+        ring.refresh();
+
+        assertNotEquals(before, ring.jwks().etag());
+    }
+
+    @Test
+    void shouldRejectHs512TokensOnceLegacyVerificationIsOff() {
+        String legacy = new JwtService(mock(RefreshTokenRepository.class), securityEnvironments).generateAccessTokenFromUser(user());
+
+        JwtService lenient = new JwtService(mock(RefreshTokenRepository.class), securityEnvironments, ring(Duration.ofDays(30), true));
+        JwtService strict = new JwtService(mock(RefreshTokenRepository.class), securityEnvironments, ring(Duration.ofDays(30), false));
+
+        assertEquals("keys@test.com", lenient.verify(legacy).subject());
+        assertThrows(JwtException.class, () -> strict.verify(legacy));
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithUnknownKey() {
+        JwtService other = new JwtService(mock(RefreshTokenRepository.class), securityEnvironments, ring(Duration.ofDays(30), true));
+        String foreign = other.generateAccessTokenFromUser(user());
+        stored.clear();
+
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), securityEnvironments, ring(Duration.ofDays(30), true));
+
+        assertThrows(JwtException.class, () -> jwtService.verify(foreign));
+    }
+}
@@ -0,0 +1,89 @@
+package com.backend.authsystem.authentication.service;
+
+import com.backend.authsystem.authentication.config.SecurityEnvironments;
+import com.backend.authsystem.authentication.dto.TokenGenerationRow;
+import com.backend.authsystem.authentication.repository.AccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenGenerationRegistryTest {
+
+    private static final String SECRET =
+            "this-is-a-very-long-64-character-secret-key-for-hs512-algorithm-test-123456789";
+
+    private record Row(UUID getUserId, Integer getTokenGeneration) implements TokenGenerationRow {
+    }
+
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+
+    private TokenGenerationRegistry registry(int tokenMinutes) {
+        return new TokenGenerationRegistry(accountRepository,
+                new SecurityEnvironments(SECRET, tokenMinutes, 4, true, 100), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void shouldTreatUnknownUsersAsCurrent() {
+        TokenGenerationRegistry registry = registry(10);
+
+        assertTrue(registry.isCurrent(UUID.randomUUID(), 0));
+    }
+
+    @Test
+    void shouldRejectOlderGenerationsAfterRecord() {
+        TokenGenerationRegistry registry = registry(10);
+        UUID userId = UUID.randomUUID();
+
+        registry.record(userId, 2);
+
+        assertFalse(registry.isCurrent(userId, 1));
+        assertTrue(registry.isCurrent(userId, 2));
+    }
+
+    @Test
+    void shouldKeepHighestGenerationWhenPollReturnsStaleRow() {
+        TokenGenerationRegistry registry = registry(10);
+        UUID userId = UUID.randomUUID();
+        registry.record(userId, 3);
+        when(accountRepository.findTokenGenerationChangesSince(any())).thenReturn(List.of(new Row(userId, 2)));
+
+        registry.poll();
+
+        assertFalse(registry.isCurrent(userId, 2));
+    }
+
+    @Test
+    void shouldRetryFromSameWatermarkWhenPollFails() {
+        TokenGenerationRegistry registry = registry(10);
+        UUID userId = UUID.randomUUID();
+        when(accountRepository.findTokenGenerationChangesSince(any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(List.of(new Row(userId, 1)));
+
+        registry.poll();
+        registry.poll();
+
+        verify(accountRepository, times(2)).findTokenGenerationChangesSince(
+                argThat(since -> since.isBefore(Instant.now().minus(Duration.ofMinutes(9)))));
+        assertFalse(registry.isCurrent(userId, 0));
+    }
+
+    @Test
+    void shouldPruneEntriesOnceEveryOlderTokenHasExpired() {
+        TokenGenerationRegistry registry = registry(0);
+        registry.record(UUID.randomUUID(), 1);
+        when(accountRepository.findTokenGenerationChangesSince(any())).thenReturn(List.of());
+
+        registry.poll();
+
+        assertEquals(0, registry.size());
+    }
+}
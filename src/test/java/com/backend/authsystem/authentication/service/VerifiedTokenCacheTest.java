@@ -0,0 +1,56 @@
+package com.backend.authsystem.authentication.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static VerifiedToken verified(Instant expiresAt) {
+        return new VerifiedToken("user@test.com", UUID.randomUUID(), UUID.randomUUID(), 0, expiresAt, List.of(), List.of());
+    }
+
+    @Test
+    void shouldServeOnlyTheExactTokenForASignature() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        VerifiedToken verified = verified(Instant.now().plusSeconds(300));
+
+        cache.put("sig", "header.payload.sig", verified);
+
+        assertSame(verified, cache.get("sig", "header.payload.sig"));
+        assertNull(cache.get("sig", "header.other.sig"));
+    }
+
+    @Test
+    void shouldNotKeepExpiredTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.put("sig", "header.payload.sig", verified(Instant.now().minusSeconds(1)));
+
+        assertNull(cache.get("sig", "header.payload.sig"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldStayWithinMaximumSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        for (int i = 0; i < 10; i++) {
+            cache.put("sig" + i, "token" + i, verified(Instant.now().plusSeconds(300)));
+        }
+
+        assertTrue(cache.size() <= 2);
+    }
+
+    @Test
+    void shouldCacheNothingWhenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+
+        cache.put("sig", "token", verified(Instant.now().plusSeconds(300)));
+
+        assertNull(cache.get("sig", "token"));
+    }
+}
@@ -0,0 +1,29 @@
+package com.backend.authsystem.authentication.util;
+
+import com.backend.authsystem.authentication.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseCursorTest {
+
+    @Test
+    void shouldRoundTripWithMicrosecondPrecision() {
+        CourseCursor cursor = new CourseCursor(Instant.parse("2025-09-01T10:15:30.123456Z"), UUID.randomUUID());
+
+        String encoded = cursor.encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, CourseCursor.decode(encoded));
+    }
+
+    @Test
+    void shouldRejectMalformedCursors() {
+        assertThrows(InvalidCursorException.class, () -> CourseCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> CourseCursor.decode("MTIzOjQ1Ng"));
+        assertThrows(InvalidCursorException.class, () -> CourseCursor.decode("eDp5Ono"));
+    }
+}
@@ -0,0 +1,30 @@
+package com.backend.authsystem.authentication.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentCsvTest {
+
+    @Test
+    void shouldReadFirstColumnAndSkipHeaderAndBlankLines() {
+        String csv = "\uFEFFemail,name\r\nada@test.com,Ada\r\n\r\n\"grace@test.com\",\"Hopper, Grace\"\n  alan@test.com  \n";
+
+        assertEquals(List.of("ada@test.com", "grace@test.com", "alan@test.com"), EnrollmentCsv.entries(csv));
+    }
+
+    @Test
+    void shouldKeepFirstRowWhenItIsData() {
+        String csv = "0b6f8e0e-7f3a-4c1e-9a57-3c1f5f0d2a11\nnot-an-email\n";
+
+        assertEquals(List.of("0b6f8e0e-7f3a-4c1e-9a57-3c1f5f0d2a11", "not-an-email"), EnrollmentCsv.entries(csv));
+    }
+
+    @Test
+    void shouldReturnNothingForEmptyBody() {
+        assertTrue(EnrollmentCsv.entries("").isEmpty());
+        assertTrue(EnrollmentCsv.entries(null).isEmpty());
+    }
+}
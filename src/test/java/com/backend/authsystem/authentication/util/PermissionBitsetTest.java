@@ -0,0 +1,62 @@
+package com.backend.authsystem.authentication.util;
+
+import com.backend.authsystem.authentication.enums.PermissionEnum;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionBitsetTest {
+
+    // Fails when a permission is added without a new table version or when a released table is edited
+    @Test
+    void currentTableShouldCoverEveryPermissionExactlyOnce() {
+        List<PermissionEnum> table = PermissionBitset.table(PermissionBitset.CURRENT_VERSION);
+
+        assertEquals(table.size(), new HashSet<>(table).size());
+        assertEquals(new HashSet<>(Arrays.asList(PermissionEnum.values())), new HashSet<>(table));
+    }
+
+    @Test
+    void releasedTablesShouldOnlyEverBeExtended() {
+        for (int version = 2; version <= PermissionBitset.CURRENT_VERSION; version++) {
+            List<PermissionEnum> previous = PermissionBitset.table(version - 1);
+            assertEquals(previous, PermissionBitset.table(version).subList(0, previous.size()));
+        }
+        assertEquals(PermissionEnum.PROFILE_VIEW, PermissionBitset.table(1).get(0));
+        assertEquals(PermissionEnum.USER_MANAGE, PermissionBitset.table(1).get(37));
+    }
+
+    @Test
+    void shouldRoundTripAllPermissions() {
+        List<String> all = Arrays.stream(PermissionEnum.values()).map(Enum::name).toList();
+
+        String encoded = PermissionBitset.encode(all).orElseThrow();
+
+        assertEquals(new HashSet<>(all), new HashSet<>(PermissionBitset.decode(encoded)));
+        assertTrue(encoded.length() < 12);
+    }
+
+    @Test
+    void shouldEncodeEmptySetAndDecodeIt() {
+        String encoded = PermissionBitset.encode(List.of()).orElseThrow();
+
+        assertEquals(List.of(), PermissionBitset.decode(encoded));
+    }
+
+    @Test
+    void shouldFallBackWhenPermissionIsUnknown() {
+        assertTrue(PermissionBitset.encode(List.of("COURSE_VIEW", "NOT_A_PERMISSION")).isEmpty());
+    }
+
+    @Test
+    void shouldRejectUnknownVersionOrBitOutsideTable() {
+        assertThrows(JwtException.class, () -> PermissionBitset.decode("99.AQ"));
+        assertThrows(JwtException.class, () -> PermissionBitset.decode("garbage"));
+        assertThrows(JwtException.class, () -> PermissionBitset.decode("1.AAAAAAB_"));
+    }
+}
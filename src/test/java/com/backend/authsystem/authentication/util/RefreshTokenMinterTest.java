@@ -0,0 +1,70 @@
+package com.backend.authsystem.authentication.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshTokenMinterTest {
+
+    @Test
+    void shouldMint256BitBase64UrlTokens() {
+        RefreshTokenMinter.MintedToken minted = RefreshTokenMinter.mint();
+
+        assertEquals(43, minted.plainToken().length());
+        assertTrue(minted.plainToken().matches("[A-Za-z0-9_-]{43}"));
+    }
+
+    // The stored hash must match what the refresh and logout paths compute from the presented string
+    @Test
+    void hashShouldMatchHashOfPresentedToken() {
+        RefreshTokenMinter.MintedToken minted = RefreshTokenMinter.mint();
+
+        assertArrayEquals(HashToken.hashToken(minted.plainToken()), minted.tokenHash());
+    }
+
+    @Test
+    void reusedBufferShouldNotLeakIntoPreviousTokens() {
+        RefreshTokenMinter.MintedToken first = RefreshTokenMinter.mint();
+        byte[] firstHash = Arrays.copyOf(first.tokenHash(), first.tokenHash().length);
+        String firstToken = first.plainToken();
+
+        RefreshTokenMinter.mint();
+
+        assertEquals(firstToken, first.plainToken());
+        assertArrayEquals(firstHash, first.tokenHash());
+    }
+
+    @Test
+    void tokensShouldBeUniqueAcrossThreads() throws InterruptedException {
+        Set<String> tokens = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    tokens.add(RefreshTokenMinter.mint().plainToken());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(16_000, tokens.size());
+    }
+
+    @Test
+    void randomUuidShouldBeVersion4() {
+        UUID id = RefreshTokenMinter.randomUuid();
+
+        assertEquals(4, id.version());
+        assertEquals(2, id.variant());
+        assertNotEquals(id, RefreshTokenMinter.randomUuid());
+    }
+}